@@ -0,0 +1,64 @@
+package com.suivi_academique.cache;
+
+import com.suivi_academique.dto.CoursDTO;
+import com.suivi_academique.dto.PersonnelDTO;
+import com.suivi_academique.mappers.CoursMapper;
+import com.suivi_academique.mappers.PersonnelMapper;
+import com.suivi_academique.repositories.CoursRepository;
+import com.suivi_academique.repositories.PersonnelRepository;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Cours et personnels lus par les chemins d'écriture (affectations, programmations),
+ * mis en cache par code. Taille et durée de vie bornées par spring.cache.caffeine.spec;
+ * les services Cours et Personnel invalident l'entrée à chaque modification ou suppression.
+ * Un code absent n'est pas mis en cache: une création est visible immédiatement.
+ * Les salles passent par SalleCatalogue, déjà tenu à jour par SalleService.
+ */
+@Component
+public class ReferentielCache {
+
+    public static final String COURS = "cours";
+    public static final String PERSONNELS = "personnels";
+
+    private final CoursRepository coursRepository;
+    private final CoursMapper coursMapper;
+    private final PersonnelRepository personnelRepository;
+    private final PersonnelMapper personnelMapper;
+
+    public ReferentielCache(CoursRepository coursRepository, CoursMapper coursMapper,
+                            PersonnelRepository personnelRepository, PersonnelMapper personnelMapper) {
+        this.coursRepository = coursRepository;
+        this.coursMapper = coursMapper;
+        this.personnelRepository = personnelRepository;
+        this.personnelMapper = personnelMapper;
+    }
+
+    // Les DTO renvoyés sont partagés entre appelants: lecture seule.
+    // Appeler via le proxy Spring (autre bean), un appel interne contournerait le cache.
+    @Cacheable(cacheNames = COURS, unless = "#result == null")
+    public Optional<CoursDTO> cours(String codeCours) {
+        return coursRepository.findById(codeCours).map(coursMapper::toDTO);
+    }
+
+    @Cacheable(cacheNames = PERSONNELS, unless = "#result == null")
+    public Optional<PersonnelDTO> personnel(String codePersonnel) {
+        return personnelRepository.findById(codePersonnel).map(personnel -> {
+            PersonnelDTO dto = personnelMapper.toDTO(personnel);
+            dto.setPadPersonnel(null);
+            return dto;
+        });
+    }
+
+    @CacheEvict(cacheNames = COURS)
+    public void invaliderCours(String codeCours) {
+    }
+
+    @CacheEvict(cacheNames = PERSONNELS)
+    public void invaliderPersonnel(String codePersonnel) {
+    }
+}
@@ -12,9 +12,11 @@ import org.springframework.security.config.annotation.authentication.configurati
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import com.suivi_academique.security.CustomUserDetails;
+import com.suivi_academique.security.HachageMotsDePasse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import java.util.List;
 @Configuration
@@ -40,9 +42,34 @@ public class ApplicationConfig {
     }
 
 
+    @Value("${securite.bcrypt.force:10}")
+    private int forceBcrypt;
+
+    @Value("${securite.bcrypt.threads:2}")
+    private int threadsBcrypt;
+
+    @Value("${securite.bcrypt.file:32}")
+    private int fileBcrypt;
+
+    @Value("${securite.bcrypt.attente-ms:5000}")
+    private long attenteBcryptMs;
+
+    // Hachages sur un pool dédié et borné: au-delà de la file, refus immédiat en 503
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public HachageMotsDePasse passwordEncoder() {
+        return new HachageMotsDePasse(forceBcrypt, threadsBcrypt, fileBcrypt, attenteBcryptMs);
+    }
+
+    // Appelé par le provider après une connexion réussie quand la force du hash a changé
+    @Bean
+    public UserDetailsPasswordService rehachageMotDePasse() {
+        return (user, nouveauHash) -> {
+            personnelRepository.findByLoginPersonnel(user.getUsername()).ifPresent(personnel -> {
+                personnel.setPadPersonnel(nouveauHash);
+                personnelRepository.save(personnel);
+            });
+            return user;
+        };
     }
 
     @Bean
@@ -51,11 +78,7 @@ public class ApplicationConfig {
 
         authProvider.setUserDetailsService(userDetailsService());
         authProvider.setPasswordEncoder(passwordEncoder());
-
-        // DEBUG -> vérifier la comparaison de mot de passe
-        authProvider.setPreAuthenticationChecks(user -> {
-            System.out.println("Password userDetails : " + user.getPassword());
-        });
+        authProvider.setUserDetailsPasswordService(rehachageMotDePasse());
 
         return authProvider;
     }
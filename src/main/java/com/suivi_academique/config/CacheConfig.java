@@ -0,0 +1,13 @@
+package com.suivi_academique.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Cache Caffeine des référentiels (voir ReferentielCache); caches et spec déclarés
+ * dans application.properties pour que leurs statistiques soient publiées par l'actuator.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+}
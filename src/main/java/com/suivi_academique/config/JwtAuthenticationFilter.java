@@ -1,5 +1,9 @@
 package com.suivi_academique.config;
 
+import com.suivi_academique.security.CustomUserDetails;
+import com.suivi_academique.security.JetonsRevoques;
+import com.suivi_academique.security.UtilisateurCache;
+import io.jsonwebtoken.Claims;
 import io.micrometer.common.lang.NonNull;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -9,12 +13,13 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.core.Ordered;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import java.util.List;
+
 
 @Component
 //@Ordered(Ordered.HIGHEST_PRECEDENCE + 1)  // ← REMPLACE @Order(2)
@@ -22,7 +27,8 @@ import org.springframework.web.filter.OncePerRequestFilter;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
-    private final UserDetailsService userDetailsService;
+    private final UtilisateurCache utilisateurCache;
+    private final JetonsRevoques jetonsRevoques;
 
     @Override
     protected void doFilterInternal(
@@ -40,8 +46,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         jwt = authHeader.substring(7);
+        final Claims claims;
         try {
-            userLogin = jwtUtil.extractUsername(jwt);
+            // Signature et expiration vérifiées une seule fois
+            claims = jwtUtil.lireJeton(jwt);
+            userLogin = claims.getSubject();
         } catch (Exception e) {
             // Token invalide, continuer sans authentification
             filterChain.doFilter(request, response);
@@ -49,9 +58,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         if (userLogin != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(userLogin);
+            CustomUserDetails userDetails = depuisJeton(claims, userLogin);
 
-            if (jwtUtil.isTokenValid(jwt, userDetails)) {
+            if (!jetonsRevoques.estRevoque(claims.getId(), userDetails.getCodePersonnel(), claims.getIssuedAt())) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                         userDetails,
                         null,
@@ -67,4 +76,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     }
 
+    // Jetons émis avant l'ajout des claims code/role: repli sur le cache des utilisateurs
+    private CustomUserDetails depuisJeton(Claims claims, String userLogin) {
+        String codePersonnel = claims.get(JwtUtil.CLAIM_CODE, String.class);
+        String role = claims.get(JwtUtil.CLAIM_ROLE, String.class);
+        if (codePersonnel == null || role == null) {
+            return utilisateurCache.charger(userLogin);
+        }
+        return new CustomUserDetails(codePersonnel, userLogin, null,
+                List.of(new SimpleGrantedAuthority("ROLE_" + role)));
+    }
+
 }
\ No newline at end of file
@@ -1,6 +1,10 @@
 package com.suivi_academique.config;
 
+import com.suivi_academique.entities.Personnel;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.beans.factory.annotation.Value;
@@ -10,20 +14,42 @@ import io.jsonwebtoken.security.Keys;
 
 
 import javax.crypto.SecretKey;
+import java.time.Duration;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 
 @Service
 public class JwtUtil {
 
-    @Value("${jwt.secret}")
-    private String secretKey;
-
-    @Value("${jwt.expiration}")
-    private long jwtExpiration;
+    // Claims portés par le jeton: le filtre authentifie sans relire le personnel en base
+    public static final String CLAIM_CODE = "code";
+    public static final String CLAIM_ROLE = "role";
+
+    private final long jwtExpiration;
+
+    // Dérivés une fois du secret: la clé et le parseur sont sans état et partageables entre threads
+    private final SecretKey signInKey;
+    private final JwtParser parser;
+
+    // Jetons déjà vérifiés -> claims (null si désactivé); une entrée n'est jamais servie après l'expiration du jeton
+    private final Cache<String, Claims> claimsVerifies;
+
+    public JwtUtil(@Value("${jwt.secret}") String secretKey,
+                   @Value("${jwt.expiration}") long jwtExpiration,
+                   @Value("${jwt.claims-cache.taille:10000}") long tailleCache,
+                   @Value("${jwt.claims-cache.duree-ms:60000}") long dureeCache) {
+        this.jwtExpiration = jwtExpiration;
+        this.signInKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        this.parser = Jwts.parser().verifyWith(signInKey).build();
+        this.claimsVerifies = tailleCache <= 0 ? null : Caffeine.newBuilder()
+                .maximumSize(tailleCache)
+                .expireAfterWrite(Duration.ofMillis(dureeCache))
+                .build();
+    }
 
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
@@ -38,6 +64,13 @@ public class JwtUtil {
         return generateToken(new HashMap<>(), userDetails);
     }
 
+    public String generateToken(Personnel personnel) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(CLAIM_CODE, personnel.getCodePersonnel());
+        claims.put(CLAIM_ROLE, personnel.getRolePersonnel().name());
+        return generateToken(claims, personnel);
+    }
+
     public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
         return buildToken(extraClaims, userDetails, jwtExpiration);
     }
@@ -51,36 +84,44 @@ public class JwtUtil {
                 .builder()
                 .claims(extraClaims)
                 .subject(userDetails.getUsername())
+                .id(UUID.randomUUID().toString())
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignInKey())
+                .signWith(signInKey)
                 .compact();
     }
 
+    // Une seule vérification de signature: le parseur rejette déjà un jeton expiré
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
-    }
-
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        final Claims claims = extractAllClaims(token);
+        return claims.getSubject().equals(userDetails.getUsername()) && !claims.getExpiration().before(new Date());
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    /**
+     * Claims d'un jeton dont la signature et l'expiration ont été vérifiées;
+     * lève une JwtException sinon.
+     */
+    public Claims lireJeton(String token) {
+        return extractAllClaims(token);
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts
-                .parser()
-                .verifyWith(getSignInKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        if (claimsVerifies == null) {
+            return verifier(token);
+        }
+        Claims claims = claimsVerifies.getIfPresent(token);
+        if (claims != null && claims.getExpiration().after(new Date())) {
+            return claims;
+        }
+        if (claims != null) {
+            claimsVerifies.invalidate(token);
+        }
+        claims = verifier(token);
+        claimsVerifies.put(token, claims);
+        return claims;
     }
 
-    private SecretKey getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private Claims verifier(String token) {
+        return parser.parseSignedClaims(token).getPayload();
     }
 }
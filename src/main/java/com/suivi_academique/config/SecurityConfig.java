@@ -1,9 +1,11 @@
 package com.suivi_academique.config;
 
 
+import com.suivi_academique.utils.RolePersonnel;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -36,6 +38,9 @@ public class SecurityConfig {
                                 "/swagger-ui.html",
                                 "/personnel",
                                 "/api/fix/**").permitAll()
+                        // Validation en masse des programmations: responsable académique uniquement
+                        .requestMatchers(HttpMethod.POST, "/programmations/validation")
+                        .hasRole(RolePersonnel.RESPONSABLE_ACADEMIQUE.name())
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(session -> session
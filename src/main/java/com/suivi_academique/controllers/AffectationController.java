@@ -32,6 +32,32 @@ public class AffectationController {
         }
     }
 
+    // Affectation en masse: [{"codeCours": "INF101", "codePersonnel": "ENS202610001"}, ...], rapport par paire
+    @PostMapping("/batch")
+    public ResponseEntity<?> saveAll(@RequestBody List<AffectationId> paires) {
+        try {
+            return new ResponseEntity<>(affectationService.saveAll(paires), HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @GetMapping("/personnel/{codePersonnel}/cours")
+    public ResponseEntity<?> coursDuPersonnel(@PathVariable String codePersonnel) {
+        return new ResponseEntity<>(affectationService.getCoursDuPersonnel(codePersonnel), HttpStatus.OK);
+    }
+
+    @GetMapping("/cours/{codeCours}/personnels")
+    public ResponseEntity<?> personnelsDuCours(@PathVariable String codeCours) {
+        return new ResponseEntity<>(affectationService.getPersonnelsDuCours(codeCours), HttpStatus.OK);
+    }
+
+    // Enseignants affectés à tous les cours donnés, ex: ?cours=INF101&cours=INF102
+    @GetMapping("/communs")
+    public ResponseEntity<?> enseignantsCommuns(@RequestParam("cours") List<String> codesCours) {
+        return new ResponseEntity<>(affectationService.getEnseignantsCommuns(codesCours), HttpStatus.OK);
+    }
+
     @GetMapping()
     public ResponseEntity<List<AffectationDTO>> getAll() {
 
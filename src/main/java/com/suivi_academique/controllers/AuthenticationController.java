@@ -4,11 +4,16 @@ package com.suivi_academique.controllers;
 import com.suivi_academique.dto.AuthRequest;
 import com.suivi_academique.dto.AuthResponse;
 import com.suivi_academique.dto.PersonnelDTO;
+import com.suivi_academique.dto.RafraichissementDTO;
 import com.suivi_academique.services.implementations.AuthentificationService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -16,22 +21,48 @@ import org.springframework.web.bind.annotation.RestController;
 @RestController
 @RequestMapping("/api/auth")
 @RequiredArgsConstructor
+@Slf4j
 public class AuthenticationController {
 
     private final AuthentificationService authenticationService;
 
     @PostMapping("/login")
-    public AuthResponse authenticate(@RequestBody  PersonnelDTO request) {
-        System.out.println("Login reçu : " + request.getLoginPersonnel());
-        System.out.println("Password reçu : " + request.getPadPersonnel());
+    public AuthResponse authenticate(@RequestBody  PersonnelDTO request, HttpServletRequest requeteHttp) {
+        // Jamais le mot de passe dans les journaux
+        log.debug("Tentative de connexion pour {}", request.getLoginPersonnel());
         try {
-            return authenticationService.authenticate(request);
+            // Adresse du client derrière le proxy (server.forward-headers-strategy=native)
+            return authenticationService.authenticate(request, requeteHttp.getRemoteAddr());
         } catch (Exception e) {
-            System.err.println("Erreur lors de l'authentification : " + e.getMessage());
+            log.debug("Échec de l'authentification pour {} : {}", request.getLoginPersonnel(), e.getMessage());
             throw e;
         }
     }
 
+    // Nouveau jeton d'accès contre le jeton de rafraîchissement, qui est remplacé
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@RequestBody RafraichissementDTO demande) {
+        try {
+            return new ResponseEntity<>(authenticationService.refresh(demande.getRefreshToken()), HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.UNAUTHORIZED);
+        }
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestHeader(value = "Authorization", required = false) String authorization,
+                                    @RequestBody(required = false) RafraichissementDTO demande) {
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            return new ResponseEntity<>("Jeton manquant.", HttpStatus.BAD_REQUEST);
+        }
+        try {
+            authenticationService.logout(authorization.substring(7), demande == null ? null : demande.getRefreshToken());
+            return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+        } catch (Exception e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
     @PostMapping("/register")
     public ResponseEntity<AuthResponse> register(
             @RequestBody PersonnelDTO personnel
@@ -3,13 +3,20 @@ package com.suivi_academique.controllers;
 
 import com.suivi_academique.dto.PersonnelDTO;
 import com.suivi_academique.dto.SalleDTO;
+import com.suivi_academique.security.HachageSatureException;
 import com.suivi_academique.services.implementations.PersonnelService;
+import com.suivi_academique.services.interfaces.ChargePersonnelInterface;
+import com.suivi_academique.services.interfaces.PersonnelImportInterface;
 import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.io.InputStream;
+import java.util.Date;
 import java.util.List;
 
 
@@ -20,8 +27,15 @@ public class PersonnelController {
 
     private PersonnelService personnelService;
 
-    public PersonnelController(PersonnelService personnelService) {
+    private PersonnelImportInterface personnelImportService;
+
+    private ChargePersonnelInterface chargePersonnelService;
+
+    public PersonnelController(PersonnelService personnelService, PersonnelImportInterface personnelImportService,
+                               ChargePersonnelInterface chargePersonnelService) {
         this.personnelService = personnelService;
+        this.personnelImportService = personnelImportService;
+        this.chargePersonnelService = chargePersonnelService;
     }
 
     @PostMapping
@@ -29,11 +43,40 @@ public class PersonnelController {
 
         try{
             return new ResponseEntity<>(personnelService.save(personnelDTO), HttpStatus.CREATED);
+        }catch(HachageSatureException e){
+            throw e;
         }catch(Exception e){
             return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
         }
     }
 
+    // Import en masse: CSV avec en-tête (Content-Type text/csv) ou NDJSON, un personnel par ligne
+    @PostMapping("/import")
+    public ResponseEntity<?> importer(InputStream corps,
+                                      @RequestHeader(value = "Content-Type", required = false) String contentType) {
+        String format = contentType != null && contentType.contains("csv")
+                ? PersonnelImportInterface.FORMAT_CSV : PersonnelImportInterface.FORMAT_NDJSON;
+        try {
+            return new ResponseEntity<>(personnelImportService.importer(corps, format), HttpStatus.OK);
+        } catch (ResponseStatusException e) {
+            // Un import déjà en cours: 503 plutôt que 400
+            throw e;
+        } catch (Exception e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    // Charge de chaque personnel sur la période, ex: ?from=01.09.2026 00:00:00&to=01.01.2027 00:00:00
+    @GetMapping("/workload")
+    public ResponseEntity<?> workload(@RequestParam("from") @DateTimeFormat(pattern = "dd.MM.yyyy HH:mm:ss") Date debut,
+                                      @RequestParam("to") @DateTimeFormat(pattern = "dd.MM.yyyy HH:mm:ss") Date fin) {
+        try {
+            return new ResponseEntity<>(chargePersonnelService.getCharges(debut, fin), HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
     @GetMapping()
     public ResponseEntity<List<PersonnelDTO>> getAll() {
         return new  ResponseEntity<>(personnelService.getAll(), HttpStatus.OK);
@@ -0,0 +1,30 @@
+package com.suivi_academique.controllers;
+
+import com.suivi_academique.dto.PlanificationRequestDTO;
+import com.suivi_academique.services.interfaces.PlanificationInterface;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+@RestController
+@RequestMapping("/planification")
+@AllArgsConstructor
+public class PlanificationController {
+
+    private final PlanificationInterface planificationService;
+
+    // Propose des programmations sans conflit pour les heures restantes des cours sur la période demandée
+    @PostMapping
+    public ResponseEntity<?> planifier(@RequestBody PlanificationRequestDTO demande) {
+        try {
+            return new ResponseEntity<>(planificationService.planifier(demande), HttpStatus.OK);
+        } catch (ResponseStatusException e) {
+            // Planifications simultanées au maximum: 503 plutôt que 400
+            throw e;
+        } catch (Exception e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+}
@@ -1,13 +1,24 @@
 package com.suivi_academique.controllers;
 
 import com.suivi_academique.dto.ProgrammationDTO;
+import com.suivi_academique.dto.ValidationRequestDTO;
+import com.suivi_academique.security.CustomUserDetails;
+import com.suivi_academique.services.interfaces.ProgrammationExportInterface;
+import com.suivi_academique.services.interfaces.ProgrammationImportInterface;
 import com.suivi_academique.services.interfaces.ProgrammationInterface; // Utilisation de l'interface
 import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
+import java.io.InputStream;
+import java.util.Date;
 
 @RestController
 @RequestMapping("/programmations")
@@ -16,6 +27,9 @@ public class ProgrammationController {
 
     private final ProgrammationInterface programmationService;
 
+    private final ProgrammationImportInterface programmationImportService;
+
+    private final ProgrammationExportInterface programmationExportService;
 
     @PostMapping
     public ResponseEntity<?> save(@RequestBody ProgrammationDTO programmationDTO) {
@@ -26,9 +40,58 @@ public class ProgrammationController {
         }
     }
 
+    // Import en masse: corps NDJSON, une programmation par ligne
+    @PostMapping("/batch")
+    public ResponseEntity<?> importer(InputStream ndjson) {
+        try {
+            return new ResponseEntity<>(programmationImportService.importer(ndjson), HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    // Validation ou refus en masse: {"statut": "VALIDER", "ids": [1, 2, 3]} ou un filtre (codeSalle, codeCours, debut, fin)
+    @PostMapping("/validation")
+    public ResponseEntity<?> valider(@RequestBody ValidationRequestDTO demande,
+                                     @AuthenticationPrincipal CustomUserDetails utilisateur) {
+        try {
+            String codeValidateur = utilisateur != null ? utilisateur.getCodePersonnel() : null;
+            return new ResponseEntity<>(programmationService.valider(demande, codeValidateur), HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    // Liste paginée par curseur: ?limit=50&direction=desc&curseur=<curseurSuivant de la page précédente>
     @GetMapping
-    public ResponseEntity<List<ProgrammationDTO>> getAll() {
-        return new ResponseEntity<>(programmationService.getAll(), HttpStatus.OK);
+    public ResponseEntity<?> getAll(@RequestParam(required = false) String curseur,
+                                    @RequestParam(defaultValue = "50") int limit,
+                                    @RequestParam(defaultValue = "ASC") String direction) {
+        try {
+            return new ResponseEntity<>(programmationService.getPage(curseur, limit, Sort.Direction.fromString(direction)), HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    // Export complet en flux, mémoire constante quelle que soit la période
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exporter(@RequestParam(defaultValue = ProgrammationExportInterface.FORMAT_CSV) String format,
+                                                          @RequestParam(required = false) @DateTimeFormat(pattern = "dd.MM.yyyy HH:mm:ss") Date from,
+                                                          @RequestParam(required = false) @DateTimeFormat(pattern = "dd.MM.yyyy HH:mm:ss") Date to) {
+        String contentType;
+        if (ProgrammationExportInterface.FORMAT_CSV.equals(format)) {
+            contentType = "text/csv;charset=UTF-8";
+        } else if (ProgrammationExportInterface.FORMAT_NDJSON.equals(format)) {
+            contentType = "application/x-ndjson;charset=UTF-8";
+        } else {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Format d'export inconnu: " + format);
+        }
+        StreamingResponseBody corps = sortie -> programmationExportService.exporter(format, from, to, sortie);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_TYPE, contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"programmations." + format + "\"")
+                .body(corps);
     }
 
     @PutMapping("/{id}")
@@ -0,0 +1,27 @@
+package com.suivi_academique.controllers;
+
+import com.suivi_academique.services.interfaces.RechercheInterface;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/search")
+@AllArgsConstructor
+public class RechercheController {
+
+    private final RechercheInterface rechercheService;
+
+    // Recherche au fil de la saisie sur salles, cours et personnels, ex: /search?q=algo&type=cours&limit=10
+    @GetMapping
+    public ResponseEntity<?> rechercher(@RequestParam("q") String requete,
+                                        @RequestParam(required = false) String type,
+                                        @RequestParam(name = "limit", defaultValue = "10") int limite) {
+        try {
+            return new ResponseEntity<>(rechercheService.rechercher(requete, type, limite), HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+}
@@ -3,11 +3,15 @@ package com.suivi_academique.controllers;
 
 import com.suivi_academique.dto.SalleDTO;
 import com.suivi_academique.services.implementations.SalleService;
+import com.suivi_academique.services.interfaces.OccupationSalleInterface;
+import com.suivi_academique.utils.SalleStatus;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.Date;
 import java.util.List;
 
 @RestController
@@ -15,8 +19,12 @@ import java.util.List;
 public class SalleController {
 
     private SalleService salleService;
-    public SalleController(SalleService salleService) {
+
+    private OccupationSalleInterface occupationSalleService;
+
+    public SalleController(SalleService salleService, OccupationSalleInterface occupationSalleService) {
         this.salleService = salleService;
+        this.occupationSalleService = occupationSalleService;
     }
 
 
@@ -41,6 +49,52 @@ public class SalleController {
         }
     }
 
+    // Salles libres sur une période, ex: ?debut=01.10.2026 08:00:00&fin=01.10.2026 10:00:00&contenanceMin=30
+    @GetMapping("/disponibles")
+    public ResponseEntity<?> disponibles(@RequestParam @DateTimeFormat(pattern = "dd.MM.yyyy HH:mm:ss") Date debut,
+                                         @RequestParam @DateTimeFormat(pattern = "dd.MM.yyyy HH:mm:ss") Date fin,
+                                         @RequestParam(defaultValue = "0") int contenanceMin) {
+        try {
+            return new ResponseEntity<>(salleService.findSallesDisponibles(debut, fin, contenanceMin), HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    // Salles par contenance croissante avec leur disponibilité, ex: ?minCapacity=30&statut=LIBRE&debut=...&fin=...
+    @GetMapping("/search")
+    public ResponseEntity<?> search(@RequestParam(defaultValue = "0") int minCapacity,
+                                    @RequestParam(required = false) SalleStatus statut,
+                                    @RequestParam(required = false) @DateTimeFormat(pattern = "dd.MM.yyyy HH:mm:ss") Date debut,
+                                    @RequestParam(required = false) @DateTimeFormat(pattern = "dd.MM.yyyy HH:mm:ss") Date fin) {
+        try {
+            return new ResponseEntity<>(salleService.rechercher(minCapacity, statut, debut, fin), HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    // Minutes réservées par salle et par heure de la semaine, ex: ?from=01.09.2026 00:00:00&to=01.01.2027 00:00:00
+    @GetMapping("/occupancy")
+    public ResponseEntity<?> occupancy(@RequestParam("from") @DateTimeFormat(pattern = "dd.MM.yyyy HH:mm:ss") Date debut,
+                                       @RequestParam("to") @DateTimeFormat(pattern = "dd.MM.yyyy HH:mm:ss") Date fin) {
+        try {
+            return new ResponseEntity<>(occupationSalleService.getOccupation(debut, fin), HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    // Statut courant de chaque salle, tenu à jour au début et à la fin de chaque cours
+    @GetMapping("/statuts")
+    public ResponseEntity<?> statuts() {
+        try {
+            return new ResponseEntity<>(salleService.getStatutsCourants(), HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
     @PutMapping("/{codeSalle}")
     public ResponseEntity<?> update(@PathVariable String codeSalle, @RequestBody SalleDTO salleDTO) {
         try {
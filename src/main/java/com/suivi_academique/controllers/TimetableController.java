@@ -0,0 +1,27 @@
+package com.suivi_academique.controllers;
+
+import com.suivi_academique.services.interfaces.EmploiDuTempsInterface;
+import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/timetable")
+@AllArgsConstructor
+public class TimetableController {
+
+    private final EmploiDuTempsInterface emploiDuTempsService;
+
+    // Emploi du temps d'une semaine ISO, ex: /timetable/personnel/RA2026001?week=2026-W42 (semaine courante par défaut)
+    @GetMapping("/{type}/{code}")
+    public ResponseEntity<?> getSemaine(@PathVariable String type,
+                                        @PathVariable String code,
+                                        @RequestParam(required = false) String week) {
+        try {
+            return new ResponseEntity<>(emploiDuTempsService.getSemaine(type, code, week), HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+}
@@ -12,6 +12,8 @@ import lombok.NoArgsConstructor;
 @Builder
 public class AuthResponse {
     private String token;
+    // Jeton opaque à usage unique, échangé sur /api/auth/refresh contre un nouveau couple de jetons
+    private String refreshToken;
     private String codePersonnel;
     private String nomPersonnel;
     private String rolePersonnel;
@@ -0,0 +1,32 @@
+package com.suivi_academique.dto;
+
+import com.suivi_academique.utils.RolePersonnel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ChargePersonnelDTO {
+
+    private String codePersonnel;
+
+    private String nomPersonnel;
+
+    private RolePersonnel rolePersonnel;
+
+    // Programmations créées sur la période
+    private long programmations;
+
+    // Programmations validées sur la période
+    private long validations;
+
+    // Somme des nbHeure des programmations créées sur la période
+    private long heuresProgrammees;
+
+    // Cours affectés (les affectations ne sont pas datées)
+    private long coursAffectes;
+}
@@ -0,0 +1,22 @@
+package com.suivi_academique.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class EmploiDuTempsDTO {
+
+    private String type;
+
+    private String code;
+
+    // Semaine ISO, ex: 2026-W42
+    private String semaine;
+
+    private List<ProgrammationDTO> programmations;
+}
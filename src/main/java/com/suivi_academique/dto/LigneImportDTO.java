@@ -0,0 +1,24 @@
+package com.suivi_academique.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class LigneImportDTO {
+
+    private int ligne;
+
+    private String statut;
+
+    private Integer id;
+
+    private String message;
+
+    // Code attribué, pour les imports d'entités à clé alphanumérique (personnels)
+    private String code;
+}
@@ -0,0 +1,25 @@
+package com.suivi_academique.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class OccupationSalleDTO {
+
+    private String codeSalle;
+
+    private int contenace;
+
+    private long minutesReservees;
+
+    // Part de la période où la salle est réservée, en pourcentage
+    private double tauxOccupation;
+
+    // Minutes réservées par heure de la semaine: index 0 = lundi 0h-1h, 167 = dimanche 23h-24h
+    private int[] minutesParHeure;
+}
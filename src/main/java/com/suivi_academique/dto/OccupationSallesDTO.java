@@ -0,0 +1,25 @@
+package com.suivi_academique.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Date;
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class OccupationSallesDTO {
+
+    private Date debut;
+
+    private Date fin;
+
+    private double tauxOccupation;
+
+    // Salles de la plus occupée à la moins occupée
+    private List<OccupationSalleDTO> salles;
+}
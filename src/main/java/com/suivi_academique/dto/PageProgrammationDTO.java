@@ -0,0 +1,20 @@
+package com.suivi_academique.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class PageProgrammationDTO {
+
+    private List<ProgrammationDTO> contenu;
+
+    // Jeton opaque à renvoyer pour obtenir la page suivante, null sur la dernière page
+    private String curseurSuivant;
+}
@@ -0,0 +1,38 @@
+package com.suivi_academique.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.Map;
+
+@Getter
+@Setter
+@AllArgsConstructor
+public class PlanificationDTO {
+
+    // Programmations proposées, non enregistrées (à soumettre via POST /programmations/batch)
+    private List<ProgrammationDTO> propositions;
+
+    private int heuresDemandees;
+
+    private int heuresPlacees;
+
+    // Pourcentage des heures restantes couvertes par les propositions
+    private double tauxCouverture;
+
+    private int seancesNonPlacees;
+
+    // Nombre de séances d'un même cours tombant le même jour qu'une autre
+    private int penaliteMemeJour;
+
+    private long dureeMs;
+
+    private long iterations;
+
+    private int workers;
+
+    // Heures encore non couvertes par cours
+    private Map<String, Integer> heuresRestantes;
+}
@@ -0,0 +1,26 @@
+package com.suivi_academique.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Date;
+
+@Getter
+@Setter
+public class PlanificationRequestDTO {
+
+    private Date debut;
+
+    private Date fin;
+
+    // Durée d'une séance en heures
+    private int dureeSeance = 2;
+
+    private int heureOuverture = 8;
+
+    private int heureFermeture = 18;
+
+    private int contenanceMin = 0;
+
+    private int budgetSecondes = 10;
+}
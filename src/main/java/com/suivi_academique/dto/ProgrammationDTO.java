@@ -32,4 +32,7 @@ public class ProgrammationDTO {
     private PersonnelDTO personnelProg;
 
     private PersonnelDTO personnelVal;
+
+    // Version lue par le client, obligatoire en mise à jour: une version périmée est refusée
+    private Integer version;
 }
@@ -0,0 +1,52 @@
+package com.suivi_academique.dto;
+
+import com.suivi_academique.utils.RolePersonnel;
+import com.suivi_academique.utils.SalleStatus;
+import com.suivi_academique.utils.StatutProgrammation;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Date;
+
+/**
+ * Ligne à plat lue directement par les requêtes "SELECT new" de ProgrammationRepository:
+ * uniquement les colonnes exposées par ProgrammationDTO, sans entité gérée
+ * (ni snapshot de dirty-checking, ni chargement des relations).
+ * Le mot de passe des personnels n'est volontairement pas sélectionné.
+ */
+@Getter
+@AllArgsConstructor
+public class ProgrammationProjection {
+
+    private int id;
+    private int nbHeure;
+    private Date dateProgrammation;
+    private Date finProgrammation;
+    private StatutProgrammation statutProgrammation;
+    private int version;
+
+    private String codeSalle;
+    private String descSalle;
+    private int contenance;
+    private SalleStatus statutSalle;
+
+    private String codeCours;
+    private String labelCours;
+    private String descCours;
+    private String nbCreditCours;
+    private String nbHeureCours;
+
+    private String codePersonnelProg;
+    private String nomPersonnelProg;
+    private String loginPersonnelProg;
+    private String sexePersonnelProg;
+    private String phonePersonnelProg;
+    private RolePersonnel rolePersonnelProg;
+
+    private String codePersonnelVal;
+    private String nomPersonnelVal;
+    private String loginPersonnelVal;
+    private String sexePersonnelVal;
+    private String phonePersonnelVal;
+    private RolePersonnel rolePersonnelVal;
+}
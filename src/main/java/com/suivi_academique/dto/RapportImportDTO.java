@@ -0,0 +1,38 @@
+package com.suivi_academique.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+public class RapportImportDTO {
+
+    public static final String IMPORTEE = "IMPORTEE";
+    public static final String REJETEE = "REJETEE";
+
+    private int lignesLues;
+
+    private int importees;
+
+    private int rejetees;
+
+    private List<LigneImportDTO> lignes = new ArrayList<>();
+
+    public void importee(int ligne, Integer id) {
+        lignes.add(new LigneImportDTO(ligne, IMPORTEE, id, null, null));
+        importees++;
+    }
+
+    public void importee(int ligne, String code) {
+        lignes.add(new LigneImportDTO(ligne, IMPORTEE, null, null, code));
+        importees++;
+    }
+
+    public void rejetee(int ligne, String message) {
+        lignes.add(new LigneImportDTO(ligne, REJETEE, null, message, null));
+        rejetees++;
+    }
+}
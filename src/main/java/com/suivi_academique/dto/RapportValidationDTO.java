@@ -0,0 +1,38 @@
+package com.suivi_academique.dto;
+
+import com.suivi_academique.utils.StatutProgrammation;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+public class RapportValidationDTO {
+
+    public static final String TRAITEE = "TRAITEE";
+    public static final String REFUSEE = "REFUSEE";
+
+    private StatutProgrammation statut;
+
+    private int traitees;
+
+    private int refusees;
+
+    private List<ResultatValidationDTO> resultats = new ArrayList<>();
+
+    public RapportValidationDTO(StatutProgrammation statut) {
+        this.statut = statut;
+    }
+
+    public void traitee(int id) {
+        resultats.add(new ResultatValidationDTO(id, TRAITEE, null));
+        traitees++;
+    }
+
+    public void refusee(int id, String message) {
+        resultats.add(new ResultatValidationDTO(id, REFUSEE, message));
+        refusees++;
+    }
+}
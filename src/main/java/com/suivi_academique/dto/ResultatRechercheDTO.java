@@ -0,0 +1,22 @@
+package com.suivi_academique.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ResultatRechercheDTO {
+
+    // salle, cours ou personnel
+    private String type;
+
+    private String code;
+
+    private String libelle;
+
+    private double score;
+}
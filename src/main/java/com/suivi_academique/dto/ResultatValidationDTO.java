@@ -0,0 +1,19 @@
+package com.suivi_academique.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ResultatValidationDTO {
+
+    private int id;
+
+    private String resultat;
+
+    private String message;
+}
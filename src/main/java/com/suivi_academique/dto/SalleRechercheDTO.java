@@ -0,0 +1,30 @@
+package com.suivi_academique.dto;
+
+import com.suivi_academique.utils.SalleStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Setter
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class SalleRechercheDTO {
+
+    private String codeSalle;
+
+    private String descSalle;
+
+    private int contenace;
+
+    private SalleStatus statutSalle;
+
+    // null quand la recherche ne précise pas de période
+    private Boolean disponible;
+
+    public static SalleRechercheDTO of(SalleDTO salle, Boolean disponible) {
+        return new SalleRechercheDTO(salle.getCodeSalle(), salle.getDescSalle(), salle.getContenace(),
+                salle.getStatutSalle(), disponible);
+    }
+}
@@ -0,0 +1,27 @@
+package com.suivi_academique.dto;
+
+import com.suivi_academique.utils.SalleStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Date;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+public class StatutSalleDTO {
+
+    private String codeSalle;
+
+    private SalleStatus statut;
+
+    private Date depuis;
+
+    // Fin du cours en cours, null si la salle n'est pas occupée
+    private Date jusqua;
+
+    private Integer programmation;
+}
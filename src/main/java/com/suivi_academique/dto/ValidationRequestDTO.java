@@ -0,0 +1,27 @@
+package com.suivi_academique.dto;
+
+import com.suivi_academique.utils.StatutProgrammation;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.Date;
+import java.util.List;
+
+@Getter
+@Setter
+public class ValidationRequestDTO {
+
+    // Statut cible: VALIDER ou NON_VALIDER
+    private StatutProgrammation statut;
+
+    // Programmations visées; si absent, le filtre ci-dessous sélectionne les programmations en attente
+    private List<Integer> ids;
+
+    private String codeSalle;
+
+    private String codeCours;
+
+    private Date debut;
+
+    private Date fin;
+}
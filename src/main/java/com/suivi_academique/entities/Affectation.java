@@ -2,9 +2,9 @@ package com.suivi_academique.entities;
 
 
 import jakarta.persistence.*;
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
+import org.springframework.data.domain.Persistable;
 
 
 import java.io.Serializable;
@@ -12,8 +12,7 @@ import java.io.Serializable;
 @Entity
 @Getter
 @Setter
-@AllArgsConstructor
-public class Affectation implements Serializable {
+public class Affectation implements Serializable, Persistable<AffectationId> {
 
     @EmbeddedId
     private AffectationId codeAffectation;
@@ -29,7 +28,33 @@ public class Affectation implements Serializable {
 
     private Cours cours;
 
+    // Clé composite fournie par l'appelant: sans ce marqueur, save() ferait un merge (SELECT puis INSERT)
+    @Transient
+    private boolean nouvelle = true;
+
     public Affectation() {
 
     }
+
+    public Affectation(AffectationId codeAffectation, Personnel personnel, Cours cours) {
+        this.codeAffectation = codeAffectation;
+        this.personnel = personnel;
+        this.cours = cours;
+    }
+
+    @Override
+    public AffectationId getId() {
+        return codeAffectation;
+    }
+
+    @Override
+    public boolean isNew() {
+        return nouvelle;
+    }
+
+    @PostLoad
+    @PostPersist
+    void marquerPersistee() {
+        nouvelle = false;
+    }
 }
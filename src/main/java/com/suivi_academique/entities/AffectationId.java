@@ -3,13 +3,17 @@ package com.suivi_academique.entities;
 
 import jakarta.persistence.Basic;
 import jakarta.persistence.Embeddable;
-import lombok.AllArgsConstructor;
-import lombok.NoArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
 
 import java.io.Serializable;
 
 
 @Embeddable
+@Getter
+@Setter
+@EqualsAndHashCode
 public class AffectationId implements Serializable {
 
     @Basic(optional = false)
@@ -0,0 +1,27 @@
+package com.suivi_academique.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Compteur persistant des codes personnel, une ligne par préfixe de rôle et par année
+ * ("ENS2026"...). prochainBloc est le premier numéro non encore réservé par une instance.
+ */
+@Setter
+@Getter
+@Entity
+@Table(name = "CompteurCode")
+@AllArgsConstructor
+@NoArgsConstructor
+public class CompteurCode {
+
+    @Id
+    @Basic(optional = false)
+    private String cle;
+
+    @Basic(optional = false)
+    private long prochainBloc;
+}
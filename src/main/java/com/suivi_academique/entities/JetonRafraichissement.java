@@ -0,0 +1,49 @@
+package com.suivi_academique.entities;
+
+import com.suivi_academique.utils.RolePersonnel;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Jeton de rafraîchissement persisté. Le jeton lui-même n'est jamais stocké: la clé est
+ * son empreinte SHA-256. Les jetons d'une même connexion partagent une famille, révoquée
+ * entière si un jeton déjà échangé est présenté de nouveau.
+ */
+@Setter
+@Getter
+@Entity
+@Table(name = "JetonRafraichissement", indexes = @Index(name = "idx_jeton_rafraichissement_expiration", columnList = "expiration"))
+@AllArgsConstructor
+@NoArgsConstructor
+public class JetonRafraichissement {
+
+    @Id
+    @Column(length = 64)
+    private String empreinte;
+
+    @Basic(optional = false)
+    private String famille;
+
+    @Basic(optional = false)
+    private String codePersonnel;
+
+    @Basic(optional = false)
+    private String loginPersonnel;
+
+    private String nomPersonnel;
+
+    @Basic(optional = false)
+    @Enumerated(EnumType.STRING)
+    private RolePersonnel rolePersonnel;
+
+    // Instant d'expiration (ms)
+    @Basic(optional = false)
+    private long expiration;
+
+    // Déjà échangé contre un nouveau jeton
+    @Basic(optional = false)
+    private boolean utilise;
+}
@@ -5,18 +5,22 @@ import com.fasterxml.jackson.annotation.JsonFormat;
 import com.suivi_academique.utils.StatutProgrammation;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.Date;
 
 @Entity
+@Table(indexes = @Index(name = "idx_programmation_date_id", columnList = "dateProgrammation, id"))
 @Getter
 @Setter
 @AllArgsConstructor
 public class Programmation {
 
 
+    // Identifiants réservés par blocs (pooled) pour permettre le batch JDBC des insertions
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "programmation_seq")
+    @SequenceGenerator(name = "programmation_seq", sequenceName = "programmation_seq", allocationSize = 50)
     private int id;
 
     @Basic(optional = false)
@@ -52,6 +56,11 @@ public class Programmation {
     @JoinColumn(name = "code_personnel_val", referencedColumnName = "codePersonnel" )
     private Personnel personnelVal;
 
+    // Verrouillage optimiste: une mise à jour concurrente échoue au lieu d'écraser l'autre
+    @Version
+    @ColumnDefault("0")
+    private int version;
+
     public Programmation() {
 
     }
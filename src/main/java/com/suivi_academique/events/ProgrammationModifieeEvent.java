@@ -0,0 +1,18 @@
+package com.suivi_academique.events;
+
+import com.suivi_academique.dto.ProgrammationDTO;
+
+/**
+ * Publié après chaque écriture d'une programmation (création, mise à jour, import, suppression).
+ * programmation porte l'état enregistré, ou null si la programmation a été supprimée.
+ */
+public record ProgrammationModifieeEvent(int id, ProgrammationDTO programmation) {
+
+    public static ProgrammationModifieeEvent supprimee(int id) {
+        return new ProgrammationModifieeEvent(id, null);
+    }
+
+    public boolean estSupprimee() {
+        return programmation == null;
+    }
+}
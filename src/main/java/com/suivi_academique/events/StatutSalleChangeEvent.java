@@ -0,0 +1,11 @@
+package com.suivi_academique.events;
+
+import com.suivi_academique.utils.SalleStatus;
+
+/**
+ * Publié par StatutSalleMoteur quand le statut courant d'une salle change
+ * (début ou fin d'un cours, fermeture ou réouverture manuelle).
+ * ancien vaut null pour une salle qui vient d'apparaître.
+ */
+public record StatutSalleChangeEvent(String codeSalle, SalleStatus ancien, SalleStatus nouveau, long instant) {
+}
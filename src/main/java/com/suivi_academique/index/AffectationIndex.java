@@ -0,0 +1,279 @@
+package com.suivi_academique.index;
+
+import com.suivi_academique.repositories.AffectationRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Affectations enseignants / cours en mémoire, dans les deux sens. Les codes sont
+ * remplacés par des entiers denses (dictionnaire), chaque cours porte le tableau trié
+ * des enseignants affectés et chaque enseignant celui de ses cours: une lecture est
+ * une recherche dans une table, une intersection une fusion de tableaux triés.
+ * Chargé au démarrage, tenu à jour par AffectationService.
+ */
+@Slf4j
+@Component
+public class AffectationIndex {
+
+    private static final int[] VIDE = new int[0];
+
+    private final AffectationRepository affectationRepository;
+
+    private final ReentrantReadWriteLock verrou = new ReentrantReadWriteLock();
+
+    private final Dictionnaire cours = new Dictionnaire();
+
+    private final Dictionnaire personnels = new Dictionnaire();
+
+    // identifiant de cours -> identifiants des enseignants, triés
+    private int[][] personnelsParCours = new int[16][];
+
+    // identifiant d'enseignant -> identifiants des cours, triés
+    private int[][] coursParPersonnel = new int[16][];
+
+    private int taille;
+
+    public AffectationIndex(AffectationRepository affectationRepository) {
+        this.affectationRepository = affectationRepository;
+    }
+
+    /**
+     * Code <-> entier dense. Les identifiants ne sont jamais réattribués.
+     */
+    private static final class Dictionnaire {
+
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> codes = new ArrayList<>();
+
+        int id(String code) {
+            Integer id = ids.get(code);
+            return id == null ? -1 : id;
+        }
+
+        int idOuNouveau(String code) {
+            return ids.computeIfAbsent(code, c -> {
+                codes.add(c);
+                return codes.size() - 1;
+            });
+        }
+
+        String code(int id) {
+            return codes.get(id);
+        }
+
+        void vider() {
+            ids.clear();
+            codes.clear();
+        }
+    }
+
+    @PostConstruct
+    public void charger() {
+        List<Object[]> couples = affectationRepository.findAllCodes();
+        verrou.writeLock().lock();
+        try {
+            cours.vider();
+            personnels.vider();
+            personnelsParCours = new int[16][];
+            coursParPersonnel = new int[16][];
+            taille = 0;
+            for (Object[] couple : couples) {
+                lier((String) couple[0], (String) couple[1]);
+            }
+        } finally {
+            verrou.writeLock().unlock();
+        }
+        log.info("Index des affectations chargé: {} affectations, {} cours, {} enseignants",
+                taille, cours.codes.size(), personnels.codes.size());
+    }
+
+    public void ajouter(String codeCours, String codePersonnel) {
+        verrou.writeLock().lock();
+        try {
+            lier(codeCours, codePersonnel);
+        } finally {
+            verrou.writeLock().unlock();
+        }
+    }
+
+    public void retirer(String codeCours, String codePersonnel) {
+        verrou.writeLock().lock();
+        try {
+            int c = cours.id(codeCours);
+            int p = personnels.id(codePersonnel);
+            if (c < 0 || p < 0) {
+                return;
+            }
+            int[] enseignants = ligne(personnelsParCours, c);
+            int position = Arrays.binarySearch(enseignants, p);
+            if (position < 0) {
+                return;
+            }
+            personnelsParCours[c] = sans(enseignants, position);
+            int[] coursDuPersonnel = ligne(coursParPersonnel, p);
+            coursParPersonnel[p] = sans(coursDuPersonnel, Arrays.binarySearch(coursDuPersonnel, c));
+            taille--;
+        } finally {
+            verrou.writeLock().unlock();
+        }
+    }
+
+    private void lier(String codeCours, String codePersonnel) {
+        int c = cours.idOuNouveau(codeCours);
+        int p = personnels.idOuNouveau(codePersonnel);
+        personnelsParCours = assurerCapacite(personnelsParCours, c);
+        coursParPersonnel = assurerCapacite(coursParPersonnel, p);
+        int[] enseignants = ligne(personnelsParCours, c);
+        int position = Arrays.binarySearch(enseignants, p);
+        if (position >= 0) {
+            return;
+        }
+        personnelsParCours[c] = avec(enseignants, -position - 1, p);
+        int[] coursDuPersonnel = ligne(coursParPersonnel, p);
+        coursParPersonnel[p] = avec(coursDuPersonnel, -Arrays.binarySearch(coursDuPersonnel, c) - 1, c);
+        taille++;
+    }
+
+    // Codes des enseignants affectés au cours
+    public List<String> enseignantsDe(String codeCours) {
+        verrou.readLock().lock();
+        try {
+            int c = cours.id(codeCours);
+            return c < 0 ? List.of() : codes(personnels, ligne(personnelsParCours, c));
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    // Codes des cours affectés à l'enseignant
+    public List<String> coursDe(String codePersonnel) {
+        verrou.readLock().lock();
+        try {
+            int p = personnels.id(codePersonnel);
+            return p < 0 ? List.of() : codes(cours, ligne(coursParPersonnel, p));
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    public boolean estAffecte(String codeCours, String codePersonnel) {
+        verrou.readLock().lock();
+        try {
+            int c = cours.id(codeCours);
+            int p = personnels.id(codePersonnel);
+            return c >= 0 && p >= 0 && Arrays.binarySearch(ligne(personnelsParCours, c), p) >= 0;
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    // Enseignants affectés à tous les cours donnés
+    public List<String> enseignantsCommuns(Collection<String> codesCours) {
+        verrou.readLock().lock();
+        try {
+            return codes(personnels, intersection(codesCours, cours, personnelsParCours));
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    // Cours affectés à tous les enseignants donnés
+    public List<String> coursCommuns(Collection<String> codesPersonnel) {
+        verrou.readLock().lock();
+        try {
+            return codes(cours, intersection(codesPersonnel, personnels, coursParPersonnel));
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    public int taille() {
+        verrou.readLock().lock();
+        try {
+            return taille;
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+
+    // Fusion des tableaux triés, en partant du plus court
+    private static int[] intersection(Collection<String> codes, Dictionnaire dictionnaire, int[][] lignes) {
+        if (codes.isEmpty()) {
+            return VIDE;
+        }
+        int[][] tableaux = new int[codes.size()][];
+        int i = 0;
+        for (String code : codes) {
+            int id = dictionnaire.id(code);
+            if (id < 0) {
+                return VIDE;
+            }
+            tableaux[i++] = ligne(lignes, id);
+        }
+        Arrays.sort(tableaux, (a, b) -> Integer.compare(a.length, b.length));
+        int[] resultat = tableaux[0];
+        for (int k = 1; k < tableaux.length && resultat.length > 0; k++) {
+            resultat = intersecter(resultat, tableaux[k]);
+        }
+        return resultat;
+    }
+
+    static int[] intersecter(int[] a, int[] b) {
+        int[] resultat = new int[Math.min(a.length, b.length)];
+        int n = 0;
+        for (int i = 0, j = 0; i < a.length && j < b.length; ) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                resultat[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return n == resultat.length ? resultat : Arrays.copyOf(resultat, n);
+    }
+
+    private static List<String> codes(Dictionnaire dictionnaire, int[] ids) {
+        List<String> codes = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            codes.add(dictionnaire.code(id));
+        }
+        return codes;
+    }
+
+    private static int[] ligne(int[][] lignes, int id) {
+        int[] ligne = id < lignes.length ? lignes[id] : null;
+        return ligne == null ? VIDE : ligne;
+    }
+
+    private static int[][] assurerCapacite(int[][] lignes, int id) {
+        return id < lignes.length ? lignes : Arrays.copyOf(lignes, Math.max(id + 1, lignes.length * 2));
+    }
+
+    // Les tableaux publiés ne sont jamais modifiés: une écriture remplace la ligne entière
+    private static int[] avec(int[] tableau, int position, int valeur) {
+        int[] resultat = new int[tableau.length + 1];
+        System.arraycopy(tableau, 0, resultat, 0, position);
+        resultat[position] = valeur;
+        System.arraycopy(tableau, position, resultat, position + 1, tableau.length - position);
+        return resultat;
+    }
+
+    private static int[] sans(int[] tableau, int position) {
+        int[] resultat = new int[tableau.length - 1];
+        System.arraycopy(tableau, 0, resultat, 0, position);
+        System.arraycopy(tableau, position + 1, resultat, position, tableau.length - position - 1);
+        return resultat;
+    }
+}
@@ -0,0 +1,89 @@
+package com.suivi_academique.index;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Ensemble de créneaux (indices entiers) stocké par blocs de 1024 bits.
+ * Seuls les blocs contenant au moins un créneau occupé sont alloués: une salle
+ * vide ne coûte rien et une année de créneaux de 15 minutes tient en ~35 blocs.
+ * Non thread-safe: l'appelant synchronise.
+ */
+final class BitmapCreneaux {
+
+    private static final int BITS_PAR_BLOC = 1 << 10;
+    private static final int MOTS_PAR_BLOC = BITS_PAR_BLOC / Long.SIZE;
+
+    private final Map<Integer, long[]> blocs = new HashMap<>();
+
+    /**
+     * Positionne (ou efface) les créneaux de [debut, fin[.
+     */
+    void marquer(int debut, int fin, boolean occupe) {
+        for (int creneau = debut; creneau < fin; ) {
+            int numeroBloc = creneau >> 10;
+            int finBloc = Math.min(fin, (numeroBloc + 1) << 10);
+            long[] bloc = blocs.get(numeroBloc);
+            if (bloc == null) {
+                if (!occupe) {
+                    creneau = finBloc;
+                    continue;
+                }
+                bloc = new long[MOTS_PAR_BLOC];
+                blocs.put(numeroBloc, bloc);
+            }
+            for (int c = creneau; c < finBloc; ) {
+                int mot = (c & (BITS_PAR_BLOC - 1)) >> 6;
+                int finMot = Math.min(finBloc, (c | 63) + 1);
+                long masque = masque(c & 63, finMot - c);
+                bloc[mot] = occupe ? bloc[mot] | masque : bloc[mot] & ~masque;
+                c = finMot;
+            }
+            if (!occupe && estVide(bloc)) {
+                blocs.remove(numeroBloc);
+            }
+            creneau = finBloc;
+        }
+    }
+
+    /**
+     * Vrai si au moins un créneau de [debut, fin[ est occupé.
+     */
+    boolean intersecte(int debut, int fin) {
+        for (int creneau = debut; creneau < fin; ) {
+            int numeroBloc = creneau >> 10;
+            int finBloc = Math.min(fin, (numeroBloc + 1) << 10);
+            long[] bloc = blocs.get(numeroBloc);
+            if (bloc != null) {
+                for (int c = creneau; c < finBloc; ) {
+                    int mot = (c & (BITS_PAR_BLOC - 1)) >> 6;
+                    int finMot = Math.min(finBloc, (c | 63) + 1);
+                    if ((bloc[mot] & masque(c & 63, finMot - c)) != 0) {
+                        return true;
+                    }
+                    c = finMot;
+                }
+            }
+            creneau = finBloc;
+        }
+        return false;
+    }
+
+    int blocsAlloues() {
+        return blocs.size();
+    }
+
+    private static long masque(int decalage, int longueur) {
+        long bits = longueur == Long.SIZE ? -1L : (1L << longueur) - 1;
+        return bits << decalage;
+    }
+
+    private static boolean estVide(long[] bloc) {
+        for (long mot : bloc) {
+            if (mot != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
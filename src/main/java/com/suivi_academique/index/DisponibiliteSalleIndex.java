@@ -0,0 +1,124 @@
+package com.suivi_academique.index;
+
+import com.suivi_academique.dto.SalleDTO;
+import com.suivi_academique.dto.SalleRechercheDTO;
+import com.suivi_academique.utils.SalleStatus;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Occupation des salles par créneaux fixes de 15 minutes, un bitmap par salle.
+ * Les bitmaps sont dérivés de ReservationSalleIndex: à chaque créneau ajouté ou
+ * retiré, la plage concernée est recalculée à partir des réservations restantes,
+ * ce qui reste juste quand deux cours se partagent un même quart d'heure.
+ */
+@Slf4j
+@Component
+public class DisponibiliteSalleIndex {
+
+    static final long DUREE_CRENEAU = 15 * 60 * 1000L;
+
+    private final ReservationSalleIndex reservationSalleIndex;
+    private final SalleCatalogue salleCatalogue;
+
+    private final Map<String, BitmapCreneaux> bitmaps = new ConcurrentHashMap<>();
+
+    public DisponibiliteSalleIndex(ReservationSalleIndex reservationSalleIndex, SalleCatalogue salleCatalogue) {
+        this.reservationSalleIndex = reservationSalleIndex;
+        this.salleCatalogue = salleCatalogue;
+        // Abonnement unique: charger() peut être rappelé pour reconstruire les bitmaps
+        reservationSalleIndex.observer(this::actualiser);
+    }
+
+    @PostConstruct
+    public void charger() {
+        bitmaps.clear();
+        for (ReservationSalleIndex.Creneau creneau : reservationSalleIndex.creneaux()) {
+            BitmapCreneaux bitmap = bitmap(creneau.codeSalle());
+            synchronized (bitmap) {
+                bitmap.marquer(creneauDebut(creneau.debut()), creneauFin(creneau.fin()), true);
+            }
+        }
+        log.info("Index de disponibilité chargé: {} salles", bitmaps.size());
+    }
+
+    /**
+     * Recalcule les créneaux couverts par une réservation qui vient d'être ajoutée ou retirée.
+     */
+    public void actualiser(ReservationSalleIndex.Creneau modifie) {
+        int debut = creneauDebut(modifie.debut());
+        int fin = creneauFin(modifie.fin());
+        BitmapCreneaux bitmap = bitmap(modifie.codeSalle());
+        synchronized (bitmap) {
+            bitmap.marquer(debut, fin, false);
+            for (ReservationSalleIndex.Creneau restant : reservationSalleIndex.conflits(modifie.codeSalle(),
+                    debut * DUREE_CRENEAU, fin * DUREE_CRENEAU, null)) {
+                bitmap.marquer(Math.max(debut, creneauDebut(restant.debut())),
+                        Math.min(fin, creneauFin(restant.fin())), true);
+            }
+        }
+    }
+
+    public boolean estLibre(String codeSalle, Date debut, Date fin) {
+        BitmapCreneaux bitmap = bitmaps.get(codeSalle);
+        if (bitmap == null) {
+            return true;
+        }
+        boolean occupe;
+        synchronized (bitmap) {
+            occupe = bitmap.intersecte(creneauDebut(debut.getTime()), creneauFin(fin.getTime()));
+        }
+        if (!occupe) {
+            return true;
+        }
+        // Bornes au milieu d'un quart d'heure: le bitmap ne suffit pas à trancher
+        boolean aligne = debut.getTime() % DUREE_CRENEAU == 0 && fin.getTime() % DUREE_CRENEAU == 0;
+        return !aligne && reservationSalleIndex.estLibre(codeSalle, debut, fin);
+    }
+
+    /**
+     * Salles ouvertes et libres sur [debut, fin[ d'au moins contenanceMin places, par contenance croissante.
+     */
+    public List<SalleDTO> sallesDisponibles(Date debut, Date fin, int contenanceMin) {
+        List<SalleDTO> disponibles = new ArrayList<>();
+        for (SalleDTO salle : salleCatalogue.parContenance(contenanceMin, null)) {
+            if (StatutSalleMoteur.estReservable(salle.getStatutSalle()) && estLibre(salle.getCodeSalle(), debut, fin)) {
+                disponibles.add(salle);
+            }
+        }
+        return disponibles;
+    }
+
+    /**
+     * Salles d'au moins contenanceMin places (d'un statut donné ou de tous), par contenance
+     * croissante; la disponibilité sur [debut, fin[ est évaluée dans le même parcours.
+     */
+    public List<SalleRechercheDTO> rechercher(int contenanceMin, SalleStatus statut, Date debut, Date fin) {
+        List<SalleRechercheDTO> resultat = new ArrayList<>();
+        for (SalleDTO salle : salleCatalogue.parContenance(contenanceMin, statut)) {
+            Boolean disponible = debut == null ? null
+                    : StatutSalleMoteur.estReservable(salle.getStatutSalle()) && estLibre(salle.getCodeSalle(), debut, fin);
+            resultat.add(SalleRechercheDTO.of(salle, disponible));
+        }
+        return resultat;
+    }
+
+    private BitmapCreneaux bitmap(String codeSalle) {
+        return bitmaps.computeIfAbsent(codeSalle, code -> new BitmapCreneaux());
+    }
+
+    static int creneauDebut(long instant) {
+        return (int) Math.floorDiv(instant, DUREE_CRENEAU);
+    }
+
+    static int creneauFin(long instant) {
+        return (int) Math.floorDiv(instant + DUREE_CRENEAU - 1, DUREE_CRENEAU);
+    }
+}
@@ -0,0 +1,143 @@
+package com.suivi_academique.index;
+
+import com.suivi_academique.dto.ProgrammationDTO;
+import com.suivi_academique.events.ProgrammationModifieeEvent;
+import com.suivi_academique.mappers.ProgrammationMapper;
+import com.suivi_academique.repositories.ProgrammationRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.IsoFields;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Emplois du temps hebdomadaires précalculés par personnel programmateur, salle et cours.
+ * Chaque vue est une liste immuable triée, remplacée à chaque programmation modifiée:
+ * la lecture d'une semaine est un simple accès à la map, sans requête.
+ */
+@Slf4j
+@Component
+public class EmploiDuTempsIndex {
+
+    public enum Proprietaire {
+        PERSONNEL, SALLE, COURS
+    }
+
+    record Cle(Proprietaire type, String code, String semaine) {
+    }
+
+    private static final Comparator<ProgrammationDTO> ORDRE =
+            Comparator.comparing(ProgrammationDTO::getDateProgrammation).thenComparingInt(ProgrammationDTO::getId);
+
+    private final ProgrammationRepository programmationRepository;
+    private final ProgrammationMapper programmationMapper;
+
+    private final Map<Cle, List<ProgrammationDTO>> vues = new ConcurrentHashMap<>();
+
+    // Dernière version indexée, pour retirer une programmation des semaines qu'elle occupait
+    private final Map<Integer, ProgrammationDTO> versions = new HashMap<>();
+
+    public EmploiDuTempsIndex(ProgrammationRepository programmationRepository, ProgrammationMapper programmationMapper) {
+        this.programmationRepository = programmationRepository;
+        this.programmationMapper = programmationMapper;
+    }
+
+    @PostConstruct
+    public synchronized void charger() {
+        vues.clear();
+        versions.clear();
+        Map<Cle, List<ProgrammationDTO>> construction = new HashMap<>();
+        programmationRepository.findAllVues().forEach(vue -> {
+            ProgrammationDTO programmation = programmationMapper.toDTO(vue);
+            versions.put(programmation.getId(), programmation);
+            for (Cle cle : cles(programmation)) {
+                construction.computeIfAbsent(cle, c -> new ArrayList<>()).add(programmation);
+            }
+        });
+        construction.forEach((cle, liste) -> {
+            liste.sort(ORDRE);
+            vues.put(cle, List.copyOf(liste));
+        });
+        log.info("Emplois du temps chargés: {} vues hebdomadaires", vues.size());
+    }
+
+    @EventListener
+    public synchronized void surModification(ProgrammationModifieeEvent event) {
+        ProgrammationDTO precedente = versions.remove(event.id());
+        if (precedente != null) {
+            for (Cle cle : cles(precedente)) {
+                vues.computeIfPresent(cle, (c, liste) -> {
+                    List<ProgrammationDTO> copie = new ArrayList<>(liste);
+                    copie.removeIf(programmation -> programmation.getId() == event.id());
+                    return copie.isEmpty() ? null : List.copyOf(copie);
+                });
+            }
+        }
+        if (event.estSupprimee()) {
+            return;
+        }
+        ProgrammationDTO nouvelle = event.programmation();
+        versions.put(event.id(), nouvelle);
+        for (Cle cle : cles(nouvelle)) {
+            vues.compute(cle, (c, liste) -> {
+                List<ProgrammationDTO> copie = liste == null ? new ArrayList<>() : new ArrayList<>(liste);
+                copie.add(nouvelle);
+                copie.sort(ORDRE);
+                return List.copyOf(copie);
+            });
+        }
+    }
+
+    public List<ProgrammationDTO> semaine(Proprietaire type, String code, String semaine) {
+        return vues.getOrDefault(new Cle(type, code, semaine), List.of());
+    }
+
+    public int taille() {
+        return vues.size();
+    }
+
+    public static String semaineIso(LocalDate jour) {
+        return String.format("%d-W%02d", jour.get(IsoFields.WEEK_BASED_YEAR), jour.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR));
+    }
+
+    // Une programmation figure dans chaque semaine qu'elle touche, pour chacun de ses trois propriétaires
+    private static List<Cle> cles(ProgrammationDTO programmation) {
+        List<Cle> cles = new ArrayList<>();
+        if (programmation.getDateProgrammation() == null) {
+            return cles;
+        }
+        ZoneId zone = ZoneId.systemDefault();
+        LocalDate jour = Instant.ofEpochMilli(programmation.getDateProgrammation().getTime()).atZone(zone).toLocalDate();
+        long fin = programmation.getFinProgrammation() != null
+                && programmation.getFinProgrammation().after(programmation.getDateProgrammation())
+                ? programmation.getFinProgrammation().getTime() - 1
+                : programmation.getDateProgrammation().getTime();
+        String derniere = semaineIso(Instant.ofEpochMilli(fin).atZone(zone).toLocalDate());
+        while (true) {
+            String semaine = semaineIso(jour);
+            if (programmation.getPersonnelProg() != null) {
+                cles.add(new Cle(Proprietaire.PERSONNEL, programmation.getPersonnelProg().getCodePersonnel(), semaine));
+            }
+            if (programmation.getSalle() != null) {
+                cles.add(new Cle(Proprietaire.SALLE, programmation.getSalle().getCodeSalle(), semaine));
+            }
+            if (programmation.getCours() != null) {
+                cles.add(new Cle(Proprietaire.COURS, programmation.getCours().getCodeCours(), semaine));
+            }
+            if (semaine.equals(derniere)) {
+                return cles;
+            }
+            jour = jour.plusWeeks(1);
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.suivi_academique.index;
+
+import com.suivi_academique.dto.CoursDTO;
+import com.suivi_academique.dto.PersonnelDTO;
+import com.suivi_academique.dto.ResultatRechercheDTO;
+import com.suivi_academique.dto.SalleDTO;
+import com.suivi_academique.mappers.CoursMapper;
+import com.suivi_academique.mappers.PersonnelMapper;
+import com.suivi_academique.repositories.CoursRepository;
+import com.suivi_academique.repositories.PersonnelRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Index inversé de trigrammes sur les libellés des salles, cours et personnels,
+ * insensible à la casse et aux accents. Chaque mot est indexé avec deux espaces
+ * en tête ("  j", " je", "jea"...), ce qui sert aussi bien les préfixes courts
+ * de la saisie au fil de l'eau que les sous-chaînes. Tenu à jour par les services
+ * Cours et Personnel et par SalleCatalogue.
+ */
+@Slf4j
+@Component
+public class RechercheIndex {
+
+    public enum Type {
+        SALLE, COURS, PERSONNEL
+    }
+
+    private static final Pattern DIACRITIQUES = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATEURS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // Part minimale des trigrammes de la requête présents dans un document (tolère une faute de frappe)
+    private static final double COUVERTURE_MIN = 0.6;
+
+    private final CoursRepository coursRepository;
+    private final CoursMapper coursMapper;
+    private final PersonnelRepository personnelRepository;
+    private final PersonnelMapper personnelMapper;
+    private final SalleCatalogue salleCatalogue;
+
+    private final ReentrantReadWriteLock verrou = new ReentrantReadWriteLock();
+
+    private final Map<String, Document> documents = new HashMap<>();
+
+    private final Map<String, Set<String>> postings = new HashMap<>();
+
+    public RechercheIndex(CoursRepository coursRepository, CoursMapper coursMapper,
+                          PersonnelRepository personnelRepository, PersonnelMapper personnelMapper,
+                          SalleCatalogue salleCatalogue) {
+        this.coursRepository = coursRepository;
+        this.coursMapper = coursMapper;
+        this.personnelRepository = personnelRepository;
+        this.personnelMapper = personnelMapper;
+        this.salleCatalogue = salleCatalogue;
+    }
+
+    /**
+     * Un champ texte normalisé et son poids dans le classement.
+     */
+    private record Champ(String texte, double poids) {
+    }
+
+    private record Document(Type type, String code, String libelle, List<Champ> champs, Set<String> trigrammes) {
+    }
+
+    @PostConstruct
+    public void charger() {
+        salleCatalogue.toutes().forEach(this::indexerSalle);
+        coursRepository.findAll().forEach(cours -> indexerCours(coursMapper.toDTO(cours)));
+        personnelRepository.findAll().forEach(personnel -> indexerPersonnel(personnelMapper.toDTO(personnel)));
+        salleCatalogue.observer(codeSalle -> {
+            SalleDTO salle = salleCatalogue.get(codeSalle);
+            if (salle == null) {
+                retirer(Type.SALLE, codeSalle);
+            } else {
+                indexerSalle(salle);
+            }
+        });
+        log.info("Index de recherche chargé: {} documents, {} trigrammes", documents.size(), postings.size());
+    }
+
+    public void indexerSalle(SalleDTO salle) {
+        indexer(Type.SALLE, salle.getCodeSalle(), salle.getDescSalle(),
+                new Champ(salle.getDescSalle(), 1.0), new Champ(salle.getCodeSalle(), 0.8));
+    }
+
+    public void indexerCours(CoursDTO cours) {
+        indexer(Type.COURS, cours.getCodeCours(), cours.getLabelCours(),
+                new Champ(cours.getLabelCours(), 1.0), new Champ(cours.getCodeCours(), 0.8),
+                new Champ(cours.getDescCours(), 0.5));
+    }
+
+    public void indexerPersonnel(PersonnelDTO personnel) {
+        indexer(Type.PERSONNEL, personnel.getCodePersonnel(), personnel.getNomPersonnel(),
+                new Champ(personnel.getNomPersonnel(), 1.0), new Champ(personnel.getLoginPersonnel(), 0.8),
+                new Champ(personnel.getCodePersonnel(), 0.6));
+    }
+
+    private void indexer(Type type, String code, String libelle, Champ... bruts) {
+        if (code == null) {
+            return;
+        }
+        List<Champ> champs = new ArrayList<>();
+        Set<String> trigrammes = new HashSet<>();
+        for (Champ brut : bruts) {
+            String texte = normaliser(brut.texte());
+            if (!texte.isEmpty()) {
+                champs.add(new Champ(texte, brut.poids()));
+                for (String mot : texte.split(" ")) {
+                    ajouterTrigrammes(mot, trigrammes);
+                }
+            }
+        }
+        Document document = new Document(type, code, libelle, champs, trigrammes);
+        verrou.writeLock().lock();
+        try {
+            desindexer(documents.put(cle(type, code), document));
+            for (String trigramme : trigrammes) {
+                postings.computeIfAbsent(trigramme, t -> new HashSet<>()).add(cle(type, code));
+            }
+        } finally {
+            verrou.writeLock().unlock();
+        }
+    }
+
+    public void retirer(Type type, String code) {
+        verrou.writeLock().lock();
+        try {
+            desindexer(documents.remove(cle(type, code)));
+        } finally {
+            verrou.writeLock().unlock();
+        }
+    }
+
+    private void desindexer(Document document) {
+        if (document == null) {
+            return;
+        }
+        String cle = cle(document.type(), document.code());
+        for (String trigramme : document.trigrammes()) {
+            Set<String> cles = postings.get(trigramme);
+            if (cles != null) {
+                cles.remove(cle);
+                if (cles.isEmpty()) {
+                    postings.remove(trigramme);
+                }
+            }
+        }
+    }
+
+    /**
+     * Documents classés par pertinence: part des trigrammes de la requête retrouvés,
+     * bonus quand un mot commence par (ou est égal à) un mot de la requête, pondéré par le champ.
+     */
+    public List<ResultatRechercheDTO> rechercher(String requete, Type type, int limite) {
+        String texte = normaliser(requete);
+        if (texte.isEmpty()) {
+            return List.of();
+        }
+        String[] mots = texte.split(" ");
+        Set<String> trigrammesRequete = new LinkedHashSet<>();
+        for (String mot : mots) {
+            ajouterTrigrammes(mot, trigrammesRequete);
+        }
+
+        List<ResultatRechercheDTO> resultats = new ArrayList<>();
+        verrou.readLock().lock();
+        try {
+            Map<String, Integer> occurrences = new HashMap<>();
+            for (String trigramme : trigrammesRequete) {
+                Set<String> cles = postings.get(trigramme);
+                if (cles != null) {
+                    for (String cle : cles) {
+                        occurrences.merge(cle, 1, Integer::sum);
+                    }
+                }
+            }
+            for (Map.Entry<String, Integer> entree : occurrences.entrySet()) {
+                double couverture = entree.getValue() / (double) trigrammesRequete.size();
+                if (couverture < COUVERTURE_MIN) {
+                    continue;
+                }
+                Document document = documents.get(entree.getKey());
+                if (type != null && document.type() != type) {
+                    continue;
+                }
+                resultats.add(new ResultatRechercheDTO(document.type().name().toLowerCase(Locale.ROOT),
+                        document.code(), document.libelle(), score(document, mots, couverture)));
+            }
+        } finally {
+            verrou.readLock().unlock();
+        }
+        resultats.sort((a, b) -> a.getScore() != b.getScore()
+                ? Double.compare(b.getScore(), a.getScore())
+                : Integer.compare(longueur(a.getLibelle()), longueur(b.getLibelle())));
+        return resultats.size() > limite ? new ArrayList<>(resultats.subList(0, limite)) : resultats;
+    }
+
+    private static double score(Document document, String[] mots, double couverture) {
+        double bonus = 0;
+        for (String mot : mots) {
+            double meilleur = 0;
+            for (Champ champ : document.champs()) {
+                String texte = " " + champ.texte() + " ";
+                double valeur = texte.contains(" " + mot + " ") ? 1.0
+                        : texte.contains(" " + mot) ? 0.7
+                        : texte.contains(mot) ? 0.4 : 0;
+                meilleur = Math.max(meilleur, valeur * champ.poids());
+            }
+            bonus += meilleur;
+        }
+        return Math.round((couverture + bonus / mots.length) * 1000) / 1000.0;
+    }
+
+    private static int longueur(String libelle) {
+        return libelle == null ? Integer.MAX_VALUE : libelle.length();
+    }
+
+    private static void ajouterTrigrammes(String mot, Set<String> trigrammes) {
+        if (mot.isEmpty()) {
+            return;
+        }
+        String borne = "  " + mot;
+        for (int i = 0; i + 3 <= borne.length(); i++) {
+            trigrammes.add(borne.substring(i, i + 3));
+        }
+    }
+
+    // "Élève-Ingénieur" -> "eleve ingenieur"
+    public static String normaliser(String texte) {
+        if (texte == null) {
+            return "";
+        }
+        String sansAccents = DIACRITIQUES.matcher(Normalizer.normalize(texte, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARATEURS.matcher(sansAccents.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    private static String cle(Type type, String code) {
+        return type.ordinal() + ":" + code;
+    }
+
+    public int taille() {
+        verrou.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            verrou.readLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.suivi_academique.index;
+
+import com.suivi_academique.entities.Programmation;
+import com.suivi_academique.repositories.ProgrammationRepository;
+import com.suivi_academique.utils.StatutProgrammation;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Index en mémoire des créneaux réservés, une liste triée par salle.
+ * Permet de détecter les doubles réservations sans interroger la base.
+ */
+@Slf4j
+@Component
+public class ReservationSalleIndex {
+
+    private final ProgrammationRepository programmationRepository;
+
+    private final Map<String, PlanningSalle> plannings = new ConcurrentHashMap<>();
+
+    private final Map<Integer, Creneau> creneauxParId = new ConcurrentHashMap<>();
+
+    // Structures dérivées (bitmaps de disponibilité...) prévenues de chaque créneau ajouté ou retiré
+    private final List<Consumer<Creneau>> observateurs = new CopyOnWriteArrayList<>();
+
+    public ReservationSalleIndex(ProgrammationRepository programmationRepository) {
+        this.programmationRepository = programmationRepository;
+    }
+
+    /**
+     * Créneau réservé [debut, fin[ exprimé en millisecondes.
+     */
+    public record Creneau(int id, String codeSalle, long debut, long fin) {
+    }
+
+    @PostConstruct
+    public void charger() {
+        plannings.clear();
+        creneauxParId.clear();
+        List<Programmation> programmations = programmationRepository.findAllWithDetails();
+        programmations.forEach(this::indexer);
+        log.info("Index des réservations chargé: {} créneaux sur {} salles", creneauxParId.size(), plannings.size());
+    }
+
+    public void observer(Consumer<Creneau> observateur) {
+        observateurs.add(observateur);
+    }
+
+    // Une programmation refusée ne bloque pas la salle
+    public static boolean occupeLaSalle(StatutProgrammation statut) {
+        return statut != StatutProgrammation.NON_VALIDER;
+    }
+
+    /**
+     * (Ré)indexe une programmation après écriture: l'ancien créneau est retiré,
+     * le nouveau ajouté s'il occupe encore la salle.
+     */
+    public void indexer(Programmation programmation) {
+        retirer(programmation.getId());
+        if (programmation.getSalle() == null
+                || programmation.getDateProgrammation() == null
+                || programmation.getFinProgrammation() == null
+                || !occupeLaSalle(programmation.getStatutProgrammation())) {
+            return;
+        }
+        enregistrer(new Creneau(programmation.getId(), programmation.getSalle().getCodeSalle(),
+                programmation.getDateProgrammation().getTime(), programmation.getFinProgrammation().getTime()));
+    }
+
+    public void enregistrer(Creneau creneau) {
+        Creneau precedent = creneauxParId.put(creneau.id(), creneau);
+        if (precedent != null) {
+            planning(precedent.codeSalle()).retirer(precedent);
+            notifier(precedent);
+        }
+        planning(creneau.codeSalle()).ajouter(creneau);
+        notifier(creneau);
+    }
+
+    public void retirer(int id) {
+        Creneau creneau = creneauxParId.remove(id);
+        if (creneau != null) {
+            planning(creneau.codeSalle()).retirer(creneau);
+            notifier(creneau);
+        }
+    }
+
+    private void notifier(Creneau creneau) {
+        for (Consumer<Creneau> observateur : observateurs) {
+            observateur.accept(creneau);
+        }
+    }
+
+    /**
+     * Créneaux de la salle qui chevauchent [debut, fin[, hors programmation idExclu.
+     */
+    public List<Creneau> conflits(String codeSalle, Date debut, Date fin, Integer idExclu) {
+        return conflits(codeSalle, debut.getTime(), fin.getTime(), idExclu);
+    }
+
+    public List<Creneau> conflits(String codeSalle, long debut, long fin, Integer idExclu) {
+        PlanningSalle planning = plannings.get(codeSalle);
+        if (planning == null) {
+            return List.of();
+        }
+        return planning.chevauchements(debut, fin, idExclu);
+    }
+
+    public boolean estLibre(String codeSalle, Date debut, Date fin) {
+        return conflits(codeSalle, debut, fin, null).isEmpty();
+    }
+
+    public Creneau creneau(int id) {
+        return creneauxParId.get(id);
+    }
+
+    public Collection<Creneau> creneaux() {
+        return creneauxParId.values();
+    }
+
+    public int taille() {
+        return creneauxParId.size();
+    }
+
+    private PlanningSalle planning(String codeSalle) {
+        return plannings.computeIfAbsent(codeSalle, code -> new PlanningSalle());
+    }
+
+    /**
+     * Créneaux d'une salle triés par début. La durée maximale observée borne la
+     * recherche vers la gauche: seuls les créneaux commençant dans
+     * [debut - dureeMax, fin[ peuvent chevaucher, d'où un coût O(log n + k).
+     */
+    private static final class PlanningSalle {
+
+        private static final Comparator<Creneau> ORDRE =
+                Comparator.comparingLong(Creneau::debut).thenComparingInt(Creneau::id);
+
+        private final TreeSet<Creneau> creneaux = new TreeSet<>(ORDRE);
+
+        private long dureeMax;
+
+        synchronized void ajouter(Creneau creneau) {
+            creneaux.add(creneau);
+            dureeMax = Math.max(dureeMax, creneau.fin() - creneau.debut());
+        }
+
+        synchronized void retirer(Creneau creneau) {
+            creneaux.remove(creneau);
+        }
+
+        synchronized List<Creneau> chevauchements(long debut, long fin, Integer idExclu) {
+            List<Creneau> resultat = new ArrayList<>();
+            if (creneaux.isEmpty() || fin <= debut) {
+                return resultat;
+            }
+            Creneau borneBasse = new Creneau(Integer.MIN_VALUE, null, debut - dureeMax, 0);
+            Creneau borneHaute = new Creneau(Integer.MIN_VALUE, null, fin, 0);
+            for (Creneau creneau : creneaux.subSet(borneBasse, true, borneHaute, false)) {
+                if (creneau.fin() > debut && (idExclu == null || creneau.id() != idExclu)) {
+                    resultat.add(creneau);
+                }
+            }
+            return resultat;
+        }
+    }
+}
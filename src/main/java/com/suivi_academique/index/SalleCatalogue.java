@@ -0,0 +1,124 @@
+package com.suivi_academique.index;
+
+import com.suivi_academique.dto.SalleDTO;
+import com.suivi_academique.entities.Salle;
+import com.suivi_academique.mappers.SalleMapper;
+import com.suivi_academique.repositories.SalleRepository;
+import com.suivi_academique.utils.SalleStatus;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Copie en mémoire des salles (quelques centaines), tenue à jour par SalleService.
+ * Les salles sont aussi rangées par contenance croissante, globalement et par statut,
+ * pour servir les recherches "au moins N places" sans parcourir tout le catalogue.
+ */
+@Slf4j
+@Component
+public class SalleCatalogue {
+
+    private final SalleRepository salleRepository;
+    private final SalleMapper salleMapper;
+
+    static final Comparator<SalleDTO> PAR_CONTENANCE =
+            Comparator.comparingInt(SalleDTO::getContenace).thenComparing(SalleDTO::getCodeSalle);
+
+    private final Map<String, SalleDTO> salles = new ConcurrentHashMap<>();
+
+    private final NavigableSet<SalleDTO> parContenance = new ConcurrentSkipListSet<>(PAR_CONTENANCE);
+
+    // Une salle sans statut n'apparaît que dans parContenance
+    private final Map<SalleStatus, NavigableSet<SalleDTO>> parStatut = new EnumMap<>(SalleStatus.class);
+
+    // Prévenus du code de chaque salle ajoutée, modifiée ou retirée (statut courant...)
+    private final List<Consumer<String>> observateurs = new CopyOnWriteArrayList<>();
+
+    public SalleCatalogue(SalleRepository salleRepository, SalleMapper salleMapper) {
+        this.salleRepository = salleRepository;
+        this.salleMapper = salleMapper;
+        for (SalleStatus statut : SalleStatus.values()) {
+            parStatut.put(statut, new ConcurrentSkipListSet<>(PAR_CONTENANCE));
+        }
+    }
+
+    @PostConstruct
+    public void charger() {
+        salles.clear();
+        parContenance.clear();
+        parStatut.values().forEach(NavigableSet::clear);
+        salleRepository.findAll().forEach(this::mettreAJour);
+        log.info("Catalogue des salles chargé: {} salles", salles.size());
+    }
+
+    public void observer(Consumer<String> observateur) {
+        observateurs.add(observateur);
+    }
+
+    // Écritures sérialisées pour que la table et les ensembles triés restent cohérents
+    public synchronized void mettreAJour(Salle salle) {
+        SalleDTO salleDTO = salleMapper.toDTO(salle);
+        desindexer(salles.put(salle.getCodeSalle(), salleDTO));
+        parContenance.add(salleDTO);
+        if (salleDTO.getStatutSalle() != null) {
+            parStatut.get(salleDTO.getStatutSalle()).add(salleDTO);
+        }
+        notifier(salleDTO.getCodeSalle());
+    }
+
+    public synchronized void retirer(String codeSalle) {
+        desindexer(salles.remove(codeSalle));
+        notifier(codeSalle);
+    }
+
+    private void notifier(String codeSalle) {
+        for (Consumer<String> observateur : observateurs) {
+            observateur.accept(codeSalle);
+        }
+    }
+
+    private void desindexer(SalleDTO precedente) {
+        if (precedente == null) {
+            return;
+        }
+        parContenance.remove(precedente);
+        if (precedente.getStatutSalle() != null) {
+            parStatut.get(precedente.getStatutSalle()).remove(precedente);
+        }
+    }
+
+    public SalleDTO get(String codeSalle) {
+        return salles.get(codeSalle);
+    }
+
+    public Collection<SalleDTO> toutes() {
+        return salles.values();
+    }
+
+    /**
+     * Salles d'au moins contenanceMin places, de la plus petite à la plus grande,
+     * restreintes à un statut saisi s'il est donné. Vue en lecture seule, parcourue sans copie.
+     * Seul FERMER y est fiable: OCCUPE/LIBRE courants viennent de StatutSalleMoteur.
+     */
+    public NavigableSet<SalleDTO> parContenance(int contenanceMin, SalleStatus statut) {
+        NavigableSet<SalleDTO> ensemble = statut == null ? parContenance : parStatut.get(statut);
+        return Collections.unmodifiableNavigableSet(ensemble.tailSet(borne(contenanceMin), true));
+    }
+
+    private static SalleDTO borne(int contenanceMin) {
+        // Code vide: précède toute salle de même contenance
+        return new SalleDTO("", null, contenanceMin, null);
+    }
+}
@@ -0,0 +1,218 @@
+package com.suivi_academique.index;
+
+import com.suivi_academique.dto.SalleDTO;
+import com.suivi_academique.events.StatutSalleChangeEvent;
+import com.suivi_academique.utils.SalleStatus;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Statut courant des salles, dérivé des créneaux réservés plutôt que saisi à la main.
+ * Chaque début et fin de créneau est une échéance dans une DelayQueue; à l'échéance,
+ * la salle est réévaluée depuis ReservationSalleIndex. Les échéances sont suivies par
+ * créneau: un créneau déplacé ou supprimé retire les siennes de la file, qui ne garde
+ * donc que celles des créneaux à venir. Le statut FERMER
+ * saisi sur la salle reste une fermeture manuelle prioritaire. Les transitions sont
+ * publiées en StatutSalleChangeEvent.
+ */
+@Slf4j
+@Component
+public class StatutSalleMoteur {
+
+    private final ReservationSalleIndex reservationSalleIndex;
+    private final SalleCatalogue salleCatalogue;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final DelayQueue<Echeance> echeances = new DelayQueue<>();
+
+    // Échéances en file par id de créneau, pour les retirer quand le créneau change
+    private final Map<Integer, List<Echeance>> echeancesParCreneau = new HashMap<>();
+
+    private final Map<String, EtatSalle> etats = new ConcurrentHashMap<>();
+
+    private Thread horloge;
+
+    public StatutSalleMoteur(ReservationSalleIndex reservationSalleIndex, SalleCatalogue salleCatalogue,
+                             ApplicationEventPublisher eventPublisher) {
+        this.reservationSalleIndex = reservationSalleIndex;
+        this.salleCatalogue = salleCatalogue;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Statut d'une salle à un instant: depuis quand, et le cours qui l'occupe le cas échéant.
+     */
+    public record EtatSalle(String codeSalle, SalleStatus statut, long depuis, Integer programmation, Long jusqua) {
+    }
+
+    // Une salle fermée ou sans statut ne peut pas être réservée; OCCUPE/LIBRE relèvent des créneaux
+    public static boolean estReservable(SalleStatus statutSaisi) {
+        return statutSaisi != null && statutSaisi != SalleStatus.FERMER;
+    }
+
+    @PostConstruct
+    public void demarrer() {
+        long maintenant = System.currentTimeMillis();
+        for (SalleDTO salle : salleCatalogue.toutes()) {
+            evaluer(salle.getCodeSalle(), maintenant);
+        }
+        for (ReservationSalleIndex.Creneau creneau : reservationSalleIndex.creneaux()) {
+            planifier(creneau, maintenant);
+        }
+        reservationSalleIndex.observer(creneau -> {
+            long instant = System.currentTimeMillis();
+            // Notifié aussi pour l'ancienne version d'un créneau déplacé et pour un créneau retiré
+            if (creneau.equals(reservationSalleIndex.creneau(creneau.id()))) {
+                planifier(creneau, instant);
+            } else {
+                annuler(creneau.id());
+            }
+            evaluer(creneau.codeSalle(), instant);
+        });
+        salleCatalogue.observer(codeSalle -> evaluer(codeSalle, System.currentTimeMillis()));
+
+        horloge = new Thread(this::boucler, "statut-salles");
+        horloge.setDaemon(true);
+        horloge.start();
+        log.info("Moteur de statut des salles démarré: {} salles, {} échéances", etats.size(), echeances.size());
+    }
+
+    @PreDestroy
+    public void arreter() {
+        if (horloge != null) {
+            horloge.interrupt();
+        }
+    }
+
+    private void boucler() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                Echeance echeance = echeances.take();
+                oublier(echeance);
+                evaluer(echeance.codeSalle(), System.currentTimeMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                // Un observateur en échec ne doit pas arrêter l'horloge
+                log.error("Échec de la mise à jour du statut des salles", e);
+            }
+        }
+    }
+
+    private void planifier(ReservationSalleIndex.Creneau creneau, long maintenant) {
+        List<Echeance> aVenir = new ArrayList<>(2);
+        if (creneau.debut() > maintenant) {
+            aVenir.add(new Echeance(creneau.debut(), creneau.id(), creneau.codeSalle()));
+        }
+        if (creneau.fin() > maintenant) {
+            aVenir.add(new Echeance(creneau.fin(), creneau.id(), creneau.codeSalle()));
+        }
+        synchronized (echeancesParCreneau) {
+            annuler(creneau.id());
+            if (!aVenir.isEmpty()) {
+                echeancesParCreneau.put(creneau.id(), aVenir);
+                echeances.addAll(aVenir);
+            }
+        }
+    }
+
+    private void annuler(int idCreneau) {
+        synchronized (echeancesParCreneau) {
+            List<Echeance> caduques = echeancesParCreneau.remove(idCreneau);
+            if (caduques != null) {
+                caduques.forEach(echeances::remove);
+            }
+        }
+    }
+
+    private void oublier(Echeance echeance) {
+        synchronized (echeancesParCreneau) {
+            List<Echeance> restantes = echeancesParCreneau.get(echeance.idCreneau());
+            if (restantes != null && restantes.remove(echeance) && restantes.isEmpty()) {
+                echeancesParCreneau.remove(echeance.idCreneau());
+            }
+        }
+    }
+
+    /**
+     * Recalcule le statut de la salle à l'instant donné et publie la transition s'il a changé.
+     * Sérialisé pour que les transitions d'une salle soient publiées dans l'ordre.
+     */
+    public synchronized EtatSalle evaluer(String codeSalle, long maintenant) {
+        SalleDTO salle = salleCatalogue.get(codeSalle);
+        EtatSalle precedent;
+        EtatSalle etat = null;
+        if (salle == null) {
+            precedent = etats.remove(codeSalle);
+        } else {
+            etat = calculer(codeSalle, salle.getStatutSalle(), maintenant);
+            precedent = etats.get(codeSalle);
+            if (precedent != null && precedent.statut() == etat.statut()) {
+                // Même statut: on garde "depuis", mais le cours en cours a pu changer (cours enchaînés)
+                etat = new EtatSalle(codeSalle, etat.statut(), precedent.depuis(), etat.programmation(), etat.jusqua());
+            }
+            etats.put(codeSalle, etat);
+        }
+        SalleStatus ancien = precedent == null ? null : precedent.statut();
+        SalleStatus nouveau = etat == null ? null : etat.statut();
+        if (ancien != nouveau && nouveau != null) {
+            eventPublisher.publishEvent(new StatutSalleChangeEvent(codeSalle, ancien, nouveau, maintenant));
+        }
+        return etat;
+    }
+
+    private EtatSalle calculer(String codeSalle, SalleStatus statutSaisi, long maintenant) {
+        if (statutSaisi == SalleStatus.FERMER) {
+            return new EtatSalle(codeSalle, SalleStatus.FERMER, maintenant, null, null);
+        }
+        List<ReservationSalleIndex.Creneau> enCours = reservationSalleIndex.conflits(codeSalle, maintenant, maintenant + 1, null);
+        if (enCours.isEmpty()) {
+            return new EtatSalle(codeSalle, SalleStatus.LIBRE, maintenant, null, null);
+        }
+        ReservationSalleIndex.Creneau dernier = enCours.get(0);
+        for (ReservationSalleIndex.Creneau creneau : enCours) {
+            if (creneau.fin() > dernier.fin()) {
+                dernier = creneau;
+            }
+        }
+        return new EtatSalle(codeSalle, SalleStatus.OCCUPE, maintenant, dernier.id(), dernier.fin());
+    }
+
+    public EtatSalle etat(String codeSalle) {
+        return etats.get(codeSalle);
+    }
+
+    public Collection<EtatSalle> etats() {
+        return new ArrayList<>(etats.values());
+    }
+
+    public int echeancesEnAttente() {
+        return echeances.size();
+    }
+
+    private record Echeance(long instant, int idCreneau, String codeSalle) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(instant - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed autre) {
+            return Long.compare(instant, ((Echeance) autre).instant);
+        }
+    }
+}
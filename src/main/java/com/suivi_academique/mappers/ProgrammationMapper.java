@@ -1,6 +1,7 @@
 package com.suivi_academique.mappers;
 
 import com.suivi_academique.dto.ProgrammationDTO;
+import com.suivi_academique.dto.ProgrammationProjection;
 import com.suivi_academique.dto.SalleDTO;
 import com.suivi_academique.dto.CoursDTO;
 import com.suivi_academique.dto.PersonnelDTO;
@@ -29,6 +30,7 @@ public class ProgrammationMapper {
         dto.setDateProgrammation(programmation.getDateProgrammation());
         dto.setFinProgrammation(programmation.getFinProgrammation());
         dto.setStatutProgrammation(programmation.getStatutProgrammation());
+        dto.setVersion(programmation.getVersion());
 
         // Relations complexes (Mapping des Entités vers les DTOs)
         dto.setCours(coursMapper.toDTO(programmation.getCours()));
@@ -36,7 +38,38 @@ public class ProgrammationMapper {
 
         // Deux instances de Personnel (Personnel Prog et Personnel Val)
         dto.setPersonnelProg(personnelMapper.toDTO(programmation.getPersonnelProg()));
-        dto.setPersonnelVal(personnelMapper.toDTO(programmation.getPersonnelVal()));
+        // Le personnel validateur n'est renseigné qu'après validation
+        if (programmation.getPersonnelVal() != null) {
+            dto.setPersonnelVal(personnelMapper.toDTO(programmation.getPersonnelVal()));
+        }
+
+        return dto;
+    }
+
+    public ProgrammationDTO toDTO(ProgrammationProjection projection) {
+        ProgrammationDTO dto = new ProgrammationDTO();
+
+        dto.setId(projection.getId());
+        dto.setNbHeure(projection.getNbHeure());
+        dto.setDateProgrammation(projection.getDateProgrammation());
+        dto.setFinProgrammation(projection.getFinProgrammation());
+        dto.setStatutProgrammation(projection.getStatutProgrammation());
+        dto.setVersion(projection.getVersion());
+
+        dto.setSalle(new SalleDTO(projection.getCodeSalle(), projection.getDescSalle(),
+                projection.getContenance(), projection.getStatutSalle()));
+        // Même ordre d'arguments que CoursMapper.toDTO, pour des réponses identiques
+        dto.setCours(new CoursDTO(projection.getCodeCours(), projection.getLabelCours(), projection.getDescCours(),
+                projection.getNbHeureCours(), projection.getNbCreditCours()));
+
+        dto.setPersonnelProg(new PersonnelDTO(projection.getCodePersonnelProg(), projection.getNomPersonnelProg(),
+                projection.getLoginPersonnelProg(), null, projection.getSexePersonnelProg(),
+                projection.getPhonePersonnelProg(), projection.getRolePersonnelProg()));
+        if (projection.getCodePersonnelVal() != null) {
+            dto.setPersonnelVal(new PersonnelDTO(projection.getCodePersonnelVal(), projection.getNomPersonnelVal(),
+                    projection.getLoginPersonnelVal(), null, projection.getSexePersonnelVal(),
+                    projection.getPhonePersonnelVal(), projection.getRolePersonnelVal()));
+        }
 
         return dto;
     }
@@ -49,7 +82,8 @@ public class ProgrammationMapper {
 
         // Conversion des deux instances de Personnel
         Personnel personnelProg = personnelMapper.toEntity(programmationDTO.getPersonnelProg());
-        Personnel personnelVal = personnelMapper.toEntity(programmationDTO.getPersonnelVal());
+        Personnel personnelVal = programmationDTO.getPersonnelVal() != null
+                ? personnelMapper.toEntity(programmationDTO.getPersonnelVal()) : null;
 
         // Création de l'entité Programmation
         // NOTE: Si vous n'avez pas de constructeur spécifique, utilisez le constructeur
@@ -65,7 +99,8 @@ public class ProgrammationMapper {
                 salle,
                 cours,
                 personnelProg,
-                personnelVal
+                personnelVal,
+                programmationDTO.getVersion() != null ? programmationDTO.getVersion() : 0
                 // Ajoutez ici toutes les autres listes de relations @OneToMany si elles existent
         );
     }
@@ -0,0 +1,419 @@
+package com.suivi_academique.planification;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Placement de séances sur des créneaux discrets (salle, enseignant, créneau), sans chevauchement
+ * de salle, d'enseignant ni de cours. Chaque worker construit une solution gloutonne aléatoire puis
+ * l'améliore par recherche locale jusqu'à l'échéance; la meilleure solution des workers est retenue.
+ * <p>
+ * Critères, dans l'ordre: nombre de séances placées, puis pénalité (séances d'un même cours
+ * placées le même jour). La classe ne dépend ni de Spring ni de JPA; les workers tournent sur
+ * l'exécuteur fourni par l'appelant.
+ */
+public final class PlanificateurEmploiDuTemps {
+
+    public static final int NON_PLACEE = -1;
+
+    // Occupant d'une salle sur un créneau déjà réservé hors planification
+    private static final int RESERVEE = -2;
+
+    private PlanificateurEmploiDuTemps() {
+    }
+
+    /**
+     * Séance à placer: un cours, sa durée en heures et les enseignants pouvant l'assurer.
+     */
+    public record Seance(int cours, int heures, int[] enseignants) {
+    }
+
+    /**
+     * Données du problème, en lecture seule pour les workers. Les salles sont supposées triées
+     * par contenance croissante: la première salle libre est la plus petite qui convient.
+     */
+    public static final class Probleme {
+
+        final int[] jourCreneau;
+        final int nbSalles;
+        final int nbEnseignants;
+        final int nbCours;
+        final List<Seance> seances;
+        final boolean[][] salleReservee;
+        final boolean[][] enseignantReserve;
+        final boolean[][] coursReserve;
+
+        public Probleme(int[] jourCreneau, int nbSalles, int nbEnseignants, int nbCours, List<Seance> seances) {
+            this.jourCreneau = jourCreneau;
+            this.nbSalles = nbSalles;
+            this.nbEnseignants = nbEnseignants;
+            this.nbCours = nbCours;
+            this.seances = seances;
+            this.salleReservee = new boolean[nbSalles][jourCreneau.length];
+            this.enseignantReserve = new boolean[nbEnseignants][jourCreneau.length];
+            this.coursReserve = new boolean[nbCours][jourCreneau.length];
+        }
+
+        // Occupations existantes (programmations déjà enregistrées), à renseigner avant la résolution
+        public void reserverSalle(int salle, int creneau) {
+            salleReservee[salle][creneau] = true;
+        }
+
+        public void reserverEnseignant(int enseignant, int creneau) {
+            enseignantReserve[enseignant][creneau] = true;
+        }
+
+        public void reserverCours(int cours, int creneau) {
+            coursReserve[cours][creneau] = true;
+        }
+
+        public int nbCreneaux() {
+            return jourCreneau.length;
+        }
+
+        /**
+         * Séances qu'aucun créneau ne peut accueillir au vu des seules réservations existantes
+         * (aucun enseignant, ou jamais à la fois cours, enseignant et salle libres): la recherche
+         * s'arrête dès que seules celles-ci restent non placées.
+         */
+        int implacables() {
+            boolean[] salleLibre = new boolean[jourCreneau.length];
+            for (int t = 0; t < jourCreneau.length; t++) {
+                for (int r = 0; r < nbSalles && !salleLibre[t]; r++) {
+                    salleLibre[t] = !salleReservee[r][t];
+                }
+            }
+            int implacables = 0;
+            for (Seance seance : seances) {
+                boolean possible = false;
+                for (int t = 0; t < jourCreneau.length && !possible; t++) {
+                    if (!salleLibre[t] || coursReserve[seance.cours()][t]) {
+                        continue;
+                    }
+                    for (int e : seance.enseignants()) {
+                        if (!enseignantReserve[e][t]) {
+                            possible = true;
+                            break;
+                        }
+                    }
+                }
+                if (!possible) {
+                    implacables++;
+                }
+            }
+            return implacables;
+        }
+    }
+
+    /**
+     * Affectation retenue par séance (NON_PLACEE si la séance n'a pas pu être placée).
+     */
+    public record Resultat(int[] creneau, int[] salle, int[] enseignant, int placees, int penalite,
+                           long iterations, int workers) {
+    }
+
+    public static Resultat resoudre(Probleme probleme, long budgetMs, int workers, long graine,
+                                    ExecutorService executeur) {
+        long echeance = System.nanoTime() + budgetMs * 1_000_000L;
+        int implacables = probleme.implacables();
+        List<Callable<Resultat>> taches = new ArrayList<>();
+        for (int i = 0; i < workers; i++) {
+            long graineWorker = graine + i * 0x9E3779B97F4A7C15L;
+            taches.add(() -> new Recherche(probleme, new Random(graineWorker)).executer(echeance, implacables));
+        }
+        try {
+            Resultat meilleur = null;
+            long iterations = 0;
+            for (Future<Resultat> future : executeur.invokeAll(taches)) {
+                Resultat resultat = future.get();
+                iterations += resultat.iterations();
+                if (meilleur == null || COMPARAISON.compare(resultat, meilleur) > 0) {
+                    meilleur = resultat;
+                }
+            }
+            return new Resultat(meilleur.creneau(), meilleur.salle(), meilleur.enseignant(),
+                    meilleur.placees(), meilleur.penalite(), iterations, workers);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Planification interrompue.");
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Échec de la planification: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    private static final Comparator<Resultat> COMPARAISON = Comparator.comparingInt(Resultat::placees)
+            .thenComparing(Comparator.comparingInt(Resultat::penalite).reversed());
+
+    /**
+     * État mutable d'un worker: occupations courantes et affectation de chaque séance.
+     */
+    private static final class Recherche {
+
+        private final Probleme probleme;
+        private final Random random;
+        private final int nbCreneaux;
+
+        private final int[][] occupantSalle;
+        private final boolean[][] enseignantOccupe;
+        private final boolean[][] coursOccupe;
+        private final int[][] seancesParJour;
+
+        private final int[] creneau;
+        private final int[] salle;
+        private final int[] enseignant;
+
+        // Ensemble des séances non placées, tirage aléatoire en O(1)
+        private final int[] nonPlacees;
+        private final int[] positionNonPlacee;
+        private int nbNonPlacees;
+
+        private int penalite;
+        private long iterations;
+
+        private int[] meilleurCreneau;
+        private int[] meilleureSalle;
+        private int[] meilleurEnseignant;
+        private int meilleuresPlacees = -1;
+        private int meilleurePenalite;
+
+        Recherche(Probleme probleme, Random random) {
+            this.probleme = probleme;
+            this.random = random;
+            this.nbCreneaux = probleme.nbCreneaux();
+            int nbSeances = probleme.seances.size();
+            int nbJours = nbCreneaux == 0 ? 0 : probleme.jourCreneau[nbCreneaux - 1] + 1;
+
+            occupantSalle = new int[probleme.nbSalles][nbCreneaux];
+            for (int r = 0; r < probleme.nbSalles; r++) {
+                for (int t = 0; t < nbCreneaux; t++) {
+                    occupantSalle[r][t] = probleme.salleReservee[r][t] ? RESERVEE : NON_PLACEE;
+                }
+            }
+            enseignantOccupe = copie(probleme.enseignantReserve);
+            coursOccupe = copie(probleme.coursReserve);
+            seancesParJour = new int[probleme.nbCours][nbJours];
+
+            creneau = new int[nbSeances];
+            salle = new int[nbSeances];
+            enseignant = new int[nbSeances];
+            nonPlacees = new int[nbSeances];
+            positionNonPlacee = new int[nbSeances];
+            for (int s = 0; s < nbSeances; s++) {
+                creneau[s] = NON_PLACEE;
+                salle[s] = NON_PLACEE;
+                enseignant[s] = NON_PLACEE;
+                nonPlacees[s] = s;
+                positionNonPlacee[s] = s;
+            }
+            nbNonPlacees = nbSeances;
+        }
+
+        Resultat executer(long echeance, int implacables) {
+            construire();
+            memoriserSiMeilleur();
+            if (nbCreneaux > 0) {
+                while (nbNonPlacees > implacables || penalite > 0) {
+                    if ((++iterations & 0xFF) == 0 && System.nanoTime() >= echeance) {
+                        break;
+                    }
+                    if (nbNonPlacees > 0 && random.nextBoolean()) {
+                        placerParEjection(nonPlacees[random.nextInt(nbNonPlacees)]);
+                    } else {
+                        deplacer(random.nextInt(probleme.seances.size()));
+                    }
+                    memoriserSiMeilleur();
+                }
+            }
+            return new Resultat(meilleurCreneau, meilleureSalle, meilleurEnseignant,
+                    meilleuresPlacees, meilleurePenalite, iterations, 1);
+        }
+
+        // Glouton: séances les plus contraintes (moins d'enseignants possibles) d'abord, ex aequo mélangés
+        private void construire() {
+            List<Integer> ordre = new ArrayList<>();
+            for (int s = 0; s < probleme.seances.size(); s++) {
+                ordre.add(s);
+            }
+            Collections.shuffle(ordre, random);
+            ordre.sort(Comparator.comparingInt(s -> probleme.seances.get(s).enseignants().length));
+            for (int s : ordre) {
+                placerAuMieux(s);
+            }
+        }
+
+        /**
+         * Place la séance sur un créneau libre, de préférence un jour où son cours n'a pas encore lieu.
+         */
+        private boolean placerAuMieux(int s) {
+            if (nbCreneaux == 0) {
+                return false;
+            }
+            Seance seance = probleme.seances.get(s);
+            int repliCreneau = NON_PLACEE;
+            int repliSalle = NON_PLACEE;
+            int repliEnseignant = NON_PLACEE;
+            int depart = random.nextInt(nbCreneaux);
+            for (int k = 0; k < nbCreneaux; k++) {
+                int t = (depart + k) % nbCreneaux;
+                if (coursOccupe[seance.cours()][t]) {
+                    continue;
+                }
+                int e = enseignantLibre(seance, t);
+                if (e == NON_PLACEE) {
+                    continue;
+                }
+                int r = salleLibre(t);
+                if (r == NON_PLACEE) {
+                    continue;
+                }
+                if (seancesParJour[seance.cours()][probleme.jourCreneau[t]] == 0) {
+                    placer(s, t, r, e);
+                    return true;
+                }
+                if (repliCreneau == NON_PLACEE) {
+                    repliCreneau = t;
+                    repliSalle = r;
+                    repliEnseignant = e;
+                }
+            }
+            if (repliCreneau == NON_PLACEE) {
+                return false;
+            }
+            placer(s, repliCreneau, repliSalle, repliEnseignant);
+            return true;
+        }
+
+        // Libère une salle occupée par une autre séance puis tente de replacer celle-ci ailleurs
+        private void placerParEjection(int s) {
+            if (placerAuMieux(s)) {
+                return;
+            }
+            Seance seance = probleme.seances.get(s);
+            int t = random.nextInt(nbCreneaux);
+            int e = enseignantLibre(seance, t);
+            if (coursOccupe[seance.cours()][t] || e == NON_PLACEE || probleme.nbSalles == 0) {
+                return;
+            }
+            int r = random.nextInt(probleme.nbSalles);
+            int ejectee = occupantSalle[r][t];
+            if (ejectee < 0) {
+                return;
+            }
+            int ancienCreneau = creneau[ejectee];
+            int ancienneSalle = salle[ejectee];
+            int ancienEnseignant = enseignant[ejectee];
+            int penaliteAvant = penalite;
+            retirer(ejectee);
+            placer(s, t, r, e);
+            if (!placerAuMieux(ejectee) && penalite > penaliteAvant) {
+                // Échange neutre en nombre de séances mais plus pénalisant: annulé
+                retirer(s);
+                placer(ejectee, ancienCreneau, ancienneSalle, ancienEnseignant);
+            }
+        }
+
+        // Déplace une séance placée; le déplacement est annulé s'il augmente la pénalité
+        private void deplacer(int s) {
+            if (creneau[s] == NON_PLACEE) {
+                placerAuMieux(s);
+                return;
+            }
+            int ancienCreneau = creneau[s];
+            int ancienneSalle = salle[s];
+            int ancienEnseignant = enseignant[s];
+            int penaliteAvant = penalite;
+            retirer(s);
+            if (!placerAuMieux(s)) {
+                placer(s, ancienCreneau, ancienneSalle, ancienEnseignant);
+            } else if (penalite > penaliteAvant) {
+                retirer(s);
+                placer(s, ancienCreneau, ancienneSalle, ancienEnseignant);
+            }
+        }
+
+        private int enseignantLibre(Seance seance, int t) {
+            int[] candidats = seance.enseignants();
+            if (candidats.length == 0) {
+                return NON_PLACEE;
+            }
+            int depart = random.nextInt(candidats.length);
+            for (int k = 0; k < candidats.length; k++) {
+                int e = candidats[(depart + k) % candidats.length];
+                if (!enseignantOccupe[e][t]) {
+                    return e;
+                }
+            }
+            return NON_PLACEE;
+        }
+
+        private int salleLibre(int t) {
+            for (int r = 0; r < probleme.nbSalles; r++) {
+                if (occupantSalle[r][t] == NON_PLACEE) {
+                    return r;
+                }
+            }
+            return NON_PLACEE;
+        }
+
+        private void placer(int s, int t, int r, int e) {
+            int cours = probleme.seances.get(s).cours();
+            int jour = probleme.jourCreneau[t];
+            occupantSalle[r][t] = s;
+            enseignantOccupe[e][t] = true;
+            coursOccupe[cours][t] = true;
+            if (seancesParJour[cours][jour]++ > 0) {
+                penalite++;
+            }
+            creneau[s] = t;
+            salle[s] = r;
+            enseignant[s] = e;
+            int position = positionNonPlacee[s];
+            int derniere = nonPlacees[--nbNonPlacees];
+            nonPlacees[position] = derniere;
+            positionNonPlacee[derniere] = position;
+        }
+
+        private void retirer(int s) {
+            int cours = probleme.seances.get(s).cours();
+            int t = creneau[s];
+            int jour = probleme.jourCreneau[t];
+            occupantSalle[salle[s]][t] = NON_PLACEE;
+            enseignantOccupe[enseignant[s]][t] = false;
+            coursOccupe[cours][t] = false;
+            if (--seancesParJour[cours][jour] > 0) {
+                penalite--;
+            }
+            creneau[s] = NON_PLACEE;
+            salle[s] = NON_PLACEE;
+            enseignant[s] = NON_PLACEE;
+            positionNonPlacee[s] = nbNonPlacees;
+            nonPlacees[nbNonPlacees++] = s;
+        }
+
+        private void memoriserSiMeilleur() {
+            int placees = probleme.seances.size() - nbNonPlacees;
+            if (placees > meilleuresPlacees || (placees == meilleuresPlacees && penalite < meilleurePenalite)) {
+                meilleuresPlacees = placees;
+                meilleurePenalite = penalite;
+                meilleurCreneau = creneau.clone();
+                meilleureSalle = salle.clone();
+                meilleurEnseignant = enseignant.clone();
+            }
+        }
+
+        private static boolean[][] copie(boolean[][] source) {
+            boolean[][] copie = new boolean[source.length][];
+            for (int i = 0; i < source.length; i++) {
+                copie[i] = source[i].clone();
+            }
+            return copie;
+        }
+    }
+}
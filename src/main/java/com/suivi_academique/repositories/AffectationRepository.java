@@ -22,6 +22,10 @@ public interface AffectationRepository extends JpaRepository<Affectation, Affect
     @Query("SELECT COUNT(a) FROM Affectation a WHERE a.personnel.codePersonnel = :codePersonnel")
     long countAffectationsByPersonnel(@Param("codePersonnel") String codePersonnel);
 
+    // Tableau de charge: [codePersonnel, cours affectés] de tous les personnels
+    @Query("SELECT a.personnel.codePersonnel, COUNT(a) FROM Affectation a GROUP BY a.personnel.codePersonnel")
+    List<Object[]> countAffectationsParPersonnel();
+
     // Compter le nombre d'enseignants affectés à un cours
     @Query("SELECT COUNT(a) FROM Affectation a WHERE a.cours.codeCours = :codeCours")
     long countEnseignantsByCours(@Param("codeCours") String codeCours);
@@ -34,6 +38,10 @@ public interface AffectationRepository extends JpaRepository<Affectation, Affect
     @Query("SELECT a FROM Affectation a JOIN FETCH a.personnel WHERE a.cours.codeCours = :codeCours")
     List<Affectation> findAffectationsWithPersonnelDetails(@Param("codeCours") String codeCours);
 
+    // Couples [codeCours, codePersonnel] sans charger les entités
+    @Query("SELECT a.cours.codeCours, a.personnel.codePersonnel FROM Affectation a")
+    List<Object[]> findAllCodes();
+
     // Supprimer toutes les affectations d'un personnel
     void deleteByPersonnel_CodePersonnel(String codePersonnel);
 
@@ -0,0 +1,20 @@
+package com.suivi_academique.repositories;
+
+import com.suivi_academique.entities.CompteurCode;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface CompteurCodeRepository extends JpaRepository<CompteurCode, String> {
+
+    // SELECT ... FOR UPDATE: deux instances ne peuvent pas réserver le même bloc
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM CompteurCode c WHERE c.cle = :cle")
+    Optional<CompteurCode> findByIdForUpdate(@Param("cle") String cle);
+}
@@ -44,5 +44,9 @@ public interface CoursRepository extends JpaRepository<Cours,String> {
 
     // Trouver tous les cours triés par label
     List<Cours> findAllByOrderByLabelCoursAsc();
+
+    // Codes de tous les cours (contrôles d'existence en masse)
+    @Query("SELECT c.codeCours FROM Cours c")
+    List<String> findAllCodes();
 }
 
@@ -0,0 +1,29 @@
+package com.suivi_academique.repositories;
+
+import com.suivi_academique.entities.JetonRafraichissement;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface JetonRafraichissementRepository extends JpaRepository<JetonRafraichissement, String> {
+
+    List<JetonRafraichissement> findByExpirationGreaterThan(long maintenant);
+
+    @Modifying
+    @Query("UPDATE JetonRafraichissement j SET j.utilise = true WHERE j.empreinte IN :empreintes")
+    int marquerUtilises(@Param("empreintes") Collection<String> empreintes);
+
+    @Modifying
+    @Query("DELETE FROM JetonRafraichissement j WHERE j.empreinte IN :empreintes")
+    int supprimer(@Param("empreintes") Collection<String> empreintes);
+
+    @Modifying
+    @Query("DELETE FROM JetonRafraichissement j WHERE j.expiration <= :maintenant")
+    int supprimerExpires(@Param("maintenant") long maintenant);
+}
@@ -15,7 +15,7 @@ import java.util.Optional;
 public interface PersonnelRepository extends JpaRepository<Personnel,String> {
 
     List<Personnel> findByNomPersonnel(String nomPersonnel);
-    @Query("select p from Personnel p WHERE p.nomPersonnel LIKE '%:token'")
+    @Query("select p from Personnel p WHERE p.nomPersonnel LIKE CONCAT('%', :token, '%')")
     List<Personnel> findByName(@Param("token") String token);
 
     @Query(value = "SELECT count(*) from Personnel WHERE sexe_personnel =: sexe", nativeQuery = true)
@@ -71,4 +71,20 @@ public interface PersonnelRepository extends JpaRepository<Personnel,String> {
     Optional<Personnel> findByLoginPersonnel(String loginPersonnel);
 
     boolean existsByLoginPersonnel(String loginPersonnel);
+
+    // Codes de tous les personnels (contrôles d'existence en masse)
+    @Query("SELECT p.codePersonnel FROM Personnel p")
+    List<String> findAllCodes();
+
+    // [codePersonnel, nomPersonnel, rolePersonnel] triés par nom, sans charger les entités
+    @Query("SELECT p.codePersonnel, p.nomPersonnel, p.rolePersonnel FROM Personnel p ORDER BY p.nomPersonnel")
+    List<Object[]> findResumes();
+
+    // Logins de tous les personnels (unicité contrôlée en mémoire lors des imports)
+    @Query("SELECT p.loginPersonnel FROM Personnel p")
+    List<String> findAllLogins();
+
+    // Codes existants d'un préfixe ("ENS2026"), lus une seule fois à la création de son compteur
+    @Query("SELECT p.codePersonnel FROM Personnel p WHERE p.codePersonnel LIKE CONCAT(:prefixe, '%')")
+    List<String> findCodesByPrefixe(@Param("prefixe") String prefixe);
 }
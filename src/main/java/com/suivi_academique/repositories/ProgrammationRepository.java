@@ -1,13 +1,25 @@
 package com.suivi_academique.repositories;
 
+import com.suivi_academique.dto.ProgrammationProjection;
+import com.suivi_academique.entities.Personnel;
 import com.suivi_academique.entities.Programmation;
 import com.suivi_academique.utils.StatutProgrammation;
+import org.springframework.data.domain.Limit;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
+import java.util.Collection;
 import java.util.Date;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 
 public interface ProgrammationRepository extends JpaRepository<Programmation, Integer> {
@@ -35,6 +47,65 @@ public interface ProgrammationRepository extends JpaRepository<Programmation, In
                                                      @Param("debut") Date debut,
                                                      @Param("fin") Date fin);
 
+    // Réservations en base qui chevauchent [debut, fin[ (y compris celles d'autres instances), hors idExclu
+    @Query("SELECT p.id FROM Programmation p WHERE p.salle.codeSalle = :codeSalle " +
+            "AND p.dateProgrammation < :fin AND p.finProgrammation > :debut " +
+            "AND p.statutProgrammation <> com.suivi_academique.utils.StatutProgrammation.NON_VALIDER " +
+            "AND p.id <> :idExclu")
+    List<Integer> findIdsEnConflit(@Param("codeSalle") String codeSalle,
+                                   @Param("debut") Date debut,
+                                   @Param("fin") Date fin,
+                                   @Param("idExclu") int idExclu,
+                                   Limit limit);
+
+    // Créneaux occupant les salles données sur une période: [id, codeSalle, dateProgrammation, finProgrammation]
+    @Query("SELECT p.id, p.salle.codeSalle, p.dateProgrammation, p.finProgrammation FROM Programmation p " +
+            "WHERE p.salle.codeSalle IN :codes AND p.dateProgrammation < :fin AND p.finProgrammation > :debut " +
+            "AND p.statutProgrammation <> com.suivi_academique.utils.StatutProgrammation.NON_VALIDER")
+    List<Object[]> findCreneauxSalles(@Param("codes") Collection<String> codes,
+                                      @Param("debut") Date debut,
+                                      @Param("fin") Date fin);
+
+    // Validation en masse: statuts actuels verrouillés jusqu'au commit, [id, statutProgrammation]
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p.id, p.statutProgrammation FROM Programmation p WHERE p.id IN :ids")
+    List<Object[]> findStatutsForUpdate(@Param("ids") Collection<Integer> ids);
+
+    @Query("SELECT p.id FROM Programmation p " +
+            "WHERE p.statutProgrammation = com.suivi_academique.utils.StatutProgrammation.PROGRAMMER " +
+            "AND (:codeSalle IS NULL OR p.salle.codeSalle = :codeSalle) " +
+            "AND (:codeCours IS NULL OR p.cours.codeCours = :codeCours) " +
+            "AND (:debut IS NULL OR p.dateProgrammation >= :debut) " +
+            "AND (:fin IS NULL OR p.dateProgrammation < :fin) " +
+            "ORDER BY p.id")
+    List<Integer> findIdsEnAttente(@Param("codeSalle") String codeSalle,
+                                   @Param("codeCours") String codeCours,
+                                   @Param("debut") Date debut,
+                                   @Param("fin") Date fin,
+                                   Limit limit);
+
+    // Une seule instruction pour tout le lot; seules les programmations encore en attente changent
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Programmation p SET p.statutProgrammation = :statut, p.personnelVal = :validateur, " +
+            "p.version = p.version + 1 " +
+            "WHERE p.id IN :ids AND p.statutProgrammation = com.suivi_academique.utils.StatutProgrammation.PROGRAMMER")
+    int changerStatut(@Param("ids") Collection<Integer> ids,
+                      @Param("statut") StatutProgrammation statut,
+                      @Param("validateur") Personnel validateur);
+
+    // Programmations supprimées en cascade avec leur cours, leur salle ou leur personnel (programmateur ou validateur)
+    @Query("SELECT p.id FROM Programmation p WHERE p.cours.codeCours = :codeCours")
+    List<Integer> findIdsByCours(@Param("codeCours") String codeCours);
+
+    @Query("SELECT p.id FROM Programmation p WHERE p.salle.codeSalle = :codeSalle")
+    List<Integer> findIdsBySalle(@Param("codeSalle") String codeSalle);
+
+    @Query("SELECT p.id FROM Programmation p " +
+            "WHERE p.personnelProg.codePersonnel = :codePersonnel OR p.personnelVal.codePersonnel = :codePersonnel")
+    List<Integer> findIdsByPersonnel(@Param("codePersonnel") String codePersonnel);
+
+    @Query("SELECT p.salle.codeSalle FROM Programmation p WHERE p.id = :id")
+    Optional<String> findCodeSalleById(@Param("id") int id);
 
     // Trouver les programmations avec détails complets
     @Query("SELECT p FROM Programmation p " +
@@ -43,6 +114,62 @@ public interface ProgrammationRepository extends JpaRepository<Programmation, In
             "JOIN FETCH p.personnelProg " +
             "LEFT JOIN FETCH p.personnelVal")
     List<Programmation> findAllWithDetails();
+
+    // Lecture par projection: une seule requête, uniquement les colonnes de ProgrammationDTO
+    String VUE = "SELECT new com.suivi_academique.dto.ProgrammationProjection(" +
+            "p.id, p.nbHeure, p.dateProgrammation, p.finProgrammation, p.statutProgrammation, p.version, " +
+            "s.codeSalle, s.descSalle, s.contenance, s.statutSalle, " +
+            "c.codeCours, c.labelCours, c.descCours, c.nbCreditCours, c.nbHeureCours, " +
+            "pp.codePersonnel, pp.nomPersonnel, pp.loginPersonnel, pp.sexePersonnel, pp.phonePersonnel, pp.rolePersonnel, " +
+            "pv.codePersonnel, pv.nomPersonnel, pv.loginPersonnel, pv.sexePersonnel, pv.phonePersonnel, pv.rolePersonnel) " +
+            "FROM Programmation p " +
+            "JOIN p.salle s " +
+            "JOIN p.cours c " +
+            "JOIN p.personnelProg pp " +
+            "LEFT JOIN p.personnelVal pv ";
+
+    @Query(VUE + "ORDER BY p.dateProgrammation ASC, p.id ASC")
+    List<ProgrammationProjection> findAllVues();
+
+    @Query(VUE + "WHERE p.id = :id")
+    Optional<ProgrammationProjection> findVueById(@Param("id") int id);
+
+    @Query(VUE + "WHERE p.dateProgrammation < :fin AND p.finProgrammation > :debut")
+    List<ProgrammationProjection> findVuesChevauchant(@Param("debut") Date debut, @Param("fin") Date fin);
+
+    // Heures déjà programmées par cours (hors programmations refusées): [codeCours, somme nbHeure]
+    @Query("SELECT p.cours.codeCours, SUM(p.nbHeure) FROM Programmation p " +
+            "WHERE p.statutProgrammation <> com.suivi_academique.utils.StatutProgrammation.NON_VALIDER " +
+            "GROUP BY p.cours.codeCours")
+    List<Object[]> sumHeuresParCours();
+
+    @Query(VUE + "WHERE p.id IN :ids")
+    List<ProgrammationProjection> findVuesByIds(@Param("ids") Collection<Integer> ids);
+
+    // Export en flux: lignes lues par paquets côté JDBC (MySQL: useCursorFetch=true), à consommer dans une transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(VUE + "WHERE (:debut IS NULL OR p.dateProgrammation >= :debut) " +
+            "AND (:fin IS NULL OR p.dateProgrammation < :fin) " +
+            "ORDER BY p.dateProgrammation ASC, p.id ASC")
+    Stream<ProgrammationProjection> streamVues(@Param("debut") Date debut, @Param("fin") Date fin);
+
+    // Pagination par curseur sur (dateProgrammation, id), une seule requête par page
+    @Query(VUE + "ORDER BY p.dateProgrammation ASC, p.id ASC")
+    List<ProgrammationProjection> findPageCroissante(Limit limit);
+
+    @Query(VUE + "WHERE p.dateProgrammation > :date OR (p.dateProgrammation = :date AND p.id > :id) " +
+            "ORDER BY p.dateProgrammation ASC, p.id ASC")
+    List<ProgrammationProjection> findPageCroissanteApres(@Param("date") Date date, @Param("id") int id, Limit limit);
+
+    @Query(VUE + "ORDER BY p.dateProgrammation DESC, p.id DESC")
+    List<ProgrammationProjection> findPageDecroissante(Limit limit);
+
+    @Query(VUE + "WHERE p.dateProgrammation < :date OR (p.dateProgrammation = :date AND p.id < :id) " +
+            "ORDER BY p.dateProgrammation DESC, p.id DESC")
+    List<ProgrammationProjection> findPageDecroissanteAvant(@Param("date") Date date, @Param("id") int id, Limit limit);
 /*
     // Trouver les programmations programmé
     @Query("SELECT p FROM Programmation p WHERE p.statutProgrammation = 'PROGRAMMER'")
@@ -82,6 +209,16 @@ public interface ProgrammationRepository extends JpaRepository<Programmation, In
     @Query("SELECT SUM(p.nbHeure) FROM Programmation p WHERE p.personnelProg.codePersonnel = :codePersonnel")
     Integer sumHeuresByPersonnel(@Param("codePersonnel") String codePersonnel);
 
+    // Tableau de charge: [codePersonnel, programmations créées, heures programmées] de tous les personnels sur la période
+    @Query("SELECT p.personnelProg.codePersonnel, COUNT(p), COALESCE(SUM(p.nbHeure), 0) FROM Programmation p " +
+           "WHERE p.dateProgrammation >= :debut AND p.dateProgrammation < :fin GROUP BY p.personnelProg.codePersonnel")
+    List<Object[]> sumProgrammationsParPersonnel(@Param("debut") Date debut, @Param("fin") Date fin);
+
+    // Tableau de charge: [codePersonnel, validations effectuées] sur la période
+    @Query("SELECT p.personnelVal.codePersonnel, COUNT(p) FROM Programmation p " +
+           "WHERE p.dateProgrammation >= :debut AND p.dateProgrammation < :fin GROUP BY p.personnelVal.codePersonnel")
+    List<Object[]> countValidationsParPersonnel(@Param("debut") Date debut, @Param("fin") Date fin);
+
     // Recherche multicritères
     @Query("SELECT p FROM Programmation p WHERE " +
             "(:codeCours IS NULL OR p.cours.codeCours = :codeCours) AND " +
@@ -94,7 +231,7 @@ public interface ProgrammationRepository extends JpaRepository<Programmation, In
                                              @Param("statut") StatutProgrammation statut);
 
     // Trouver les salles disponibles pour une période
-    @Query("SELECT s.codeSalle FROM Salle s WHERE s.statutSalle = 'DISPONIBLE' AND " +
+    @Query("SELECT s.codeSalle FROM Salle s WHERE s.statutSalle = 'LIBRE' AND " +
             "s.codeSalle NOT IN (SELECT p.salle.codeSalle FROM Programmation p WHERE " +
             "(p.dateProgrammation <= :fin AND p.finProgrammation >= :debut))")
     List<String> findAvailableSalles(@Param("debut") Date debut, @Param("fin") Date fin);
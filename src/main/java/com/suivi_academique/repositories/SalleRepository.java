@@ -2,12 +2,16 @@ package com.suivi_academique.repositories;
 
 import com.suivi_academique.entities.Salle;
 import com.suivi_academique.utils.SalleStatus;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 import java.util.Date;
+import java.util.Optional;
 
 
 @Repository
@@ -15,6 +19,15 @@ public interface SalleRepository extends JpaRepository<Salle, String> {
 
     boolean existsByContenance(int contenance);
 
+    // SELECT ... FOR UPDATE: sérialise les réservations d'une salle entre instances jusqu'au commit
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Salle s WHERE s.codeSalle = :codeSalle")
+    Optional<Salle> findByIdForUpdate(@Param("codeSalle") String codeSalle);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Salle s WHERE s.codeSalle IN :codes ORDER BY s.codeSalle")
+    List<Salle> findAllByIdForUpdate(@Param("codes") Collection<String> codes);
+
     List<Salle> findByContenanceGreaterThanEqual(int contenance);
 
     List<Salle> findByCodeSalleContaining(String codeSalle);
@@ -31,7 +44,7 @@ public interface SalleRepository extends JpaRepository<Salle, String> {
     List<Salle> findSallesOccupe();
 
     // Trouver les salles en maintenance
-    @Query("SELECT s FROM Salle s WHERE s.statutSalle = 'FERME'")
+    @Query("SELECT s FROM Salle s WHERE s.statutSalle = 'FERMER'")
     List<Salle> findSallesFerme();
 
     // Rechercher dans la description
@@ -42,7 +55,7 @@ public interface SalleRepository extends JpaRepository<Salle, String> {
     Salle findSalleWithProgrammations(@Param("codeSalle") String codeSalle);
 
     // Trouver les salles disponibles pour une période donnée
-    @Query("SELECT s FROM Salle s WHERE s.statutSalle = 'DISPONIBLE' AND " +
+    @Query("SELECT s FROM Salle s WHERE s.statutSalle = 'LIBRE' AND " +
             "s.codeSalle NOT IN (SELECT p.salle.codeSalle FROM Programmation p WHERE " +
             "(p.dateProgrammation <= :fin AND p.finProgrammation >= :debut))")
     List<Salle> findAvailableSallesForPeriod(@Param("debut") Date debut, @Param("fin") Date fin);
@@ -0,0 +1,113 @@
+package com.suivi_academique.security;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt exécuté sur un pool dédié et borné plutôt que sur les threads Tomcat: au plus
+ * "threads" hachages en parallèle, "file" en attente, au-delà refus immédiat (503).
+ * Une rafale de connexions ne peut donc pas prendre tout le CPU aux autres endpoints.
+ * upgradeEncoding signale tout hash d'une autre force que celle configurée, pour qu'il
+ * soit recalculé à la connexion suivante.
+ */
+public class HachageMotsDePasse implements PasswordEncoder, DisposableBean {
+
+    private static final Pattern FORCE_BCRYPT = Pattern.compile("^\\$2[abyx]?\\$(\\d{2})\\$");
+
+    private final BCryptPasswordEncoder bcrypt;
+    private final int force;
+    private final ThreadPoolExecutor executeur;
+    private final long attenteMaxMs;
+
+    public HachageMotsDePasse(int force, int threads, int file, long attenteMaxMs) {
+        this.bcrypt = new BCryptPasswordEncoder(force);
+        this.force = force;
+        this.attenteMaxMs = attenteMaxMs;
+        AtomicInteger numero = new AtomicInteger();
+        this.executeur = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(file),
+                tache -> {
+                    Thread thread = new Thread(tache, "bcrypt-" + numero.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public String encode(CharSequence motDePasse) {
+        return executer(() -> bcrypt.encode(motDePasse));
+    }
+
+    /**
+     * Hachage sur le thread appelant, pour les traitements en masse qui ont leur propre pool
+     * (import de personnels): ils ne consomment pas la file réservée aux connexions.
+     */
+    public String encoderHorsFile(CharSequence motDePasse) {
+        return bcrypt.encode(motDePasse);
+    }
+
+    @Override
+    public boolean matches(CharSequence motDePasse, String hash) {
+        return executer(() -> bcrypt.matches(motDePasse, hash));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String hash) {
+        if (hash == null) {
+            return false;
+        }
+        Matcher matcher = FORCE_BCRYPT.matcher(hash);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) != force;
+    }
+
+    private <T> T executer(Callable<T> calcul) {
+        Future<T> resultat;
+        try {
+            resultat = executeur.submit(calcul);
+        } catch (RejectedExecutionException e) {
+            throw new HachageSatureException();
+        }
+        try {
+            return resultat.get(attenteMaxMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            resultat.cancel(true);
+            throw new HachageSatureException();
+        } catch (InterruptedException e) {
+            resultat.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new HachageSatureException();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    public int enAttente() {
+        return executeur.getQueue().size();
+    }
+
+    public int actifs() {
+        return executeur.getActiveCount();
+    }
+
+    @Override
+    public void destroy() {
+        executeur.shutdownNow();
+    }
+}
@@ -0,0 +1,22 @@
+package com.suivi_academique.security;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * File du pool BCrypt pleine: la requête est refusée tout de suite (503) plutôt que d'attendre.
+ */
+public class HachageSatureException extends ResponseStatusException {
+
+    public HachageSatureException() {
+        super(HttpStatus.SERVICE_UNAVAILABLE, "Service d'authentification saturé, réessayez dans un instant.");
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "1");
+        return headers;
+    }
+}
@@ -0,0 +1,301 @@
+package com.suivi_academique.security;
+
+import com.suivi_academique.entities.JetonRafraichissement;
+import com.suivi_academique.entities.Personnel;
+import com.suivi_academique.repositories.JetonRafraichissementRepository;
+import com.suivi_academique.utils.RolePersonnel;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+/**
+ * Jetons de rafraîchissement opaques, à usage unique: chaque échange rend un nouveau jeton
+ * de la même famille et marque l'ancien comme utilisé. Présenter un jeton déjà utilisé
+ * (jeton volé rejoué) révoque toute la famille.
+ * Les jetons sont indexés en mémoire par leur empreinte SHA-256; un jeton absent de la mémoire
+ * (émis par une autre instance) est relu en base. Le jeton échangé est marqué utilisé en base
+ * avant de rendre le nouveau, pour qu'un arrêt brutal ne le remette pas en circulation; les
+ * autres écritures sont reportées et groupées par persister(), les jetons expirés supprimés en
+ * une requête par purger(). Les jetons émis dans les dernières secondes peuvent être perdus sur
+ * un arrêt brutal: l'utilisateur se reconnecte.
+ */
+@Slf4j
+@Component
+public class JetonsRafraichissement {
+
+    private static final SecureRandom ALEA = new SecureRandom();
+
+    private final JetonRafraichissementRepository repository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final long duree;
+
+    private final Map<String, Entree> entrees = new ConcurrentHashMap<>();
+
+    // Empreintes modifiées depuis la dernière écriture en base
+    private final ConcurrentLinkedQueue<String> modifiees = new ConcurrentLinkedQueue<>();
+
+    // Empreintes révoquées pas encore supprimées en base: jamais relues depuis la base
+    private final Set<String> retirees = ConcurrentHashMap.newKeySet();
+
+    public JetonsRafraichissement(JetonRafraichissementRepository repository,
+                                  EntityManager entityManager,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${jwt.refresh-expiration:604800000}") long duree) {
+        this.repository = repository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.duree = duree;
+    }
+
+    /**
+     * Nouveau jeton de rafraîchissement et personnel (non persisté, sans mot de passe) pour qui émettre le jeton d'accès.
+     */
+    public record Session(String jeton, Personnel personnel) {
+    }
+
+    private static final class Entree {
+
+        private final String famille;
+        private final String codePersonnel;
+        private final String loginPersonnel;
+        private final String nomPersonnel;
+        private final RolePersonnel rolePersonnel;
+        private final long expiration;
+        private final AtomicBoolean utilise;
+        private volatile boolean persistee;
+
+        Entree(String famille, String codePersonnel, String loginPersonnel, String nomPersonnel,
+               RolePersonnel rolePersonnel, long expiration, boolean utilise, boolean persistee) {
+            this.famille = famille;
+            this.codePersonnel = codePersonnel;
+            this.loginPersonnel = loginPersonnel;
+            this.nomPersonnel = nomPersonnel;
+            this.rolePersonnel = rolePersonnel;
+            this.expiration = expiration;
+            this.utilise = new AtomicBoolean(utilise);
+            this.persistee = persistee;
+        }
+    }
+
+    @PostConstruct
+    public void charger() {
+        for (JetonRafraichissement jeton : repository.findByExpirationGreaterThan(System.currentTimeMillis())) {
+            entrees.put(jeton.getEmpreinte(), entree(jeton));
+        }
+        log.info("Jetons de rafraîchissement chargés: {}", entrees.size());
+    }
+
+    // Connexion: nouvelle famille
+    public String emettre(Personnel personnel) {
+        return ajouter(UUID.randomUUID().toString(), personnel.getCodePersonnel(), personnel.getLoginPersonnel(),
+                personnel.getNomPersonnel(), personnel.getRolePersonnel());
+    }
+
+    public Session echanger(String jeton) {
+        String empreinte = empreinte(jeton);
+        Entree entree = trouver(empreinte);
+        if (entree == null || entree.expiration <= System.currentTimeMillis()) {
+            throw new RuntimeException("Jeton de rafraîchissement invalide ou expiré.");
+        }
+        if (!entree.utilise.compareAndSet(false, true)) {
+            log.warn("Jeton de rafraîchissement réutilisé pour {}: famille révoquée", entree.codePersonnel);
+            retirerSi(autre -> autre.famille.equals(entree.famille));
+            throw new RuntimeException("Jeton de rafraîchissement déjà utilisé: session révoquée.");
+        }
+        marquerUtilise(empreinte, entree);
+        String nouveau = ajouter(entree.famille, entree.codePersonnel, entree.loginPersonnel,
+                entree.nomPersonnel, entree.rolePersonnel);
+
+        Personnel personnel = new Personnel();
+        personnel.setCodePersonnel(entree.codePersonnel);
+        personnel.setLoginPersonnel(entree.loginPersonnel);
+        personnel.setNomPersonnel(entree.nomPersonnel);
+        personnel.setRolePersonnel(entree.rolePersonnel);
+        return new Session(nouveau, personnel);
+    }
+
+    // Déconnexion: la famille du jeton présenté
+    public void revoquer(String jeton) {
+        Entree entree = entrees.get(empreinte(jeton));
+        if (entree != null) {
+            retirerSi(autre -> autre.famille.equals(entree.famille));
+        }
+    }
+
+    // Login, mot de passe ou rôle modifié, suppression: toutes les sessions du personnel
+    public void revoquerUtilisateur(String codePersonnel) {
+        if (codePersonnel != null) {
+            retirerSi(entree -> entree.codePersonnel.equals(codePersonnel));
+        }
+    }
+
+    // Absent de la mémoire: relu en base puis gardé, sauf s'il vient d'être révoqué ici
+    private Entree trouver(String empreinte) {
+        Entree entree = entrees.get(empreinte);
+        if (entree != null || retirees.contains(empreinte)) {
+            return entree;
+        }
+        return repository.findById(empreinte)
+                .map(jeton -> {
+                    Entree lue = entree(jeton);
+                    Entree presente = entrees.putIfAbsent(empreinte, lue);
+                    return presente == null ? lue : presente;
+                })
+                .orElse(null);
+    }
+
+    /**
+     * Écrit le jeton consommé avant de rendre le nouveau. Un jeton jamais écrit en base est
+     * laissé à persister(), qui l'insérera déjà marqué: il ne peut pas revenir après un arrêt.
+     * Exclusif avec persister() pour que l'état « persistée » ne change pas pendant la décision.
+     */
+    private synchronized void marquerUtilise(String empreinte, Entree entree) {
+        if (!entree.persistee) {
+            modifiees.add(empreinte);
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> repository.marquerUtilises(List.of(empreinte)));
+        } catch (RuntimeException e) {
+            entree.utilise.set(false);
+            log.error("Jeton de rafraîchissement non marqué utilisé: {}", e.getMessage());
+            throw new RuntimeException("Échange du jeton de rafraîchissement impossible, réessayez.");
+        }
+    }
+
+    private static Entree entree(JetonRafraichissement jeton) {
+        return new Entree(jeton.getFamille(), jeton.getCodePersonnel(), jeton.getLoginPersonnel(),
+                jeton.getNomPersonnel(), jeton.getRolePersonnel(), jeton.getExpiration(), jeton.isUtilise(), true);
+    }
+
+    private String ajouter(String famille, String codePersonnel, String loginPersonnel, String nomPersonnel,
+                           RolePersonnel rolePersonnel) {
+        byte[] octets = new byte[32];
+        ALEA.nextBytes(octets);
+        String jeton = Base64.getUrlEncoder().withoutPadding().encodeToString(octets);
+        String empreinte = empreinte(jeton);
+        entrees.put(empreinte, new Entree(famille, codePersonnel, loginPersonnel, nomPersonnel, rolePersonnel,
+                System.currentTimeMillis() + duree, false, false));
+        modifiees.add(empreinte);
+        return jeton;
+    }
+
+    // Parcours complet: réservé aux révocations, rares
+    private void retirerSi(Predicate<Entree> condition) {
+        entrees.entrySet().removeIf(e -> {
+            if (condition.test(e.getValue())) {
+                retirees.add(e.getKey());
+                modifiees.add(e.getKey());
+                return true;
+            }
+            return false;
+        });
+    }
+
+    /**
+     * Écrit en base, par lots, les jetons modifiés depuis le dernier passage: insertion des
+     * nouveaux, puis une requête pour les jetons échangés et une pour les jetons révoqués.
+     */
+    @Scheduled(fixedDelayString = "${jwt.refresh.persistance-ms:1000}")
+    public synchronized void persister() {
+        Set<String> empreintes = new LinkedHashSet<>();
+        String empreinte;
+        while ((empreinte = modifiees.poll()) != null) {
+            empreintes.add(empreinte);
+        }
+        if (empreintes.isEmpty()) {
+            return;
+        }
+        List<String> utilises = new ArrayList<>();
+        List<String> supprimes = new ArrayList<>();
+        List<JetonRafraichissement> nouveaux = new ArrayList<>();
+        List<Entree> aMarquer = new ArrayList<>();
+        for (String cle : empreintes) {
+            Entree entree = entrees.get(cle);
+            if (entree == null) {
+                supprimes.add(cle);
+            } else if (!entree.persistee) {
+                nouveaux.add(new JetonRafraichissement(cle, entree.famille, entree.codePersonnel, entree.loginPersonnel,
+                        entree.nomPersonnel, entree.rolePersonnel, entree.expiration, entree.utilise.get()));
+                aMarquer.add(entree);
+            } else if (entree.utilise.get()) {
+                utilises.add(cle);
+            }
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                nouveaux.forEach(entityManager::persist);
+                entityManager.flush();
+                entityManager.clear();
+                if (!utilises.isEmpty()) {
+                    repository.marquerUtilises(utilises);
+                }
+                if (!supprimes.isEmpty()) {
+                    repository.supprimer(supprimes);
+                }
+            });
+            aMarquer.forEach(entree -> entree.persistee = true);
+            supprimes.forEach(retirees::remove);
+        } catch (RuntimeException e) {
+            log.error("Écriture des jetons de rafraîchissement reportée: {}", e.getMessage());
+            modifiees.addAll(empreintes);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.purge-ms:60000}")
+    public synchronized void purger() {
+        long maintenant = System.currentTimeMillis();
+        // Retirés de la mémoire sans passer par la file: une seule requête en base pour tous
+        entrees.values().removeIf(entree -> entree.expiration <= maintenant);
+        transactionTemplate.executeWithoutResult(status -> repository.supprimerExpires(maintenant));
+    }
+
+    @PreDestroy
+    public void arreter() {
+        try {
+            persister();
+        } catch (RuntimeException e) {
+            log.warn("Jetons de rafraîchissement non écrits à l'arrêt: {}", e.getMessage());
+        }
+    }
+
+    public int taille() {
+        return entrees.size();
+    }
+
+    private static String empreinte(String jeton) {
+        if (jeton == null || jeton.isBlank()) {
+            throw new RuntimeException("Jeton de rafraîchissement manquant.");
+        }
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(jeton.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.suivi_academique.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Révocations de jetons JWT, en mémoire:
+ * - par identifiant de jeton (jti), à la déconnexion, jusqu'à l'expiration du jeton;
+ * - par utilisateur (login, mot de passe ou rôle modifié, suppression): tout jeton émis
+ *   avant l'instant de révocation est refusé, pendant la durée de vie d'un jeton.
+ * Les entrées devenues inutiles sont purgées périodiquement.
+ */
+@Slf4j
+@Component
+public class JetonsRevoques {
+
+    // jti -> expiration du jeton (ms)
+    private final Map<String, Long> jetons = new ConcurrentHashMap<>();
+
+    // codePersonnel -> instant de révocation (ms)
+    private final Map<String, Long> utilisateurs = new ConcurrentHashMap<>();
+
+    private final long dureeJeton;
+
+    public JetonsRevoques(@Value("${jwt.expiration}") long dureeJeton) {
+        this.dureeJeton = dureeJeton;
+    }
+
+    public void revoquer(String idJeton, Date expiration) {
+        if (idJeton != null && expiration != null && expiration.getTime() > System.currentTimeMillis()) {
+            jetons.put(idJeton, expiration.getTime());
+        }
+    }
+
+    public void revoquerUtilisateur(String codePersonnel) {
+        if (codePersonnel != null) {
+            utilisateurs.put(codePersonnel, System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * emisLe est à la seconde (claim iat): un jeton émis dans la seconde de la révocation
+     * est refusé par prudence, l'utilisateur n'a qu'à se reconnecter.
+     */
+    public boolean estRevoque(String idJeton, String codePersonnel, Date emisLe) {
+        if (idJeton != null && jetons.containsKey(idJeton)) {
+            return true;
+        }
+        Long revocation = codePersonnel == null ? null : utilisateurs.get(codePersonnel);
+        return revocation != null && (emisLe == null || emisLe.getTime() / 1000 <= revocation / 1000);
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.purge-ms:60000}")
+    public void purger() {
+        long maintenant = System.currentTimeMillis();
+        jetons.values().removeIf(expiration -> expiration <= maintenant);
+        // Au-delà d'une durée de vie, tous les jetons émis avant la révocation ont expiré
+        utilisateurs.values().removeIf(revocation -> revocation + dureeJeton <= maintenant);
+    }
+
+    public int taille() {
+        return jetons.size() + utilisateurs.size();
+    }
+}
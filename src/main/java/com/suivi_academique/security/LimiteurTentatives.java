@@ -0,0 +1,116 @@
+package com.suivi_academique.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.LongSupplier;
+
+/**
+ * Limite les tentatives de connexion. Par adresse IP: toutes les tentatives, sur une fenêtre
+ * glissante (instants des tentatives récentes). Par login: les échecs, avec une attente qui double
+ * à chaque échec au-delà du seuil (1 s, 2 s, 4 s... plafonnée) plutôt qu'un blocage pour toute la
+ * fenêtre, pour qu'un tiers ne puisse pas verrouiller durablement un compte connu. Le refus intervient
+ * avant toute lecture en base ou vérification BCrypt, une attaque par force brute ne coûte donc plus de CPU.
+ */
+@Component
+public class LimiteurTentatives {
+
+    private final int maxParIp;
+    private final int maxEchecsParLogin;
+    private final long fenetreMs;
+    private final long attenteMaxMs;
+    private final LongSupplier horloge;
+
+    private final Cache<String, Deque<Long>> tentativesParIp;
+    private final Cache<String, Echecs> echecsParLogin;
+
+    @Autowired
+    public LimiteurTentatives(@Value("${securite.connexion.max-par-ip:30}") int maxParIp,
+                              @Value("${securite.connexion.max-echecs-par-login:5}") int maxEchecsParLogin,
+                              @Value("${securite.connexion.fenetre-secondes:60}") long fenetreSecondes,
+                              @Value("${securite.connexion.attente-max-secondes:60}") long attenteMaxSecondes) {
+        this(maxParIp, maxEchecsParLogin, fenetreSecondes, attenteMaxSecondes, System::currentTimeMillis);
+    }
+
+    public LimiteurTentatives(int maxParIp, int maxEchecsParLogin, long fenetreSecondes, long attenteMaxSecondes,
+                              LongSupplier horloge) {
+        this.maxParIp = maxParIp;
+        this.maxEchecsParLogin = maxEchecsParLogin;
+        this.fenetreMs = fenetreSecondes * 1000;
+        this.attenteMaxMs = attenteMaxSecondes * 1000;
+        this.horloge = horloge;
+        // IP inactive depuis une fenêtre entière: plus aucune tentative à compter
+        this.tentativesParIp = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofMillis(fenetreMs))
+                .maximumSize(100_000)
+                .build();
+        // Chaque échec remplace l'entrée: les échecs sont oubliés après une période calme
+        this.echecsParLogin = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(Math.max(fenetreMs, attenteMaxMs)))
+                .maximumSize(100_000)
+                .build();
+    }
+
+    /**
+     * Échecs consécutifs d'un login et instant du dernier.
+     */
+    private record Echecs(int nombre, long dernier) {
+    }
+
+    /**
+     * Compte une tentative pour l'IP et refuse (429) si l'IP a atteint sa limite sur la fenêtre
+     * ou si le login est encore en attente après ses derniers échecs.
+     */
+    public void verifier(String ip, String login) {
+        long maintenant = horloge.getAsLong();
+        if (ip != null) {
+            Deque<Long> tentatives = tentativesParIp.get(ip, cle -> new ArrayDeque<>());
+            synchronized (tentatives) {
+                while (!tentatives.isEmpty() && tentatives.peekFirst() <= maintenant - fenetreMs) {
+                    tentatives.pollFirst();
+                }
+                if (tentatives.size() >= maxParIp) {
+                    throw new TropDeTentativesException(secondes(tentatives.peekFirst() + fenetreMs - maintenant));
+                }
+                tentatives.addLast(maintenant);
+            }
+        }
+        Echecs echecs = login == null ? null : echecsParLogin.getIfPresent(login);
+        if (echecs != null && echecs.nombre() >= maxEchecsParLogin) {
+            long fin = echecs.dernier() + attente(echecs.nombre());
+            if (maintenant < fin) {
+                throw new TropDeTentativesException(secondes(fin - maintenant));
+            }
+        }
+    }
+
+    public void echec(String login) {
+        if (login != null) {
+            long maintenant = horloge.getAsLong();
+            echecsParLogin.asMap().merge(login, new Echecs(1, maintenant),
+                    (precedent, nouveau) -> new Echecs(precedent.nombre() + 1, maintenant));
+        }
+    }
+
+    public void succes(String login) {
+        if (login != null) {
+            echecsParLogin.invalidate(login);
+        }
+    }
+
+    // 1 s au seuil, doublée à chaque échec supplémentaire, plafonnée
+    private long attente(int echecs) {
+        int doublements = Math.min(echecs - maxEchecsParLogin, 30);
+        return Math.min(1000L << doublements, attenteMaxMs);
+    }
+
+    private static long secondes(long ms) {
+        return Math.max(1, (ms + 999) / 1000);
+    }
+}
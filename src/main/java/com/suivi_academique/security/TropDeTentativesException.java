@@ -0,0 +1,25 @@
+package com.suivi_academique.security;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Trop de tentatives de connexion pour une adresse IP ou un login (429).
+ */
+public class TropDeTentativesException extends ResponseStatusException {
+
+    private final long attenteSecondes;
+
+    public TropDeTentativesException(long attenteSecondes) {
+        super(HttpStatus.TOO_MANY_REQUESTS, "Trop de tentatives de connexion, réessayez dans " + attenteSecondes + " s.");
+        this.attenteSecondes = attenteSecondes;
+    }
+
+    @Override
+    public HttpHeaders getHeaders() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(attenteSecondes));
+        return headers;
+    }
+}
@@ -0,0 +1,38 @@
+package com.suivi_academique.security;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Component;
+
+/**
+ * Utilisateurs authentifiés par jeton, mis en cache par login pour que le filtre JWT
+ * n'interroge pas la base à chaque requête. Les entrées ne portent pas le mot de passe:
+ * la connexion (/api/auth) continue de vérifier le hash en base.
+ * PersonnelService invalide l'entrée à chaque modification ou suppression
+ * (login, mot de passe, rôle); la durée de vie du cache borne les écarts faits hors API.
+ */
+@Component
+public class UtilisateurCache {
+
+    public static final String UTILISATEURS = "utilisateurs";
+
+    private final UserDetailsService userDetailsService;
+
+    public UtilisateurCache(@Qualifier("userDetailsService") UserDetailsService userDetailsService) {
+        this.userDetailsService = userDetailsService;
+    }
+
+    // Un login inconnu lève UsernameNotFoundException et n'est donc pas mis en cache
+    @Cacheable(cacheNames = UTILISATEURS)
+    public CustomUserDetails charger(String login) {
+        CustomUserDetails utilisateur = (CustomUserDetails) userDetailsService.loadUserByUsername(login);
+        return new CustomUserDetails(utilisateur.getCodePersonnel(), utilisateur.getLoginPersonnel(),
+                null, utilisateur.getAuthorities());
+    }
+
+    @CacheEvict(cacheNames = UTILISATEURS)
+    public void invalider(String login) {
+    }
+}
@@ -1,20 +1,29 @@
 package com.suivi_academique.services.implementations;
 
+import com.suivi_academique.cache.ReferentielCache;
 import com.suivi_academique.dto.AffectationDTO;
+import com.suivi_academique.dto.CoursDTO;
+import com.suivi_academique.dto.PersonnelDTO;
+import com.suivi_academique.dto.RapportImportDTO;
 import com.suivi_academique.entities.Affectation;
 import com.suivi_academique.entities.AffectationId;
+import com.suivi_academique.index.AffectationIndex;
 import com.suivi_academique.mappers.AffectationMapper;
-import com.suivi_academique.mappers.CoursMapper;
-import com.suivi_academique.mappers.PersonnelMapper;
 import com.suivi_academique.repositories.AffectationRepository;
 import com.suivi_academique.repositories.CoursRepository;
 import com.suivi_academique.repositories.PersonnelRepository;
 import com.suivi_academique.services.interfaces.AffectationInterface;
+import com.suivi_academique.services.interfaces.ChargePersonnelInterface;
 import lombok.AllArgsConstructor;
 import lombok.NoArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -32,37 +41,123 @@ public class AffectationService implements AffectationInterface {
 
     private PersonnelRepository personnelRepository;
 
-    private PersonnelMapper personnelMapper;
+    private ReferentielCache referentielCache;
 
-    private CoursMapper coursMapper;
+    private ChargePersonnelInterface chargePersonnelService;
 
+    private TransactionTemplate transactionTemplate;
 
+    private AffectationIndex affectationIndex;
+
+
+    // Un seul INSERT: références sans chargement, doublon détecté par la clé primaire
     @Override
     public AffectationDTO save(AffectationDTO affectationDTO) {
 
         String codeCours = affectationDTO.getCours().getCodeCours();
         String codePersonnel = affectationDTO.getPersonnel().getCodePersonnel();
 
-        if (!coursRepository.existsById(codeCours)) {
-            throw new RuntimeException("Le Cours avec l'ID " + codeCours + " n'existe pas.");
-        }
-        if (!personnelRepository.existsById(codePersonnel)) {
-            throw new RuntimeException("Le Personnel avec l'ID " + codePersonnel + " n'existe pas.");
-        }
+        CoursDTO cours = referentielCache.cours(codeCours)
+                .orElseThrow(() -> new RuntimeException("Le Cours avec l'ID " + codeCours + " n'existe pas."));
+        PersonnelDTO personnel = referentielCache.personnel(codePersonnel)
+                .orElseThrow(() -> new RuntimeException("Le Personnel avec l'ID " + codePersonnel + " n'existe pas."));
 
         AffectationId affectationId = new AffectationId(codeCours, codePersonnel);
 
-
-        if (affectationRepository.existsById(affectationId)) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> affectationRepository.saveAndFlush(nouvelle(affectationId)));
+        } catch (DataIntegrityViolationException e) {
             throw new RuntimeException("Cette Affectation existe déjà pour ce Cours et ce Personnel.");
         }
+        affectationIndex.ajouter(codeCours, codePersonnel);
+        chargePersonnelService.invalider();
+        return new AffectationDTO(personnel, cours, affectationId);
+    }
+
+    /**
+     * Affectation en masse: un lot d'INSERT dans une transaction. Si le lot échoue (paire déjà
+     * affectée), chaque paire est reprise seule pour que la clé primaire désigne les doublons.
+     */
+    @Override
+    public RapportImportDTO saveAll(List<AffectationId> paires) {
+        RapportImportDTO rapport = new RapportImportDTO();
+        rapport.setLignesLues(paires.size());
+        Set<String> codesCours = new HashSet<>(coursRepository.findAllCodes());
+        Set<String> codesPersonnel = new HashSet<>(personnelRepository.findAllCodes());
+
+        List<Integer> lignes = new ArrayList<>();
+        List<AffectationId> valides = new ArrayList<>();
+        Set<AffectationId> vues = new HashSet<>();
+        for (int i = 0; i < paires.size(); i++) {
+            AffectationId paire = paires.get(i);
+            if (paire == null || !codesCours.contains(paire.getCodeCours())) {
+                rapport.rejetee(i + 1, "Cours introuvable: " + (paire == null ? null : paire.getCodeCours()));
+            } else if (!codesPersonnel.contains(paire.getCodePersonnel())) {
+                rapport.rejetee(i + 1, "Personnel introuvable: " + paire.getCodePersonnel());
+            } else if (!vues.add(paire)) {
+                rapport.rejetee(i + 1, "Paire en double dans la demande.");
+            } else {
+                lignes.add(i + 1);
+                valides.add(paire);
+            }
+        }
 
-        // Assignation de l'ID composite au DTO avant le mapping
-        // Ceci est nécessaire pour que le mapper (toEntity) puisse créer l'entité complète
-        affectationDTO.setCodeAffectation(affectationId);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                affectationRepository.saveAll(valides.stream().map(this::nouvelle).toList());
+                affectationRepository.flush();
+            });
+            for (int i = 0; i < valides.size(); i++) {
+                rapport.importee(lignes.get(i), libelle(valides.get(i)));
+                affectationIndex.ajouter(valides.get(i).getCodeCours(), valides.get(i).getCodePersonnel());
+            }
+        } catch (DataIntegrityViolationException e) {
+            for (int i = 0; i < valides.size(); i++) {
+                AffectationId paire = valides.get(i);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> affectationRepository.saveAndFlush(nouvelle(paire)));
+                    rapport.importee(lignes.get(i), libelle(paire));
+                    affectationIndex.ajouter(paire.getCodeCours(), paire.getCodePersonnel());
+                } catch (DataIntegrityViolationException doublon) {
+                    rapport.rejetee(lignes.get(i), "Cette Affectation existe déjà pour ce Cours et ce Personnel.");
+                }
+            }
+        }
+        if (rapport.getImportees() > 0) {
+            chargePersonnelService.invalider();
+        }
+        rapport.getLignes().sort((a, b) -> Integer.compare(a.getLigne(), b.getLigne()));
+        return rapport;
+    }
+
+    // isNew() vrai: persist sans SELECT préalable, Personnel et Cours en simples références
+    private Affectation nouvelle(AffectationId id) {
+        return new Affectation(id,
+                personnelRepository.getReferenceById(id.getCodePersonnel()),
+                coursRepository.getReferenceById(id.getCodeCours()));
+    }
 
-        Affectation affectation = affectationRepository.save(affectationMapper.toEntity(affectationDTO));
-        return affectationMapper.toDTO(affectation);
+    private static String libelle(AffectationId id) {
+        return id.getCodeCours() + "/" + id.getCodePersonnel();
+    }
+
+    // Lectures servies par l'index des affectations et le cache des référentiels, sans jointure
+    @Override
+    public List<CoursDTO> getCoursDuPersonnel(String codePersonnel) {
+        return affectationIndex.coursDe(codePersonnel).stream()
+                .map(referentielCache::cours).flatMap(Optional::stream).toList();
+    }
+
+    @Override
+    public List<PersonnelDTO> getPersonnelsDuCours(String codeCours) {
+        return affectationIndex.enseignantsDe(codeCours).stream()
+                .map(referentielCache::personnel).flatMap(Optional::stream).toList();
+    }
+
+    @Override
+    public List<PersonnelDTO> getEnseignantsCommuns(List<String> codesCours) {
+        return affectationIndex.enseignantsCommuns(codesCours).stream()
+                .map(referentielCache::personnel).flatMap(Optional::stream).toList();
     }
 
     @Override
@@ -83,16 +178,39 @@ public class AffectationService implements AffectationInterface {
 
     }
 
+    /**
+     * La paire est la clé primaire (@MapsId): changer de cours ou de personnel remplace
+     * l'affectation, suppression et insertion dans une transaction, puis l'index suit.
+     */
     @Override
     public AffectationDTO update(AffectationId affectationId, AffectationDTO affectationDTO) {
-    Affectation affectation = affectationRepository.findById(affectationId).orElse(null);
-        if(affectation == null){
+        if (!affectationRepository.existsById(affectationId)) {
             throw new RuntimeException("AffectationId non trouvé");
         }
-        affectation.setPersonnel(personnelMapper.toEntity(affectationDTO.getPersonnel()));
-        affectation.setCours(coursMapper.toEntity(affectationDTO.getCours()));
-        affectationRepository.save(affectation);
-        return affectationMapper.toDTO(affectation);
+        String codeCours = affectationDTO.getCours().getCodeCours();
+        String codePersonnel = affectationDTO.getPersonnel().getCodePersonnel();
+
+        CoursDTO cours = referentielCache.cours(codeCours)
+                .orElseThrow(() -> new RuntimeException("Le Cours avec l'ID " + codeCours + " n'existe pas."));
+        PersonnelDTO personnel = referentielCache.personnel(codePersonnel)
+                .orElseThrow(() -> new RuntimeException("Le Personnel avec l'ID " + codePersonnel + " n'existe pas."));
+
+        AffectationId nouvelleId = new AffectationId(codeCours, codePersonnel);
+        if (!nouvelleId.equals(affectationId)) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    affectationRepository.deleteById(affectationId);
+                    affectationRepository.flush();
+                    affectationRepository.saveAndFlush(nouvelle(nouvelleId));
+                });
+            } catch (DataIntegrityViolationException e) {
+                throw new RuntimeException("Cette Affectation existe déjà pour ce Cours et ce Personnel.");
+            }
+            affectationIndex.retirer(affectationId.getCodeCours(), affectationId.getCodePersonnel());
+            affectationIndex.ajouter(codeCours, codePersonnel);
+            chargePersonnelService.invalider();
+        }
+        return new AffectationDTO(personnel, cours, nouvelleId);
     }
 
     @Override
@@ -105,6 +223,8 @@ public class AffectationService implements AffectationInterface {
             throw new RuntimeException("Affectation inexistante pour la suppression.");
         } else {
             affectationRepository.deleteById(id);
+            affectationIndex.retirer(codeCours, codePersonnel);
+            chargePersonnelService.invalider();
         }
     }
 }
@@ -5,13 +5,21 @@ import com.suivi_academique.dto.AuthRequest;
 import com.suivi_academique.dto.AuthResponse;
 import com.suivi_academique.dto.PersonnelDTO;
 import com.suivi_academique.entities.Personnel;
+import com.suivi_academique.index.RechercheIndex;
+import com.suivi_academique.mappers.PersonnelMapper;
 import com.suivi_academique.repositories.PersonnelRepository;
 import com.suivi_academique.config.JwtUtil;
+import com.suivi_academique.security.JetonsRafraichissement;
+import com.suivi_academique.security.JetonsRevoques;
+import com.suivi_academique.security.LimiteurTentatives;
 import com.suivi_academique.services.interfaces.AuthentificationInterface;
+import com.suivi_academique.services.interfaces.ChargePersonnelInterface;
 import com.suivi_academique.utils.CodeGenerator;
 import com.suivi_academique.utils.RolePersonnel;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -26,27 +34,43 @@ public class AuthentificationService implements AuthentificationInterface {
         private final JwtUtil jwtUtil;
         private final AuthenticationManager authenticationManager;
         private final CodeGenerator codeGenerator;
+        private final JetonsRevoques jetonsRevoques;
+        private final LimiteurTentatives limiteurTentatives;
+        private final JetonsRafraichissement jetonsRafraichissement;
+        private final PersonnelMapper personnelMapper;
+        private final RechercheIndex rechercheIndex;
+        private final ChargePersonnelInterface chargePersonnelService;
 
 
-        public AuthResponse authenticate(PersonnelDTO request){
+        public AuthResponse authenticate(PersonnelDTO request, String ip){
 
+            // Refus (429) avant toute lecture en base et tout calcul BCrypt
+            limiteurTentatives.verifier(ip, request.getLoginPersonnel());
 
             Personnel p = personnelRepository.findByLoginPersonnel(request.getLoginPersonnel())
-                    .orElseThrow(() -> new RuntimeException("Personnel non trouvé"));
+                    .orElseThrow(() -> {
+                        limiteurTentatives.echec(request.getLoginPersonnel());
+                        return new RuntimeException("Personnel non trouvé");
+                    });
 
-
-
-            authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(
-                            request.getLoginPersonnel(),
-                            request.getPadPersonnel()
-                    )
-            );
+            try {
+                authenticationManager.authenticate(
+                        new UsernamePasswordAuthenticationToken(
+                                request.getLoginPersonnel(),
+                                request.getPadPersonnel()
+                        )
+                );
+            } catch (BadCredentialsException e) {
+                limiteurTentatives.echec(request.getLoginPersonnel());
+                throw e;
+            }
+            limiteurTentatives.succes(request.getLoginPersonnel());
 
             String jwtToken = jwtUtil.generateToken(p);
 
             return AuthResponse.builder()
                     .token(jwtToken)
+                    .refreshToken(jetonsRafraichissement.emettre(p))
                     .codePersonnel(p.getCodePersonnel())
                     .nomPersonnel(p.getNomPersonnel())
                     .rolePersonnel(p.getRolePersonnel().name())
@@ -88,16 +112,48 @@ public class AuthentificationService implements AuthentificationInterface {
 
             // Save
             Personnel savedPersonnel = personnelRepository.save(personnel);
+            // Même suivi que PersonnelService.save: recherche et charges voient le nouveau personnel
+            rechercheIndex.indexerPersonnel(personnelMapper.toDTO(savedPersonnel));
+            chargePersonnelService.invalider();
 
             // Generate JWT
             String jwtToken = jwtUtil.generateToken(savedPersonnel);
 
             return AuthResponse.builder()
                     .token(jwtToken)
+                    .refreshToken(jetonsRafraichissement.emettre(savedPersonnel))
                     .codePersonnel(savedPersonnel.getCodePersonnel())
                     .nomPersonnel(savedPersonnel.getNomPersonnel())
                     .rolePersonnel(savedPersonnel.getRolePersonnel().name())
                     .build();
         }
-}
 
+        // Ni mot de passe ni lecture du personnel: le jeton de rafraîchissement porte l'identité et le rôle
+        @Override
+        public AuthResponse refresh(String refreshToken) {
+            JetonsRafraichissement.Session session = jetonsRafraichissement.echanger(refreshToken);
+            Personnel p = session.personnel();
+            return AuthResponse.builder()
+                    .token(jwtUtil.generateToken(p))
+                    .refreshToken(session.jeton())
+                    .codePersonnel(p.getCodePersonnel())
+                    .nomPersonnel(p.getNomPersonnel())
+                    .rolePersonnel(p.getRolePersonnel().name())
+                    .build();
+        }
+
+        // Le jeton reste refusé jusqu'à son expiration, la session de rafraîchissement est révoquée
+        @Override
+        public void logout(String jeton, String refreshToken) {
+            Claims claims;
+            try {
+                claims = jwtUtil.lireJeton(jeton);
+            } catch (Exception e) {
+                throw new RuntimeException("Jeton invalide ou expiré.");
+            }
+            jetonsRevoques.revoquer(claims.getId(), claims.getExpiration());
+            if (refreshToken != null && !refreshToken.isBlank()) {
+                jetonsRafraichissement.revoquer(refreshToken);
+            }
+        }
+}
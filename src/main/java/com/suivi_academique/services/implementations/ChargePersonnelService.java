@@ -0,0 +1,79 @@
+package com.suivi_academique.services.implementations;
+
+import com.suivi_academique.dto.ChargePersonnelDTO;
+import com.suivi_academique.events.ProgrammationModifieeEvent;
+import com.suivi_academique.repositories.AffectationRepository;
+import com.suivi_academique.repositories.PersonnelRepository;
+import com.suivi_academique.repositories.ProgrammationRepository;
+import com.suivi_academique.services.interfaces.ChargePersonnelInterface;
+import com.suivi_academique.utils.RolePersonnel;
+import lombok.AllArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@AllArgsConstructor
+public class ChargePersonnelService implements ChargePersonnelInterface {
+
+    public static final String CACHE = "charges";
+
+    private final PersonnelRepository personnelRepository;
+
+    private final ProgrammationRepository programmationRepository;
+
+    private final AffectationRepository affectationRepository;
+
+    // Quatre requêtes groupées quel que soit le nombre de personnels; une entrée par période demandée
+    @Override
+    @Cacheable(cacheNames = CACHE, key = "{#debut.time, #fin.time}")
+    public List<ChargePersonnelDTO> getCharges(Date debut, Date fin) {
+        if (debut == null || fin == null || !fin.after(debut)) {
+            throw new RuntimeException("Période invalide");
+        }
+        Map<String, ChargePersonnelDTO> charges = new LinkedHashMap<>();
+        for (Object[] ligne : personnelRepository.findResumes()) {
+            String code = (String) ligne[0];
+            charges.put(code, new ChargePersonnelDTO(code, (String) ligne[1], (RolePersonnel) ligne[2], 0, 0, 0, 0));
+        }
+        for (Object[] ligne : programmationRepository.sumProgrammationsParPersonnel(debut, fin)) {
+            ChargePersonnelDTO charge = charges.get((String) ligne[0]);
+            if (charge != null) {
+                charge.setProgrammations(((Number) ligne[1]).longValue());
+                charge.setHeuresProgrammees(((Number) ligne[2]).longValue());
+            }
+        }
+        for (Object[] ligne : programmationRepository.countValidationsParPersonnel(debut, fin)) {
+            ChargePersonnelDTO charge = charges.get((String) ligne[0]);
+            if (charge != null) {
+                charge.setValidations(((Number) ligne[1]).longValue());
+            }
+        }
+        for (Object[] ligne : affectationRepository.countAffectationsParPersonnel()) {
+            ChargePersonnelDTO charge = charges.get((String) ligne[0]);
+            if (charge != null) {
+                charge.setCoursAffectes(((Number) ligne[1]).longValue());
+            }
+        }
+        return new ArrayList<>(charges.values());
+    }
+
+    // Programmation créée, modifiée, validée ou supprimée
+    @EventListener
+    @CacheEvict(cacheNames = CACHE, allEntries = true)
+    public void surModification(ProgrammationModifieeEvent event) {
+    }
+
+    // Affectations et personnels modifiés
+    @Override
+    @CacheEvict(cacheNames = CACHE, allEntries = true)
+    public void invalider() {
+    }
+}
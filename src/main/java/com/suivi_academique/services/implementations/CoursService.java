@@ -1,10 +1,14 @@
 package com.suivi_academique.services.implementations;
 
+import com.suivi_academique.cache.ReferentielCache;
 import com.suivi_academique.dto.CoursDTO;
 import com.suivi_academique.entities.Cours;
+import com.suivi_academique.index.RechercheIndex;
 import com.suivi_academique.mappers.CoursMapper;
 import com.suivi_academique.repositories.CoursRepository;
+import com.suivi_academique.repositories.ProgrammationRepository;
 import com.suivi_academique.services.interfaces.CoursInterface;
+import com.suivi_academique.services.interfaces.ProgrammationInterface;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -18,6 +22,14 @@ public class CoursService implements CoursInterface {
 
     private CoursMapper coursMapper;
 
+    private ReferentielCache referentielCache;
+
+    private RechercheIndex rechercheIndex;
+
+    private ProgrammationRepository programmationRepository;
+
+    private ProgrammationInterface programmationService;
+
     @Override
     public CoursDTO save(CoursDTO coursDTO) {
         if(coursDTO.getCodeCours().isEmpty()){
@@ -26,7 +38,11 @@ public class CoursService implements CoursInterface {
 
         }else{
             Cours cours = coursRepository.save(coursMapper.toEntity(coursDTO));
-            return coursMapper.toDTO(cours);
+            // save() écrase un cours existant de même code
+            referentielCache.invaliderCours(cours.getCodeCours());
+            CoursDTO enregistre = coursMapper.toDTO(cours);
+            rechercheIndex.indexerCours(enregistre);
+            return enregistre;
         }
     }
 
@@ -59,7 +75,12 @@ public class CoursService implements CoursInterface {
             cours.setNbCreditCours(coursDTO.getNbCreditCours());
             cours.setNbHeureCours(coursDTO.getNbHeureCours());
             coursRepository.save(cours);
-            return coursMapper.toDTO(cours);
+            referentielCache.invaliderCours(codeCours);
+            CoursDTO modifie = coursMapper.toDTO(cours);
+            rechercheIndex.indexerCours(modifie);
+            // Les emplois du temps recopient le cours dans chaque programmation
+            programmationService.republier(programmationRepository.findIdsByCours(codeCours));
+            return modifie;
 
         }
     }
@@ -70,7 +91,12 @@ public class CoursService implements CoursInterface {
         if(!coursRepository.existsById(codeCours)){
             throw new RuntimeException("impossible de supprimer cours introuvable");
         }
+        // Les programmations du cours partent avec lui (cascade): relevées avant pour les retirer des index
+        List<Integer> programmations = programmationRepository.findIdsByCours(codeCours);
         coursRepository.deleteById(codeCours);
+        programmationService.retirerSupprimees(programmations);
+        referentielCache.invaliderCours(codeCours);
+        rechercheIndex.retirer(RechercheIndex.Type.COURS, codeCours);
 
     }
 }
@@ -0,0 +1,52 @@
+package com.suivi_academique.services.implementations;
+
+import com.suivi_academique.dto.EmploiDuTempsDTO;
+import com.suivi_academique.index.EmploiDuTempsIndex;
+import com.suivi_academique.services.interfaces.EmploiDuTempsInterface;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.temporal.IsoFields;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Service
+@AllArgsConstructor
+public class EmploiDuTempsService implements EmploiDuTempsInterface {
+
+    private static final Pattern SEMAINE_ISO = Pattern.compile("(\\d{4})-W(\\d{2})");
+
+    private final EmploiDuTempsIndex emploiDuTempsIndex;
+
+    // Servi uniquement depuis l'index en mémoire, sans requête sur les programmations
+    @Override
+    public EmploiDuTempsDTO getSemaine(String type, String code, String semaine) {
+        EmploiDuTempsIndex.Proprietaire proprietaire;
+        try {
+            proprietaire = EmploiDuTempsIndex.Proprietaire.valueOf(type.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Type d'emploi du temps inconnu: " + type + " (personnel, salle ou cours).");
+        }
+        String semaineIso = semaine == null || semaine.isBlank()
+                ? EmploiDuTempsIndex.semaineIso(LocalDate.now())
+                : verifierSemaine(semaine);
+        return new EmploiDuTempsDTO(proprietaire.name().toLowerCase(Locale.ROOT), code, semaineIso,
+                emploiDuTempsIndex.semaine(proprietaire, code, semaineIso));
+    }
+
+    private static String verifierSemaine(String semaine) {
+        Matcher matcher = SEMAINE_ISO.matcher(semaine.trim().toUpperCase(Locale.ROOT));
+        if (matcher.matches()) {
+            int annee = Integer.parseInt(matcher.group(1));
+            int numero = Integer.parseInt(matcher.group(2));
+            // Le 28 décembre est toujours dans la dernière semaine ISO de l'année (52 ou 53)
+            int derniere = LocalDate.of(annee, 12, 28).get(IsoFields.WEEK_OF_WEEK_BASED_YEAR);
+            if (numero >= 1 && numero <= derniere) {
+                return String.format("%d-W%02d", annee, numero);
+            }
+        }
+        throw new RuntimeException("Semaine invalide: " + semaine + " (format attendu: 2026-W42).");
+    }
+}
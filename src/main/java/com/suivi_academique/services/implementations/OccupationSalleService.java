@@ -0,0 +1,134 @@
+package com.suivi_academique.services.implementations;
+
+import com.suivi_academique.dto.OccupationSalleDTO;
+import com.suivi_academique.dto.OccupationSallesDTO;
+import com.suivi_academique.dto.SalleDTO;
+import com.suivi_academique.events.ProgrammationModifieeEvent;
+import com.suivi_academique.index.ReservationSalleIndex;
+import com.suivi_academique.index.SalleCatalogue;
+import com.suivi_academique.services.interfaces.OccupationSalleInterface;
+import lombok.AllArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@AllArgsConstructor
+public class OccupationSalleService implements OccupationSalleInterface {
+
+    public static final String CACHE = "occupation";
+
+    static final int HEURES_SEMAINE = 7 * 24;
+
+    private static final long HEURE = 3_600_000L;
+    private static final long MINUTE = 60_000L;
+
+    // Au-delà, la carte n'a plus de sens pour planifier des fermetures
+    private static final long PERIODE_MAX = 366L * 24 * HEURE;
+
+    private final ReservationSalleIndex reservationSalleIndex;
+
+    private final SalleCatalogue salleCatalogue;
+
+    // Calculé depuis l'index des réservations, sans requête; une entrée par période demandée.
+    // Seuls les créneaux de la période sont parcourus, cherchés salle par salle dans les plannings triés:
+    // le coût suit la période et non tout l'historique des réservations
+    @Override
+    @Cacheable(cacheNames = CACHE, key = "{#debut.time, #fin.time}")
+    public OccupationSallesDTO getOccupation(Date debut, Date fin) {
+        if (debut == null || fin == null || !fin.after(debut)) {
+            throw new RuntimeException("Période invalide");
+        }
+        if (fin.getTime() - debut.getTime() > PERIODE_MAX) {
+            throw new RuntimeException("La période ne peut pas dépasser 366 jours.");
+        }
+        Collection<SalleDTO> salles = salleCatalogue.toutes();
+        List<ReservationSalleIndex.Creneau> creneaux = new ArrayList<>();
+        for (SalleDTO salle : salles) {
+            creneaux.addAll(reservationSalleIndex.conflits(salle.getCodeSalle(), debut.getTime(), fin.getTime(), null));
+        }
+        return calculer(salles, creneaux, debut.getTime(), fin.getTime(), ZoneId.systemDefault());
+    }
+
+    // Toute réservation ajoutée, modifiée ou supprimée rend les cartes calculées obsolètes
+    @EventListener
+    @CacheEvict(cacheNames = CACHE, allEntries = true)
+    public void surModification(ProgrammationModifieeEvent event) {
+    }
+
+    @Override
+    @CacheEvict(cacheNames = CACHE, allEntries = true)
+    public void invalider() {
+    }
+
+    /**
+     * Une passe sur les créneaux: chaque créneau, borné à [debut, fin[, est découpé aux
+     * heures pleines (heure locale) et ses millisecondes cumulées dans un tableau plat
+     * salles x 168 heures de la semaine.
+     */
+    public static OccupationSallesDTO calculer(Collection<SalleDTO> salles, Collection<ReservationSalleIndex.Creneau> creneaux,
+                                               long debut, long fin, ZoneId zone) {
+        Map<String, Integer> indices = new HashMap<>();
+        List<SalleDTO> lignes = new ArrayList<>(salles);
+        for (int i = 0; i < lignes.size(); i++) {
+            indices.put(lignes.get(i).getCodeSalle(), i);
+        }
+
+        ZoneRules regles = zone.getRules();
+        long[] reserve = new long[lignes.size() * HEURES_SEMAINE];
+        for (ReservationSalleIndex.Creneau creneau : creneaux) {
+            Integer ligne = indices.get(creneau.codeSalle());
+            long instant = Math.max(creneau.debut(), debut);
+            long borne = Math.min(creneau.fin(), fin);
+            if (ligne == null || instant >= borne) {
+                continue;
+            }
+            int base = ligne * HEURES_SEMAINE;
+            while (instant < borne) {
+                long decalage = regles.getOffset(Instant.ofEpochMilli(instant)).getTotalSeconds() * 1000L;
+                long heureLocale = Math.floorDiv(instant + decalage, HEURE);
+                long finHeure = Math.min(borne, (heureLocale + 1) * HEURE - decalage);
+                // Le 1er janvier 1970 est un jeudi: +72 h ramène l'index 0 au lundi 0h
+                reserve[base + (int) Math.floorMod(heureLocale + 72, HEURES_SEMAINE)] += finHeure - instant;
+                instant = finHeure;
+            }
+        }
+
+        long minutesPeriode = Math.max(1, (fin - debut) / MINUTE);
+        long totalReserve = 0;
+        List<OccupationSalleDTO> resultat = new ArrayList<>(lignes.size());
+        for (int i = 0; i < lignes.size(); i++) {
+            int[] minutesParHeure = new int[HEURES_SEMAINE];
+            long minutesSalle = 0;
+            for (int h = 0; h < HEURES_SEMAINE; h++) {
+                minutesParHeure[h] = (int) (reserve[i * HEURES_SEMAINE + h] / MINUTE);
+                minutesSalle += reserve[i * HEURES_SEMAINE + h];
+            }
+            minutesSalle /= MINUTE;
+            totalReserve += minutesSalle;
+            SalleDTO salle = lignes.get(i);
+            resultat.add(new OccupationSalleDTO(salle.getCodeSalle(), salle.getContenace(), minutesSalle,
+                    pourcentage(minutesSalle, minutesPeriode), minutesParHeure));
+        }
+        resultat.sort(Comparator.comparingDouble(OccupationSalleDTO::getTauxOccupation).reversed()
+                .thenComparing(OccupationSalleDTO::getCodeSalle));
+        double tauxGlobal = lignes.isEmpty() ? 0 : pourcentage(totalReserve, minutesPeriode * lignes.size());
+        return new OccupationSallesDTO(new Date(debut), new Date(fin), tauxGlobal, resultat);
+    }
+
+    private static double pourcentage(long minutes, long total) {
+        return Math.round(minutes * 10000.0 / total) / 100.0;
+    }
+}
@@ -0,0 +1,338 @@
+package com.suivi_academique.services.implementations;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.suivi_academique.cache.ReferentielCache;
+import com.suivi_academique.dto.PersonnelDTO;
+import com.suivi_academique.dto.RapportImportDTO;
+import com.suivi_academique.entities.Personnel;
+import com.suivi_academique.index.RechercheIndex;
+import com.suivi_academique.mappers.PersonnelMapper;
+import com.suivi_academique.repositories.PersonnelRepository;
+import com.suivi_academique.security.HachageMotsDePasse;
+import com.suivi_academique.services.interfaces.ChargePersonnelInterface;
+import com.suivi_academique.services.interfaces.PersonnelImportInterface;
+import com.suivi_academique.utils.CodeGenerator;
+import com.suivi_academique.utils.RolePersonnel;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Import en masse de personnels, en CSV (ligne d'en-tête avec les noms des champs de
+ * PersonnelDTO) ou en NDJSON (un PersonnelDTO par ligne). Par lot: validation en mémoire
+ * (logins chargés une fois), hachage BCrypt en parallèle, codes pris dans les blocs de
+ * CodeGenerator, insertion en une transaction par lot. Le hachage tourne sur un pool partagé
+ * de taille bornée (la moitié des cœurs par défaut) et un seul import s'exécute à la fois
+ * (sinon 503): les connexions gardent du CPU pendant un import.
+ */
+@Slf4j
+@Service
+public class PersonnelImportService implements PersonnelImportInterface {
+
+    private static final List<String> COLONNES_OBLIGATOIRES = List.of("nomPersonnel", "loginPersonnel",
+            "padPersonnel", "sexePersonnel", "phonePersonnel", "rolePersonnel");
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final PersonnelRepository personnelRepository;
+    private final PersonnelMapper personnelMapper;
+    private final CodeGenerator codeGenerator;
+    private final HachageMotsDePasse hachageMotsDePasse;
+    private final RechercheIndex rechercheIndex;
+    private final ReferentielCache referentielCache;
+    private final ChargePersonnelInterface chargePersonnelService;
+    private final int tailleLot;
+    private final ExecutorService executeur;
+    private final Semaphore importEnCours = new Semaphore(1);
+
+    public PersonnelImportService(EntityManager entityManager,
+                                  PlatformTransactionManager transactionManager,
+                                  ObjectMapper objectMapper,
+                                  PersonnelRepository personnelRepository,
+                                  PersonnelMapper personnelMapper,
+                                  CodeGenerator codeGenerator,
+                                  HachageMotsDePasse hachageMotsDePasse,
+                                  RechercheIndex rechercheIndex,
+                                  ReferentielCache referentielCache,
+                                  ChargePersonnelInterface chargePersonnelService,
+                                  @Value("${personnel.import.taille-lot:200}") int tailleLot,
+                                  @Value("${personnel.import.workers:0}") int workers) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.personnelRepository = personnelRepository;
+        this.personnelMapper = personnelMapper;
+        this.codeGenerator = codeGenerator;
+        this.hachageMotsDePasse = hachageMotsDePasse;
+        this.rechercheIndex = rechercheIndex;
+        this.referentielCache = referentielCache;
+        this.chargePersonnelService = chargePersonnelService;
+        this.tailleLot = tailleLot;
+        // 0: la moitié des cœurs disponibles
+        int nbWorkers = workers > 0 ? workers : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger numero = new AtomicInteger();
+        this.executeur = Executors.newFixedThreadPool(nbWorkers, tache -> {
+            Thread thread = new Thread(tache, "import-bcrypt-" + numero.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void arreter() {
+        executeur.shutdownNow();
+    }
+
+    @Override
+    public RapportImportDTO importer(InputStream flux, String format) throws IOException {
+        boolean csv = FORMAT_CSV.equals(format);
+        if (!csv && !FORMAT_NDJSON.equals(format)) {
+            throw new RuntimeException("Format d'import inconnu: " + format);
+        }
+        if (!importEnCours.tryAcquire()) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Un import de personnels est déjà en cours, réessayez plus tard.");
+        }
+        RapportImportDTO rapport = new RapportImportDTO();
+        try (BufferedReader lecteur = new BufferedReader(new InputStreamReader(flux, StandardCharsets.UTF_8))) {
+            List<String> entete = null;
+            if (csv) {
+                String premiere = lecteur.readLine();
+                if (premiere == null) {
+                    return rapport;
+                }
+                entete = lireEntete(premiere);
+            }
+            Set<String> logins = new HashSet<>(personnelRepository.findAllLogins());
+            List<LigneLue> lot = new ArrayList<>(tailleLot);
+            String contenu;
+            int numero = csv ? 1 : 0;
+            while ((contenu = lecteur.readLine()) != null) {
+                numero++;
+                if (contenu.isBlank()) {
+                    continue;
+                }
+                rapport.setLignesLues(rapport.getLignesLues() + 1);
+                lot.add(new LigneLue(numero, contenu));
+                if (lot.size() == tailleLot) {
+                    ecrireLot(lot, entete, logins, rapport);
+                    lot.clear();
+                }
+            }
+            if (!lot.isEmpty()) {
+                ecrireLot(lot, entete, logins, rapport);
+            }
+        } finally {
+            importEnCours.release();
+        }
+        log.info("Import de personnels terminé: {} importés, {} rejetés", rapport.getImportees(), rapport.getRejetees());
+        return rapport;
+    }
+
+    private void ecrireLot(List<LigneLue> lot, List<String> entete, Set<String> logins,
+                           RapportImportDTO rapport) {
+        RapportImportDTO rapportLot = new RapportImportDTO();
+
+        // --- 1. Lecture et validation, logins uniques en base et dans le fichier ---
+        List<Integer> numeros = new ArrayList<>();
+        List<PersonnelDTO> dtos = new ArrayList<>();
+        for (LigneLue ligne : lot) {
+            try {
+                PersonnelDTO dto = entete != null ? lireCsv(entete, ligne.contenu())
+                        : objectMapper.readValue(ligne.contenu(), PersonnelDTO.class);
+                verifier(dto);
+                if (!logins.add(dto.getLoginPersonnel())) {
+                    throw new RuntimeException("Login déjà utilisé: " + dto.getLoginPersonnel());
+                }
+                numeros.add(ligne.numero());
+                dtos.add(dto);
+            } catch (Exception e) {
+                rapportLot.rejetee(ligne.numero(), e.getMessage());
+            }
+        }
+
+        // --- 2. Hachage en parallèle, puis code; une erreur ne rejette que sa ligne ---
+        List<Callable<String>> hachages = new ArrayList<>();
+        for (PersonnelDTO dto : dtos) {
+            hachages.add(() -> hachageMotsDePasse.encoderHorsFile(dto.getPadPersonnel()));
+        }
+        List<Future<String>> hashs;
+        try {
+            hashs = executeur.invokeAll(hachages);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Import interrompu.");
+        }
+        List<Personnel> personnels = new ArrayList<>();
+        List<Integer> numerosRetenus = new ArrayList<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            try {
+                personnels.add(preparer(dtos.get(i), hashs.get(i).get()));
+                numerosRetenus.add(numeros.get(i));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Import interrompu.");
+            } catch (ExecutionException | RuntimeException e) {
+                Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+                logins.remove(dtos.get(i).getLoginPersonnel());
+                rapportLot.rejetee(numeros.get(i), cause.getMessage());
+            }
+        }
+        numeros = numerosRetenus;
+
+        // --- 3. Insertion du lot (ordres INSERT groupés par hibernate.jdbc.batch_size) ---
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                personnels.forEach(entityManager::persist);
+                entityManager.flush();
+                entityManager.clear();
+            });
+            for (int i = 0; i < personnels.size(); i++) {
+                Personnel personnel = personnels.get(i);
+                rapportLot.importee(numeros.get(i), personnel.getCodePersonnel());
+                referentielCache.invaliderPersonnel(personnel.getCodePersonnel());
+                rechercheIndex.indexerPersonnel(personnelMapper.toDTO(personnel));
+            }
+            if (!personnels.isEmpty()) {
+                chargePersonnelService.invalider();
+            }
+        } catch (RuntimeException e) {
+            log.error("Lot d'import de personnels annulé: {}", e.getMessage());
+            for (int i = 0; i < personnels.size(); i++) {
+                logins.remove(personnels.get(i).getLoginPersonnel());
+                rapportLot.rejetee(numeros.get(i), "Lot annulé: " + e.getMessage());
+            }
+        }
+        rapportLot.getLignes().sort((a, b) -> Integer.compare(a.getLigne(), b.getLigne()));
+        rapport.getLignes().addAll(rapportLot.getLignes());
+        rapport.setImportees(rapport.getImportees() + rapportLot.getImportees());
+        rapport.setRejetees(rapport.getRejetees() + rapportLot.getRejetees());
+    }
+
+    private static void verifier(PersonnelDTO dto) {
+        if (estVide(dto.getNomPersonnel()) || estVide(dto.getLoginPersonnel()) || estVide(dto.getSexePersonnel())
+                || estVide(dto.getPhonePersonnel())) {
+            throw new RuntimeException("Le nom, le login, le sexe et le téléphone sont obligatoires.");
+        }
+        if (estVide(dto.getPadPersonnel())) {
+            throw new RuntimeException("Le mot de passe ne peut pas être vide.");
+        }
+        if (dto.getRolePersonnel() == null) {
+            throw new RuntimeException("Le rôle est obligatoire.");
+        }
+    }
+
+    private Personnel preparer(PersonnelDTO dto, String hash) {
+        String code = codeGenerator.generate(dto.getRolePersonnel().name());
+        if (code == null) {
+            throw new RuntimeException("Impossible de générer un code pour le rôle: " + dto.getRolePersonnel());
+        }
+        Personnel personnel = new Personnel();
+        personnel.setCodePersonnel(code);
+        personnel.setNomPersonnel(dto.getNomPersonnel());
+        personnel.setLoginPersonnel(dto.getLoginPersonnel());
+        personnel.setPadPersonnel(hash);
+        personnel.setSexePersonnel(dto.getSexePersonnel());
+        personnel.setPhonePersonnel(dto.getPhonePersonnel());
+        personnel.setRolePersonnel(dto.getRolePersonnel());
+        return personnel;
+    }
+
+    private static List<String> lireEntete(String ligne) {
+        List<String> entete = decouper(ligne.startsWith("\uFEFF") ? ligne.substring(1) : ligne);
+        for (String colonne : COLONNES_OBLIGATOIRES) {
+            if (!entete.contains(colonne)) {
+                throw new RuntimeException("Colonne manquante dans l'en-tête CSV: " + colonne);
+            }
+        }
+        return entete;
+    }
+
+    private static PersonnelDTO lireCsv(List<String> entete, String ligne) {
+        List<String> valeurs = decouper(ligne);
+        if (valeurs.size() != entete.size()) {
+            throw new RuntimeException("Nombre de colonnes incorrect: " + valeurs.size() + " au lieu de " + entete.size());
+        }
+        Map<String, String> champs = new HashMap<>();
+        for (int i = 0; i < entete.size(); i++) {
+            champs.put(entete.get(i), valeurs.get(i).trim());
+        }
+        PersonnelDTO dto = new PersonnelDTO();
+        dto.setNomPersonnel(champs.get("nomPersonnel"));
+        dto.setLoginPersonnel(champs.get("loginPersonnel"));
+        dto.setPadPersonnel(champs.get("padPersonnel"));
+        dto.setSexePersonnel(champs.get("sexePersonnel"));
+        dto.setPhonePersonnel(champs.get("phonePersonnel"));
+        String role = champs.get("rolePersonnel");
+        if (!estVide(role)) {
+            try {
+                dto.setRolePersonnel(RolePersonnel.valueOf(role.toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException("Rôle invalide : " + role);
+            }
+        }
+        return dto;
+    }
+
+    // Découpage CSV (RFC 4180) d'une ligne: valeurs entre guillemets, "" pour un guillemet
+    static List<String> decouper(String ligne) {
+        List<String> valeurs = new ArrayList<>();
+        StringBuilder valeur = new StringBuilder();
+        boolean entreGuillemets = false;
+        for (int i = 0; i < ligne.length(); i++) {
+            char c = ligne.charAt(i);
+            if (entreGuillemets) {
+                if (c == '"' && i + 1 < ligne.length() && ligne.charAt(i + 1) == '"') {
+                    valeur.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreGuillemets = false;
+                } else {
+                    valeur.append(c);
+                }
+            } else if (c == '"') {
+                entreGuillemets = true;
+            } else if (c == ',') {
+                valeurs.add(valeur.toString());
+                valeur.setLength(0);
+            } else {
+                valeur.append(c);
+            }
+        }
+        valeurs.add(valeur.toString());
+        return valeurs;
+    }
+
+    private static boolean estVide(String valeur) {
+        return valeur == null || valeur.isBlank();
+    }
+
+    private record LigneLue(int numero, String contenu) {
+    }
+}
@@ -1,10 +1,18 @@
 package com.suivi_academique.services.implementations;
 
+import com.suivi_academique.cache.ReferentielCache;
 import com.suivi_academique.dto.PersonnelDTO;
 import com.suivi_academique.entities.Personnel;
+import com.suivi_academique.index.RechercheIndex;
+import com.suivi_academique.security.JetonsRafraichissement;
+import com.suivi_academique.security.JetonsRevoques;
+import com.suivi_academique.security.UtilisateurCache;
 import com.suivi_academique.mappers.PersonnelMapper;
 import com.suivi_academique.repositories.PersonnelRepository;
+import com.suivi_academique.repositories.ProgrammationRepository;
+import com.suivi_academique.services.interfaces.ChargePersonnelInterface;
 import com.suivi_academique.services.interfaces.Personnelnterface;
+import com.suivi_academique.services.interfaces.ProgrammationInterface;
 import com.suivi_academique.utils.CodeGenerator;
 import com.suivi_academique.utils.RolePersonnel;
 import lombok.AllArgsConstructor;
@@ -13,6 +21,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,6 +35,22 @@ public class PersonnelService implements Personnelnterface {
         private CodeGenerator codeGenerator;
     private PasswordEncoder passwordEncoder;
 
+    private ReferentielCache referentielCache;
+
+    private RechercheIndex rechercheIndex;
+
+    private UtilisateurCache utilisateurCache;
+
+    private JetonsRevoques jetonsRevoques;
+
+    private JetonsRafraichissement jetonsRafraichissement;
+
+    private ChargePersonnelInterface chargePersonnelService;
+
+    private ProgrammationRepository programmationRepository;
+
+    private ProgrammationInterface programmationService;
+
 
     @Override
     public List<PersonnelDTO> getAll() {
@@ -50,6 +75,15 @@ public class PersonnelService implements Personnelnterface {
         if(personnel==null){
             throw new RuntimeException("Cours introuvable");
         }else{
+            // Ancien login: un changement de login, de mot de passe ou de rôle invalide la session en cache
+            utilisateurCache.invalider(personnel.getLoginPersonnel());
+            // ... et les jetons déjà émis, qui portent l'ancien rôle
+            if (!Objects.equals(personnel.getLoginPersonnel(), personnelDTO.getLoginPersonnel())
+                    || !Objects.equals(personnel.getPadPersonnel(), personnelDTO.getPadPersonnel())
+                    || personnel.getRolePersonnel() != personnelDTO.getRolePersonnel()) {
+                jetonsRevoques.revoquerUtilisateur(codePersonnel);
+                jetonsRafraichissement.revoquerUtilisateur(codePersonnel);
+            }
             personnel.setNomPersonnel(personnelDTO.getNomPersonnel());
             personnel.setLoginPersonnel(personnelDTO.getLoginPersonnel());
             personnel.setPadPersonnel(personnelDTO.getPadPersonnel());
@@ -57,7 +91,14 @@ public class PersonnelService implements Personnelnterface {
             personnel.setRolePersonnel(personnelDTO.getRolePersonnel());
             personnel.setSexePersonnel(personnelDTO.getSexePersonnel());
             personnelRepository.save(personnel);
-            return personnelMapper.toDTO(personnel);
+            referentielCache.invaliderPersonnel(codePersonnel);
+            utilisateurCache.invalider(personnel.getLoginPersonnel());
+            PersonnelDTO modifie = personnelMapper.toDTO(personnel);
+            rechercheIndex.indexerPersonnel(modifie);
+            chargePersonnelService.invalider();
+            // Les emplois du temps recopient le personnel dans chaque programmation
+            programmationService.republier(programmationRepository.findIdsByPersonnel(codePersonnel));
+            return modifie;
 
         }
     }
@@ -70,14 +111,24 @@ public class PersonnelService implements Personnelnterface {
 
     @Override
     public void delete(String codePersonnel) {
-        boolean exist = personnelRepository.existsById(codePersonnel);
+        // Chargé plutôt que existsById: le login sert à invalider le cache des utilisateurs
+        Personnel personnel = personnelRepository.findById(codePersonnel).orElse(null);
 
-        if (!exist) {
+        if (personnel == null) {
             // Cette erreur devrait renvoyer 400 Bad Request
             throw new RuntimeException("Personnel inexistant.");
         } else {
-            // C'est ici que l'échec se produit probablement
+            // Les programmations créées ou validées par ce personnel partent avec lui (cascade):
+            // relevées avant pour les retirer des index
+            List<Integer> programmations = programmationRepository.findIdsByPersonnel(codePersonnel);
             personnelRepository.deleteById(codePersonnel);
+            programmationService.retirerSupprimees(programmations);
+            referentielCache.invaliderPersonnel(codePersonnel);
+            rechercheIndex.retirer(RechercheIndex.Type.PERSONNEL, codePersonnel);
+            chargePersonnelService.invalider();
+            utilisateurCache.invalider(personnel.getLoginPersonnel());
+            jetonsRevoques.revoquerUtilisateur(codePersonnel);
+            jetonsRafraichissement.revoquerUtilisateur(codePersonnel);
         }
 
     }
@@ -104,7 +155,10 @@ public class PersonnelService implements Personnelnterface {
         }
 
         Personnel savedPersonnel = personnelRepository.save(personnel);
-        return personnelMapper.toDTO(savedPersonnel);
+        PersonnelDTO enregistre = personnelMapper.toDTO(savedPersonnel);
+        rechercheIndex.indexerPersonnel(enregistre);
+        chargePersonnelService.invalider();
+        return enregistre;
     }
 }
 
@@ -0,0 +1,321 @@
+package com.suivi_academique.services.implementations;
+
+import com.suivi_academique.dto.CoursDTO;
+import com.suivi_academique.dto.PersonnelDTO;
+import com.suivi_academique.dto.PlanificationDTO;
+import com.suivi_academique.dto.PlanificationRequestDTO;
+import com.suivi_academique.dto.ProgrammationDTO;
+import com.suivi_academique.dto.ProgrammationProjection;
+import com.suivi_academique.dto.SalleDTO;
+import com.suivi_academique.index.AffectationIndex;
+import com.suivi_academique.index.ReservationSalleIndex;
+import com.suivi_academique.index.SalleCatalogue;
+import com.suivi_academique.index.StatutSalleMoteur;
+import com.suivi_academique.mappers.CoursMapper;
+import com.suivi_academique.mappers.PersonnelMapper;
+import com.suivi_academique.planification.PlanificateurEmploiDuTemps;
+import com.suivi_academique.planification.PlanificateurEmploiDuTemps.Probleme;
+import com.suivi_academique.planification.PlanificateurEmploiDuTemps.Resultat;
+import com.suivi_academique.planification.PlanificateurEmploiDuTemps.Seance;
+import com.suivi_academique.repositories.CoursRepository;
+import com.suivi_academique.repositories.PersonnelRepository;
+import com.suivi_academique.repositories.ProgrammationRepository;
+import com.suivi_academique.services.interfaces.PlanificationInterface;
+import com.suivi_academique.utils.StatutProgrammation;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Propose des programmations couvrant les heures restantes de chaque cours sur une période,
+ * à partir des affectations (enseignants possibles) et des salles libres.
+ * Les propositions ne sont pas enregistrées. Les workers de recherche tournent sur un pool
+ * partagé de taille fixe, et le nombre de planifications simultanées est borné: au-delà, 503.
+ */
+@Slf4j
+@Service
+public class PlanificationService implements PlanificationInterface {
+
+    static final int BUDGET_MAX_SECONDES = 60;
+    static final int PERIODE_MAX_JOURS = 366;
+
+    private static final long HEURE = 3_600_000L;
+
+    private final ProgrammationRepository programmationRepository;
+    private final CoursRepository coursRepository;
+    private final AffectationIndex affectationIndex;
+    private final PersonnelRepository personnelRepository;
+    private final SalleCatalogue salleCatalogue;
+    private final CoursMapper coursMapper;
+    private final PersonnelMapper personnelMapper;
+    private final int workers;
+
+    private final ExecutorService executeur;
+
+    private final Semaphore planificationsEnCours;
+
+    public PlanificationService(ProgrammationRepository programmationRepository,
+                                CoursRepository coursRepository,
+                                AffectationIndex affectationIndex,
+                                PersonnelRepository personnelRepository,
+                                SalleCatalogue salleCatalogue,
+                                CoursMapper coursMapper,
+                                PersonnelMapper personnelMapper,
+                                @Value("${planification.workers:0}") int workers,
+                                @Value("${planification.simultanees:2}") int simultanees) {
+        this.programmationRepository = programmationRepository;
+        this.coursRepository = coursRepository;
+        this.affectationIndex = affectationIndex;
+        this.personnelRepository = personnelRepository;
+        this.salleCatalogue = salleCatalogue;
+        this.coursMapper = coursMapper;
+        this.personnelMapper = personnelMapper;
+        // 0: un worker par cœur disponible
+        this.workers = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        AtomicInteger numero = new AtomicInteger();
+        this.executeur = Executors.newFixedThreadPool(this.workers, tache -> {
+            Thread thread = new Thread(tache, "planification-" + numero.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.planificationsEnCours = new Semaphore(Math.max(1, simultanees));
+    }
+
+    @PreDestroy
+    public void arreter() {
+        executeur.shutdownNow();
+    }
+
+    @Override
+    public PlanificationDTO planifier(PlanificationRequestDTO demande) {
+        verifier(demande);
+        // Admission avant toute lecture en base: une demande refusée ne coûte rien
+        if (!planificationsEnCours.tryAcquire()) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Trop de planifications en cours, réessayez dans un instant.");
+        }
+        try {
+            return calculer(demande);
+        } finally {
+            planificationsEnCours.release();
+        }
+    }
+
+    private PlanificationDTO calculer(PlanificationRequestDTO demande) {
+        long depart = System.nanoTime();
+
+        // --- 1. Créneaux: séances de dureeSeance heures entre ouverture et fermeture, du lundi au samedi ---
+        List<Long> debuts = new ArrayList<>();
+        List<Integer> jours = new ArrayList<>();
+        construireCreneaux(demande, debuts, jours);
+        long dureeCreneau = demande.getDureeSeance() * HEURE;
+        long[] debutCreneau = debuts.stream().mapToLong(Long::longValue).toArray();
+        int[] jourCreneau = jours.stream().mapToInt(Integer::intValue).toArray();
+
+        // --- 2. Salles ouvertes assez grandes, de la plus petite à la plus grande ---
+        List<SalleDTO> salles = salleCatalogue.parContenance(demande.getContenanceMin(), null).stream()
+                .filter(salle -> StatutSalleMoteur.estReservable(salle.getStatutSalle()))
+                .toList();
+        Map<String, Integer> indexSalle = indexer(salles.stream().map(SalleDTO::getCodeSalle).toList());
+
+        // --- 3. Cours, heures restantes et enseignants affectés ---
+        List<CoursDTO> cours = coursRepository.findAll().stream().map(coursMapper::toDTO).toList();
+        Map<String, Integer> indexCours = indexer(cours.stream().map(CoursDTO::getCodeCours).toList());
+        Map<String, Integer> heuresProgrammees = new HashMap<>();
+        for (Object[] ligne : programmationRepository.sumHeuresParCours()) {
+            heuresProgrammees.put((String) ligne[0], ((Number) ligne[1]).intValue());
+        }
+        List<String> enseignants = new ArrayList<>();
+        Map<String, Integer> indexEnseignant = new HashMap<>();
+        Map<Integer, List<Integer>> enseignantsParCours = new HashMap<>();
+        // Lus dans l'index des affectations, sans requête
+        for (int c = 0; c < cours.size(); c++) {
+            for (String codeEnseignant : affectationIndex.enseignantsDe(cours.get(c).getCodeCours())) {
+                int e = indexEnseignant.computeIfAbsent(codeEnseignant, code -> {
+                    enseignants.add(code);
+                    return enseignants.size() - 1;
+                });
+                enseignantsParCours.computeIfAbsent(c, k -> new ArrayList<>()).add(e);
+            }
+        }
+
+        // --- 4. Séances à placer ---
+        List<Seance> seances = new ArrayList<>();
+        int heuresDemandees = 0;
+        for (int c = 0; c < cours.size(); c++) {
+            int restant = heures(cours.get(c)) - heuresProgrammees.getOrDefault(cours.get(c).getCodeCours(), 0);
+            if (restant <= 0) {
+                continue;
+            }
+            heuresDemandees += restant;
+            int[] candidats = enseignantsParCours.getOrDefault(c, List.of()).stream().mapToInt(Integer::intValue).toArray();
+            for (int h = 0; h < restant; h += demande.getDureeSeance()) {
+                seances.add(new Seance(c, Math.min(demande.getDureeSeance(), restant - h), candidats));
+            }
+        }
+
+        // --- 5. Occupations existantes sur la période ---
+        Probleme probleme = new Probleme(jourCreneau, salles.size(), enseignants.size(), cours.size(), seances);
+        for (ProgrammationProjection existante : programmationRepository.findVuesChevauchant(demande.getDebut(), demande.getFin())) {
+            if (!ReservationSalleIndex.occupeLaSalle(existante.getStatutProgrammation())) {
+                continue;
+            }
+            Integer r = indexSalle.get(existante.getCodeSalle());
+            Integer e = indexEnseignant.get(existante.getCodePersonnelProg());
+            Integer c = indexCours.get(existante.getCodeCours());
+            long debut = existante.getDateProgrammation().getTime();
+            long fin = existante.getFinProgrammation().getTime();
+            for (int t = premierCreneauFinissantApres(debutCreneau, dureeCreneau, debut);
+                 t < debutCreneau.length && debutCreneau[t] < fin; t++) {
+                if (r != null) {
+                    probleme.reserverSalle(r, t);
+                }
+                if (e != null) {
+                    probleme.reserverEnseignant(e, t);
+                }
+                if (c != null) {
+                    probleme.reserverCours(c, t);
+                }
+            }
+        }
+
+        // --- 6. Résolution parallèle ---
+        Resultat resultat = PlanificateurEmploiDuTemps.resoudre(probleme, demande.getBudgetSecondes() * 1000L,
+                workers, System.nanoTime(), executeur);
+
+        // --- 7. Propositions et qualité ---
+        Map<String, PersonnelDTO> personnels = new HashMap<>();
+        personnelRepository.findAllById(enseignants).forEach(personnel -> {
+            PersonnelDTO dto = personnelMapper.toDTO(personnel);
+            dto.setPadPersonnel(null);
+            personnels.put(dto.getCodePersonnel(), dto);
+        });
+        List<ProgrammationDTO> propositions = new ArrayList<>();
+        Map<String, Integer> heuresRestantes = new TreeMap<>();
+        int heuresPlacees = 0;
+        for (int s = 0; s < seances.size(); s++) {
+            Seance seance = seances.get(s);
+            CoursDTO coursSeance = cours.get(seance.cours());
+            int t = resultat.creneau()[s];
+            if (t == PlanificateurEmploiDuTemps.NON_PLACEE) {
+                heuresRestantes.merge(coursSeance.getCodeCours(), seance.heures(), Integer::sum);
+                continue;
+            }
+            heuresPlacees += seance.heures();
+            ProgrammationDTO proposition = new ProgrammationDTO();
+            proposition.setNbHeure(seance.heures());
+            proposition.setDateProgrammation(new Date(debutCreneau[t]));
+            proposition.setFinProgrammation(new Date(debutCreneau[t] + seance.heures() * HEURE));
+            proposition.setStatutProgrammation(StatutProgrammation.PROGRAMMER);
+            proposition.setSalle(salles.get(resultat.salle()[s]));
+            proposition.setCours(coursSeance);
+            String codeEnseignant = enseignants.get(resultat.enseignant()[s]);
+            proposition.setPersonnelProg(personnels.getOrDefault(codeEnseignant,
+                    new PersonnelDTO(codeEnseignant, null, null, null, null, null, null)));
+            propositions.add(proposition);
+        }
+        propositions.sort(Comparator.comparing(ProgrammationDTO::getDateProgrammation));
+
+        long dureeMs = (System.nanoTime() - depart) / 1_000_000L;
+        double taux = heuresDemandees == 0 ? 100.0 : Math.round(heuresPlacees * 10000.0 / heuresDemandees) / 100.0;
+        log.info("Planification: {}/{} heures placées sur {} créneaux, {} salles, {} workers en {} ms",
+                heuresPlacees, heuresDemandees, debutCreneau.length, salles.size(), resultat.workers(), dureeMs);
+        return new PlanificationDTO(propositions, heuresDemandees, heuresPlacees, taux,
+                seances.size() - resultat.placees(), resultat.penalite(), dureeMs, resultat.iterations(),
+                resultat.workers(), heuresRestantes);
+    }
+
+    private static void verifier(PlanificationRequestDTO demande) {
+        if (demande.getDebut() == null || demande.getFin() == null || !demande.getFin().after(demande.getDebut())) {
+            throw new RuntimeException("Période invalide: la fin doit être postérieure au début.");
+        }
+        if (demande.getFin().getTime() - demande.getDebut().getTime() > PERIODE_MAX_JOURS * 24 * HEURE) {
+            throw new RuntimeException("La période ne peut pas dépasser " + PERIODE_MAX_JOURS + " jours.");
+        }
+        if (demande.getHeureOuverture() < 0 || demande.getHeureFermeture() > 24
+                || demande.getHeureOuverture() >= demande.getHeureFermeture()) {
+            throw new RuntimeException("Heures d'ouverture et de fermeture invalides.");
+        }
+        if (demande.getDureeSeance() <= 0 || demande.getDureeSeance() > demande.getHeureFermeture() - demande.getHeureOuverture()) {
+            throw new RuntimeException("La durée d'une séance doit tenir dans la journée.");
+        }
+        if (demande.getBudgetSecondes() <= 0 || demande.getBudgetSecondes() > BUDGET_MAX_SECONDES) {
+            throw new RuntimeException("Le budget de temps doit être compris entre 1 et " + BUDGET_MAX_SECONDES + " secondes.");
+        }
+    }
+
+    private static void construireCreneaux(PlanificationRequestDTO demande, List<Long> debuts, List<Integer> jours) {
+        ZoneId zone = ZoneId.systemDefault();
+        long debutPeriode = demande.getDebut().getTime();
+        long finPeriode = demande.getFin().getTime();
+        LocalDate dernier = demande.getFin().toInstant().atZone(zone).toLocalDate();
+        int numeroJour = 0;
+        for (LocalDate jour = demande.getDebut().toInstant().atZone(zone).toLocalDate(); !jour.isAfter(dernier); jour = jour.plusDays(1)) {
+            if (jour.getDayOfWeek() == DayOfWeek.SUNDAY) {
+                continue;
+            }
+            boolean ouvert = false;
+            for (int h = demande.getHeureOuverture(); h + demande.getDureeSeance() <= demande.getHeureFermeture(); h += demande.getDureeSeance()) {
+                long debut = jour.atTime(h, 0).atZone(zone).toInstant().toEpochMilli();
+                if (debut >= debutPeriode && debut + demande.getDureeSeance() * HEURE <= finPeriode) {
+                    debuts.add(debut);
+                    jours.add(numeroJour);
+                    ouvert = true;
+                }
+            }
+            if (ouvert) {
+                numeroJour++;
+            }
+        }
+    }
+
+    // Créneaux triés et disjoints: recherche dichotomique du premier créneau qui finit après l'instant
+    private static int premierCreneauFinissantApres(long[] debutCreneau, long dureeCreneau, long instant) {
+        int bas = 0;
+        int haut = debutCreneau.length;
+        while (bas < haut) {
+            int milieu = (bas + haut) >>> 1;
+            if (debutCreneau[milieu] + dureeCreneau <= instant) {
+                bas = milieu + 1;
+            } else {
+                haut = milieu;
+            }
+        }
+        return bas;
+    }
+
+    // Nombre d'heures du cours tel qu'exposé par l'API (voir CoursMapper)
+    private static int heures(CoursDTO cours) {
+        try {
+            return Integer.parseInt(cours.getNbHeureCours().trim());
+        } catch (RuntimeException e) {
+            return 0;
+        }
+    }
+
+    private static Map<String, Integer> indexer(List<String> codes) {
+        Map<String, Integer> index = new HashMap<>();
+        for (int i = 0; i < codes.size(); i++) {
+            index.put(codes.get(i), i);
+        }
+        return index;
+    }
+}
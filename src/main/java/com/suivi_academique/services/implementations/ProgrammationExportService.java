@@ -0,0 +1,102 @@
+package com.suivi_academique.services.implementations;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.suivi_academique.dto.ProgrammationProjection;
+import com.suivi_academique.mappers.ProgrammationMapper;
+import com.suivi_academique.repositories.ProgrammationRepository;
+import com.suivi_academique.services.interfaces.ProgrammationExportInterface;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.stream.Stream;
+
+/**
+ * Export des programmations écrit au fil de la lecture: une ligne lue, une ligne écrite,
+ * sans jamais construire la liste complète en mémoire.
+ */
+@Service
+@AllArgsConstructor
+public class ProgrammationExportService implements ProgrammationExportInterface {
+
+    private static final String ENTETE_CSV = "id,nbHeure,dateProgrammation,finProgrammation,statutProgrammation,"
+            + "codeSalle,codeCours,labelCours,codePersonnelProg,nomPersonnelProg,codePersonnelVal,nomPersonnelVal";
+
+    private final ProgrammationRepository programmationRepository;
+    private final ProgrammationMapper programmationMapper;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exporter(String format, Date debut, Date fin, OutputStream sortie) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(sortie, StandardCharsets.UTF_8));
+        try (Stream<ProgrammationProjection> lignes = programmationRepository.streamVues(debut, fin)) {
+            if (FORMAT_CSV.equals(format)) {
+                SimpleDateFormat dateFormat = new SimpleDateFormat("dd.MM.yyyy HH:mm:ss");
+                writer.write(ENTETE_CSV);
+                writer.write('\n');
+                lignes.forEach(ligne -> ecrire(writer, versCsv(ligne, dateFormat)));
+            } else if (FORMAT_NDJSON.equals(format)) {
+                lignes.forEach(ligne -> ecrire(writer, versJson(ligne)));
+            } else {
+                throw new RuntimeException("Format d'export inconnu: " + format);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    private String versJson(ProgrammationProjection ligne) {
+        try {
+            return objectMapper.writeValueAsString(programmationMapper.toDTO(ligne));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String versCsv(ProgrammationProjection ligne, SimpleDateFormat dateFormat) {
+        return String.join(",",
+                String.valueOf(ligne.getId()),
+                String.valueOf(ligne.getNbHeure()),
+                dateFormat.format(ligne.getDateProgrammation()),
+                dateFormat.format(ligne.getFinProgrammation()),
+                ligne.getStatutProgrammation() != null ? ligne.getStatutProgrammation().name() : "",
+                champ(ligne.getCodeSalle()),
+                champ(ligne.getCodeCours()),
+                champ(ligne.getLabelCours()),
+                champ(ligne.getCodePersonnelProg()),
+                champ(ligne.getNomPersonnelProg()),
+                champ(ligne.getCodePersonnelVal()),
+                champ(ligne.getNomPersonnelVal()));
+    }
+
+    // Échappement CSV (RFC 4180): guillemets autour des valeurs contenant , " ou un saut de ligne
+    private static String champ(String valeur) {
+        if (valeur == null) {
+            return "";
+        }
+        if (valeur.indexOf(',') >= 0 || valeur.indexOf('"') >= 0 || valeur.indexOf('\n') >= 0 || valeur.indexOf('\r') >= 0) {
+            return '"' + valeur.replace("\"", "\"\"") + '"';
+        }
+        return valeur;
+    }
+
+    private static void ecrire(Writer writer, String ligne) {
+        try {
+            writer.write(ligne);
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
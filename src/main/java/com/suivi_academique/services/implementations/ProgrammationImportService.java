@@ -0,0 +1,285 @@
+package com.suivi_academique.services.implementations;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.suivi_academique.dto.ProgrammationDTO;
+import com.suivi_academique.dto.RapportImportDTO;
+import com.suivi_academique.entities.Cours;
+import com.suivi_academique.entities.Personnel;
+import com.suivi_academique.entities.Programmation;
+import com.suivi_academique.entities.Salle;
+import com.suivi_academique.events.ProgrammationModifieeEvent;
+import com.suivi_academique.index.ReservationSalleIndex;
+import com.suivi_academique.index.StatutSalleMoteur;
+import com.suivi_academique.mappers.ProgrammationMapper;
+import com.suivi_academique.repositories.CoursRepository;
+import com.suivi_academique.repositories.PersonnelRepository;
+import com.suivi_academique.repositories.ProgrammationRepository;
+import com.suivi_academique.repositories.SalleRepository;
+import com.suivi_academique.services.interfaces.ProgrammationImportInterface;
+import com.suivi_academique.utils.SalleStatus;
+import com.suivi_academique.utils.StatutProgrammation;
+import com.suivi_academique.utils.VerrousSalles;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Import en masse de programmations au format NDJSON (un ProgrammationDTO par ligne).
+ * Les lignes sont lues en flux et écrites par lots, chaque lot dans sa propre transaction.
+ */
+@Slf4j
+@Service
+public class ProgrammationImportService implements ProgrammationImportInterface {
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final SalleRepository salleRepository;
+    private final CoursRepository coursRepository;
+    private final PersonnelRepository personnelRepository;
+    private final ReservationSalleIndex reservationSalleIndex;
+    private final ProgrammationRepository programmationRepository;
+    private final ProgrammationMapper programmationMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final VerrousSalles verrousSalles;
+    private final int tailleLot;
+    private final boolean verrouBase;
+
+    public ProgrammationImportService(EntityManager entityManager,
+                                      PlatformTransactionManager transactionManager,
+                                      ObjectMapper objectMapper,
+                                      SalleRepository salleRepository,
+                                      CoursRepository coursRepository,
+                                      PersonnelRepository personnelRepository,
+                                      ReservationSalleIndex reservationSalleIndex,
+                                      ProgrammationRepository programmationRepository,
+                                      ProgrammationMapper programmationMapper,
+                                      ApplicationEventPublisher eventPublisher,
+                                      VerrousSalles verrousSalles,
+                                      @Value("${programmation.import.taille-lot:500}") int tailleLot,
+                                      @Value("${programmation.verrou-base.actif:true}") boolean verrouBase) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.salleRepository = salleRepository;
+        this.coursRepository = coursRepository;
+        this.personnelRepository = personnelRepository;
+        this.reservationSalleIndex = reservationSalleIndex;
+        this.programmationRepository = programmationRepository;
+        this.programmationMapper = programmationMapper;
+        this.eventPublisher = eventPublisher;
+        this.verrousSalles = verrousSalles;
+        this.tailleLot = tailleLot;
+        this.verrouBase = verrouBase;
+    }
+
+    @Override
+    public RapportImportDTO importer(InputStream ndjson) throws IOException {
+        RapportImportDTO rapport = new RapportImportDTO();
+        Referentiel referentiel = chargerReferentiel();
+
+        try (BufferedReader lecteur = new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8))) {
+            List<LigneLue> lot = new ArrayList<>(tailleLot);
+            String contenu;
+            int numero = 0;
+            while ((contenu = lecteur.readLine()) != null) {
+                numero++;
+                if (contenu.isBlank()) {
+                    continue;
+                }
+                rapport.setLignesLues(rapport.getLignesLues() + 1);
+                lot.add(new LigneLue(numero, contenu));
+                if (lot.size() == tailleLot) {
+                    ecrireLot(lot, referentiel, rapport);
+                    lot.clear();
+                }
+            }
+            if (!lot.isEmpty()) {
+                ecrireLot(lot, referentiel, rapport);
+            }
+        }
+        log.info("Import de programmations terminé: {} importées, {} rejetées", rapport.getImportees(), rapport.getRejetees());
+        return rapport;
+    }
+
+    // Valide et persiste un lot; en cas d'échec du commit, tout le lot est rejeté et désindexé
+    private void ecrireLot(List<LigneLue> lot, Referentiel referentiel, RapportImportDTO rapport) {
+        List<Programmation> persistees = new ArrayList<>();
+        List<Integer> lignesPersistees = new ArrayList<>();
+        RapportImportDTO rapportLot = new RapportImportDTO();
+
+        // Lecture hors verrou: seules les lignes bien formées participent au lot
+        List<LigneLue> lignesValides = new ArrayList<>();
+        List<ProgrammationDTO> dtos = new ArrayList<>();
+        Set<String> codesSalle = new HashSet<>();
+        for (LigneLue ligne : lot) {
+            try {
+                ProgrammationDTO dto = objectMapper.readValue(ligne.contenu(), ProgrammationDTO.class);
+                if (dto.getSalle() != null && dto.getSalle().getCodeSalle() != null) {
+                    codesSalle.add(dto.getSalle().getCodeSalle());
+                }
+                lignesValides.add(ligne);
+                dtos.add(dto);
+            } catch (Exception e) {
+                rapportLot.rejetee(ligne.numero(), e.getMessage());
+            }
+        }
+
+        // Mêmes verrous que ProgrammationService.save: pas de double réservation avec les créations unitaires
+        try (VerrousSalles.Verrouillage verrou = verrousSalles.verrouiller(codesSalle)) {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (verrouBase && !codesSalle.isEmpty()) {
+                    salleRepository.findAllByIdForUpdate(codesSalle);
+                    synchroniserIndex(codesSalle, dtos);
+                }
+                for (int i = 0; i < lignesValides.size(); i++) {
+                    try {
+                        Programmation programmation = preparer(dtos.get(i), referentiel);
+                        entityManager.persist(programmation);
+                        // Indexée tout de suite pour que les lignes suivantes voient ce créneau
+                        reservationSalleIndex.indexer(programmation);
+                        persistees.add(programmation);
+                        lignesPersistees.add(lignesValides.get(i).numero());
+                    } catch (Exception e) {
+                        rapportLot.rejetee(lignesValides.get(i).numero(), e.getMessage());
+                    }
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+            for (int i = 0; i < persistees.size(); i++) {
+                rapportLot.importee(lignesPersistees.get(i), persistees.get(i).getId());
+            }
+        } catch (RuntimeException e) {
+            log.error("Lot d'import annulé: {}", e.getMessage());
+            persistees.forEach(programmation -> reservationSalleIndex.retirer(programmation.getId()));
+            for (Integer numero : lignesPersistees) {
+                rapportLot.rejetee(numero, "Lot annulé: " + e.getMessage());
+            }
+            persistees.clear();
+        }
+        publierLot(persistees);
+        rapportLot.getLignes().sort((a, b) -> Integer.compare(a.getLigne(), b.getLigne()));
+        rapport.getLignes().addAll(rapportLot.getLignes());
+        rapport.setImportees(rapport.getImportees() + rapportLot.getImportees());
+        rapport.setRejetees(rapport.getRejetees() + rapportLot.getRejetees());
+    }
+
+    // Salles verrouillées en base: on reporte dans l'index les réservations écrites par d'autres instances
+    private void synchroniserIndex(Set<String> codesSalle, List<ProgrammationDTO> dtos) {
+        Date debut = null;
+        Date fin = null;
+        for (ProgrammationDTO dto : dtos) {
+            if (dto.getDateProgrammation() != null && (debut == null || dto.getDateProgrammation().before(debut))) {
+                debut = dto.getDateProgrammation();
+            }
+            if (dto.getFinProgrammation() != null && (fin == null || dto.getFinProgrammation().after(fin))) {
+                fin = dto.getFinProgrammation();
+            }
+        }
+        if (debut == null || fin == null) {
+            return;
+        }
+        for (Object[] creneau : programmationRepository.findCreneauxSalles(codesSalle, debut, fin)) {
+            reservationSalleIndex.enregistrer(new ReservationSalleIndex.Creneau((Integer) creneau[0], (String) creneau[1],
+                    ((Date) creneau[2]).getTime(), ((Date) creneau[3]).getTime()));
+        }
+    }
+
+    // Une requête par lot validé pour diffuser les programmations avec leurs relations complètes
+    private void publierLot(List<Programmation> persistees) {
+        if (persistees.isEmpty()) {
+            return;
+        }
+        List<Integer> ids = persistees.stream().map(Programmation::getId).toList();
+        programmationRepository.findVuesByIds(ids).forEach(vue ->
+                eventPublisher.publishEvent(new ProgrammationModifieeEvent(vue.getId(), programmationMapper.toDTO(vue))));
+    }
+
+    private Programmation preparer(ProgrammationDTO dto, Referentiel referentiel) {
+        if (dto.getSalle() == null || dto.getCours() == null || dto.getPersonnelProg() == null) {
+            throw new RuntimeException("La salle, le cours et le personnel programmateur sont obligatoires.");
+        }
+        String codeSalle = dto.getSalle().getCodeSalle();
+        SalleStatus statutSalle = referentiel.salles().get(codeSalle);
+        if (statutSalle == null) {
+            throw new RuntimeException("Salle introuvable avec l'ID: " + codeSalle);
+        }
+        if (!referentiel.cours().contains(dto.getCours().getCodeCours())) {
+            throw new RuntimeException("Cours introuvable avec l'ID: " + dto.getCours().getCodeCours());
+        }
+        if (!referentiel.personnels().contains(dto.getPersonnelProg().getCodePersonnel())
+                || (dto.getPersonnelVal() != null && !referentiel.personnels().contains(dto.getPersonnelVal().getCodePersonnel()))) {
+            throw new RuntimeException("Personnel introuvable.");
+        }
+        if (dto.getNbHeure() <= 0) {
+            throw new RuntimeException("La durée de la programmation doit être supérieure à zéro.");
+        }
+        if (dto.getDateProgrammation() == null || dto.getFinProgrammation() == null) {
+            throw new RuntimeException("Les dates de début et de fin de programmation sont obligatoires.");
+        }
+        if (!dto.getFinProgrammation().after(dto.getDateProgrammation())) {
+            throw new RuntimeException("La fin de la programmation doit être postérieure à son début.");
+        }
+        if (!StatutSalleMoteur.estReservable(statutSalle)) {
+            throw new RuntimeException("La Salle " + codeSalle + " n'est pas disponible pour la programmation. Statut actuel: " + statutSalle);
+        }
+        if (dto.getStatutProgrammation() == null) {
+            dto.setStatutProgrammation(StatutProgrammation.PROGRAMMER);
+        }
+        if (ReservationSalleIndex.occupeLaSalle(dto.getStatutProgrammation())) {
+            List<ReservationSalleIndex.Creneau> conflits = reservationSalleIndex.conflits(codeSalle,
+                    dto.getDateProgrammation(), dto.getFinProgrammation(), null);
+            if (!conflits.isEmpty()) {
+                throw new RuntimeException("La Salle " + codeSalle + " est déjà réservée sur ce créneau (programmation n°"
+                        + conflits.get(0).id() + ").");
+            }
+        }
+
+        // Références sans chargement: les existences ont été vérifiées sur le référentiel
+        Programmation programmation = new Programmation();
+        programmation.setNbHeure(dto.getNbHeure());
+        programmation.setDateProgrammation(dto.getDateProgrammation());
+        programmation.setFinProgrammation(dto.getFinProgrammation());
+        programmation.setStatutProgrammation(dto.getStatutProgrammation());
+        programmation.setSalle(entityManager.getReference(Salle.class, codeSalle));
+        programmation.setCours(entityManager.getReference(Cours.class, dto.getCours().getCodeCours()));
+        programmation.setPersonnelProg(entityManager.getReference(Personnel.class, dto.getPersonnelProg().getCodePersonnel()));
+        if (dto.getPersonnelVal() != null) {
+            programmation.setPersonnelVal(entityManager.getReference(Personnel.class, dto.getPersonnelVal().getCodePersonnel()));
+        }
+        return programmation;
+    }
+
+    // Une requête par table de référence pour tout l'import, au lieu d'une par ligne
+    private Referentiel chargerReferentiel() {
+        Map<String, SalleStatus> salles = new HashMap<>();
+        salleRepository.findAll().forEach(salle -> salles.put(salle.getCodeSalle(), salle.getStatutSalle()));
+        return new Referentiel(salles,
+                new HashSet<>(coursRepository.findAllCodes()),
+                new HashSet<>(personnelRepository.findAllCodes()));
+    }
+
+    private record LigneLue(int numero, String contenu) {
+    }
+
+    private record Referentiel(Map<String, SalleStatus> salles, Set<String> cours, Set<String> personnels) {
+    }
+}
@@ -1,25 +1,62 @@
 package com.suivi_academique.services.implementations;
 
+import com.suivi_academique.cache.ReferentielCache;
+import com.suivi_academique.dto.PageProgrammationDTO;
+import com.suivi_academique.dto.SalleDTO;
 import com.suivi_academique.dto.ProgrammationDTO;
+import com.suivi_academique.dto.ProgrammationProjection;
+import com.suivi_academique.dto.RapportValidationDTO;
+import com.suivi_academique.dto.ResultatValidationDTO;
+import com.suivi_academique.dto.ValidationRequestDTO;
+import com.suivi_academique.entities.Personnel;
 import com.suivi_academique.entities.Programmation;
 import com.suivi_academique.entities.Salle;
+import com.suivi_academique.events.ProgrammationModifieeEvent;
+import com.suivi_academique.index.ReservationSalleIndex;
+import com.suivi_academique.index.SalleCatalogue;
+import com.suivi_academique.index.StatutSalleMoteur;
 import com.suivi_academique.mappers.ProgrammationMapper;
 import com.suivi_academique.mappers.SalleMapper;
+import com.suivi_academique.repositories.PersonnelRepository;
 import com.suivi_academique.repositories.ProgrammationRepository;
 import com.suivi_academique.repositories.SalleRepository;
 import com.suivi_academique.services.interfaces.ProgrammationInterface; // Interface supposée
 import com.suivi_academique.utils.SalleStatus;
-import lombok.AllArgsConstructor;
+import com.suivi_academique.utils.StatutProgrammation;
+import com.suivi_academique.utils.VerrousSalles;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
-@AllArgsConstructor
 public class ProgrammationService implements ProgrammationInterface {
 
+    static final int LIMITE_MAX = 500;
+
+    static final int LIMITE_VALIDATION = 5000;
+
+    // Taille des listes IN des requêtes de validation
+    private static final int TAILLE_LOT_VALIDATION = 1000;
+
+    // Ids par requête quand les vues d'une salle, d'un cours ou d'un personnel sont republiées
+    private static final int TAILLE_REPUBLICATION = 1000;
+
     private final ProgrammationRepository programmationRepository;
     private final ProgrammationMapper programmationMapper;
 
@@ -27,14 +64,79 @@ public class ProgrammationService implements ProgrammationInterface {
 
     private final SalleMapper salleMapper;
 
+    private final PersonnelRepository personnelRepository;
+
+    private final ReservationSalleIndex reservationSalleIndex;
+
+    private final SalleCatalogue salleCatalogue;
+
+    private final ReferentielCache referentielCache;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final VerrousSalles verrousSalles;
+
+    private final TransactionTemplate transactionTemplate;
+
+    // Verrou de ligne sur la Salle et contrôle des conflits en base, pour plusieurs instances de l'API
+    private final boolean verrouBase;
+
+    public ProgrammationService(ProgrammationRepository programmationRepository,
+                                ProgrammationMapper programmationMapper,
+                                SalleRepository salleRepository,
+                                SalleMapper salleMapper,
+                                PersonnelRepository personnelRepository,
+                                ReservationSalleIndex reservationSalleIndex,
+                                SalleCatalogue salleCatalogue,
+                                ReferentielCache referentielCache,
+                                ApplicationEventPublisher eventPublisher,
+                                VerrousSalles verrousSalles,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${programmation.verrou-base.actif:true}") boolean verrouBase) {
+        this.programmationRepository = programmationRepository;
+        this.programmationMapper = programmationMapper;
+        this.salleRepository = salleRepository;
+        this.salleMapper = salleMapper;
+        this.personnelRepository = personnelRepository;
+        this.reservationSalleIndex = reservationSalleIndex;
+        this.salleCatalogue = salleCatalogue;
+        this.referentielCache = referentielCache;
+        this.eventPublisher = eventPublisher;
+        this.verrousSalles = verrousSalles;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.verrouBase = verrouBase;
+    }
+
     @Override
     public ProgrammationDTO save(ProgrammationDTO programmationDTO){
 
-        // --- 1. Vérification de l'existence de la Salle ---
         String codeSalle = programmationDTO.getSalle().getCodeSalle();
 
-        Salle salle = salleRepository.findById(codeSalle)
-                .orElseThrow(() -> new RuntimeException("Salle introuvable avec l'ID: " + codeSalle));
+        // Vérification et écriture sérialisées par salle; l'index est mis à jour avant de relâcher le verrou
+        Programmation programmation;
+        try (VerrousSalles.Verrouillage verrou = verrousSalles.verrouiller(codeSalle)) {
+            programmation = transactionTemplate.execute(status -> enregistrer(codeSalle, programmationDTO));
+            reservationSalleIndex.indexer(programmation);
+        }
+        publierModification(programmation.getId());
+        return programmationMapper.toDTO(programmation);
+    }
+
+    private Programmation enregistrer(String codeSalle, ProgrammationDTO programmationDTO) {
+
+        // --- 1. Vérification de l'existence de la Salle ---
+        // Avec le verrou base, la ligne est lue FOR UPDATE (verrouillée jusqu'au commit) et ne peut venir du cache
+        SalleStatus statutSalle;
+        if (verrouBase) {
+            Salle salle = salleRepository.findByIdForUpdate(codeSalle)
+                    .orElseThrow(() -> new RuntimeException("Salle introuvable avec l'ID: " + codeSalle));
+            statutSalle = salle.getStatutSalle();
+        } else {
+            SalleDTO salle = Optional.ofNullable(salleCatalogue.get(codeSalle))
+                    .orElseThrow(() -> new RuntimeException("Salle introuvable avec l'ID: " + codeSalle));
+            statutSalle = salle.getStatutSalle();
+        }
+        verifierReferentiels(programmationDTO);
 
         if (programmationDTO.getNbHeure() <= 0) {
             throw new RuntimeException("La durée de la programmation doit être supérieure à zéro.");
@@ -42,26 +144,71 @@ public class ProgrammationService implements ProgrammationInterface {
         if (programmationDTO.getDateProgrammation() == null || programmationDTO.getFinProgrammation() == null) {
             throw new RuntimeException("Les dates de début et de fin de programmation sont obligatoires.");
         }
-        if (salle.getStatutSalle() != SalleStatus.LIBRE) {
-            String statutActuel = salle.getStatutSalle() != null ? salle.getStatutSalle().name() : "NON DÉFINI";
+        // FERMER est une fermeture manuelle; l'occupation réelle se juge sur les créneaux
+        if (!StatutSalleMoteur.estReservable(statutSalle)) {
+            String statutActuel = statutSalle != null ? statutSalle.name() : "NON DÉFINI";
             throw new RuntimeException("La Salle " + codeSalle + " n'est pas disponible pour la programmation. Statut actuel: " + statutActuel);
         }
-
+        verifierCreneau(codeSalle, programmationDTO, null);
 
         Programmation programmation = programmationMapper.toEntity(programmationDTO);
-        programmation = programmationRepository.save(programmation);
-        return programmationMapper.toDTO(programmation);
+        return programmationRepository.save(programmation);
+    }
+
+    // Cours et personnels lus dans le cache des référentiels plutôt qu'en base à chaque écriture
+    private void verifierReferentiels(ProgrammationDTO programmationDTO) {
+        if (programmationDTO.getCours() != null) {
+            String codeCours = programmationDTO.getCours().getCodeCours();
+            if (codeCours == null || referentielCache.cours(codeCours).isEmpty()) {
+                throw new RuntimeException("Le Cours avec l'ID " + codeCours + " n'existe pas.");
+            }
+        }
+        if (programmationDTO.getPersonnelProg() != null) {
+            String codePersonnel = programmationDTO.getPersonnelProg().getCodePersonnel();
+            if (codePersonnel == null || referentielCache.personnel(codePersonnel).isEmpty()) {
+                throw new RuntimeException("Le Personnel avec l'ID " + codePersonnel + " n'existe pas.");
+            }
+        }
     }
 
     @Override
     public List<ProgrammationDTO> getAll() {
-        return programmationRepository.findAll().stream().map(
+        return programmationRepository.findAllVues().stream().map(
                 programmationMapper::toDTO).collect(Collectors.toList());
     }
 
+    @Override
+    public PageProgrammationDTO getPage(String curseur, int limit, Sort.Direction direction) {
+        if (limit <= 0 || limit > LIMITE_MAX) {
+            throw new RuntimeException("La limite doit être comprise entre 1 et " + LIMITE_MAX + ".");
+        }
+        // Une ligne de plus que demandé indique s'il reste une page
+        Limit limite = Limit.of(limit + 1);
+        List<ProgrammationProjection> programmations;
+        if (curseur == null || curseur.isBlank()) {
+            programmations = direction.isAscending()
+                    ? programmationRepository.findPageCroissante(limite)
+                    : programmationRepository.findPageDecroissante(limite);
+        } else {
+            Programmation position = decoderCurseur(curseur, direction);
+            programmations = direction.isAscending()
+                    ? programmationRepository.findPageCroissanteApres(position.getDateProgrammation(), position.getId(), limite)
+                    : programmationRepository.findPageDecroissanteAvant(position.getDateProgrammation(), position.getId(), limite);
+        }
+
+        String curseurSuivant = null;
+        if (programmations.size() > limit) {
+            programmations = programmations.subList(0, limit);
+            curseurSuivant = encoderCurseur(programmations.get(limit - 1), direction);
+        }
+        return new PageProgrammationDTO(
+                programmations.stream().map(programmationMapper::toDTO).collect(Collectors.toList()),
+                curseurSuivant);
+    }
+
     @Override
     public ProgrammationDTO getById(int id) {
-        Optional<Programmation> programmationOpt = programmationRepository.findById(id);
+        Optional<ProgrammationProjection> programmationOpt = programmationRepository.findVueById(id);
 
         if (programmationOpt.isEmpty()) {
             throw new RuntimeException("Programmation non trouvée avec l'ID: " + id);
@@ -73,9 +220,45 @@ public class ProgrammationService implements ProgrammationInterface {
     @Override
     public ProgrammationDTO update(int id, ProgrammationDTO programmationDTO) {
 
+        String codeSalle = programmationRepository.findCodeSalleById(id)
+                .orElseThrow(() -> new RuntimeException("Programmation introuvable pour la mise à jour."));
+
+        if (programmationDTO.getDateProgrammation() == null || programmationDTO.getFinProgrammation() == null) {
+            throw new RuntimeException("Les dates de début et de fin de programmation sont obligatoires.");
+        }
+
+        Programmation existingProgrammation;
+        try (VerrousSalles.Verrouillage verrou = verrousSalles.verrouiller(codeSalle)) {
+            existingProgrammation = transactionTemplate.execute(status -> modifier(id, codeSalle, programmationDTO));
+            reservationSalleIndex.indexer(existingProgrammation);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw new RuntimeException("La programmation n°" + id + " a été modifiée par une autre requête. Rechargez-la puis réessayez.");
+        }
+        publierModification(id);
+        return programmationMapper.toDTO(existingProgrammation);
+    }
+
+    private Programmation modifier(int id, String codeSalle, ProgrammationDTO programmationDTO) {
+
+        // Sans version, deux modifications concurrentes s'écraseraient sans erreur
+        if (programmationDTO.getVersion() == null) {
+            throw new RuntimeException("La version de la programmation est obligatoire pour la mise à jour: "
+                    + "renvoyez celle reçue à la lecture.");
+        }
+        if (verrouBase) {
+            salleRepository.findByIdForUpdate(codeSalle);
+        }
         Programmation existingProgrammation = programmationRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Programmation introuvable pour la mise à jour."));
 
+        // Le client a modifié une version qui n'est plus la version courante
+        if (programmationDTO.getVersion() != existingProgrammation.getVersion()) {
+            throw new RuntimeException("La programmation n°" + id + " a été modifiée entre-temps (version "
+                    + programmationDTO.getVersion() + " envoyée, version actuelle " + existingProgrammation.getVersion()
+                    + "). Rechargez-la puis réessayez.");
+        }
+        verifierCreneau(codeSalle, programmationDTO, id);
+
         existingProgrammation.setNbHeure(programmationDTO.getNbHeure());
         existingProgrammation.setDateProgrammation(programmationDTO.getDateProgrammation());
         existingProgrammation.setFinProgrammation(programmationDTO.getFinProgrammation());
@@ -90,8 +273,67 @@ public class ProgrammationService implements ProgrammationInterface {
         existingProgrammation.setPersonnelVal(personnelMapper.toEntity(programmationDTO.getPersonnelVal()));
         */
 
-        programmationRepository.save(existingProgrammation);
-        return programmationMapper.toDTO(existingProgrammation);
+        // Flush avant le retour: la version incrémentée est visible dans la réponse
+        return programmationRepository.saveAndFlush(existingProgrammation);
+    }
+
+    @Override
+    public RapportValidationDTO valider(ValidationRequestDTO demande, String codeValidateur) {
+        if (codeValidateur == null) {
+            throw new RuntimeException("Utilisateur non authentifié.");
+        }
+        StatutProgrammation cible = demande.getStatut();
+        if (cible != StatutProgrammation.VALIDER && cible != StatutProgrammation.NON_VALIDER) {
+            throw new RuntimeException("Le statut cible doit être VALIDER ou NON_VALIDER.");
+        }
+        List<Integer> ids = demande.getIds() != null && !demande.getIds().isEmpty()
+                ? demande.getIds().stream().distinct().collect(Collectors.toList())
+                : programmationRepository.findIdsEnAttente(demande.getCodeSalle(), demande.getCodeCours(),
+                        demande.getDebut(), demande.getFin(), Limit.of(LIMITE_VALIDATION + 1));
+        if (ids.size() > LIMITE_VALIDATION) {
+            throw new RuntimeException("Au plus " + LIMITE_VALIDATION + " programmations peuvent être traitées à la fois.");
+        }
+
+        // Tout ou rien: une transaction, deux instructions par lot (lecture verrouillée puis UPDATE)
+        RapportValidationDTO rapport = new RapportValidationDTO(cible);
+        List<Integer> traitees = new ArrayList<>();
+        transactionTemplate.executeWithoutResult(status -> {
+            Personnel validateur = personnelRepository.getReferenceById(codeValidateur);
+            for (int debut = 0; debut < ids.size(); debut += TAILLE_LOT_VALIDATION) {
+                List<Integer> lot = ids.subList(debut, Math.min(ids.size(), debut + TAILLE_LOT_VALIDATION));
+                Map<Integer, StatutProgrammation> statuts = new HashMap<>();
+                for (Object[] ligne : programmationRepository.findStatutsForUpdate(lot)) {
+                    statuts.put((Integer) ligne[0], (StatutProgrammation) ligne[1]);
+                }
+                List<Integer> enAttente = new ArrayList<>();
+                for (Integer id : lot) {
+                    StatutProgrammation actuel = statuts.get(id);
+                    if (actuel == null) {
+                        rapport.refusee(id, "Programmation non trouvée avec l'ID: " + id);
+                    } else if (actuel != StatutProgrammation.PROGRAMMER) {
+                        rapport.refusee(id, "Programmation déjà traitée (statut actuel: " + actuel + ").");
+                    } else {
+                        enAttente.add(id);
+                    }
+                }
+                if (!enAttente.isEmpty()) {
+                    programmationRepository.changerStatut(enAttente, cible, validateur);
+                    traitees.addAll(enAttente);
+                }
+            }
+        });
+        traitees.forEach(rapport::traitee);
+        rapport.getResultats().sort(Comparator.comparingInt(ResultatValidationDTO::getId));
+
+        // Une programmation refusée libère sa salle
+        if (cible == StatutProgrammation.NON_VALIDER) {
+            traitees.forEach(reservationSalleIndex::retirer);
+        }
+        for (int debut = 0; debut < traitees.size(); debut += TAILLE_LOT_VALIDATION) {
+            programmationRepository.findVuesByIds(traitees.subList(debut, Math.min(traitees.size(), debut + TAILLE_LOT_VALIDATION)))
+                    .forEach(vue -> eventPublisher.publishEvent(new ProgrammationModifieeEvent(vue.getId(), programmationMapper.toDTO(vue))));
+        }
+        return rapport;
     }
 
     @Override
@@ -103,5 +345,79 @@ public class ProgrammationService implements ProgrammationInterface {
         }
 
         programmationRepository.deleteById(id);
+        retirerSupprimees(List.of(id));
+    }
+
+    @Override
+    public void retirerSupprimees(List<Integer> ids) {
+        for (int id : ids) {
+            reservationSalleIndex.retirer(id);
+            eventPublisher.publishEvent(ProgrammationModifieeEvent.supprimee(id));
+        }
+    }
+
+    @Override
+    public void republier(List<Integer> ids) {
+        // Une requête par tranche, comme l'import publie un lot
+        for (int debut = 0; debut < ids.size(); debut += TAILLE_REPUBLICATION) {
+            List<Integer> tranche = ids.subList(debut, Math.min(debut + TAILLE_REPUBLICATION, ids.size()));
+            programmationRepository.findVuesByIds(tranche).forEach(vue ->
+                    eventPublisher.publishEvent(new ProgrammationModifieeEvent(vue.getId(), programmationMapper.toDTO(vue))));
+        }
+    }
+
+    // Relit la programmation enregistrée avec ses relations complètes pour les vues qui en dépendent
+    private void publierModification(int id) {
+        programmationRepository.findVueById(id).ifPresent(vue ->
+                eventPublisher.publishEvent(new ProgrammationModifieeEvent(id, programmationMapper.toDTO(vue))));
+    }
+
+    // Curseur opaque: "<ASC|DESC>:<dateProgrammation en ms>:<id>" encodé en Base64 URL
+    private static String encoderCurseur(ProgrammationProjection derniere, Sort.Direction direction) {
+        String position = direction.name() + ":" + derniere.getDateProgrammation().getTime() + ":" + derniere.getId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Programmation decoderCurseur(String curseur, Sort.Direction direction) {
+        String[] position;
+        Programmation programmation = new Programmation();
+        try {
+            position = new String(Base64.getUrlDecoder().decode(curseur), StandardCharsets.UTF_8).split(":");
+            programmation.setDateProgrammation(new Date(Long.parseLong(position[1])));
+            programmation.setId(Integer.parseInt(position[2]));
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Curseur de pagination invalide.");
+        }
+        // Relu dans l'autre sens, le curseur sauterait ou répéterait des lignes
+        if (!direction.name().equals(position[0])) {
+            throw new RuntimeException("Curseur de pagination émis pour un autre ordre de tri.");
+        }
+        return programmation;
+    }
+
+    // Refuse un créneau incohérent ou qui chevauche une réservation existante de la salle
+    private void verifierCreneau(String codeSalle, ProgrammationDTO programmationDTO, Integer idExclu) {
+        if (!programmationDTO.getFinProgrammation().after(programmationDTO.getDateProgrammation())) {
+            throw new RuntimeException("La fin de la programmation doit être postérieure à son début.");
+        }
+        if (!ReservationSalleIndex.occupeLaSalle(programmationDTO.getStatutProgrammation())) {
+            return;
+        }
+        List<ReservationSalleIndex.Creneau> conflits = reservationSalleIndex.conflits(codeSalle,
+                programmationDTO.getDateProgrammation(), programmationDTO.getFinProgrammation(), idExclu);
+        if (!conflits.isEmpty()) {
+            throw new RuntimeException("La Salle " + codeSalle + " est déjà réservée sur ce créneau (programmation n°"
+                    + conflits.get(0).id() + ").");
+        }
+        // L'index ne voit que les écritures de cette instance: la base tranche pour les autres
+        if (verrouBase) {
+            List<Integer> conflitsEnBase = programmationRepository.findIdsEnConflit(codeSalle,
+                    programmationDTO.getDateProgrammation(), programmationDTO.getFinProgrammation(),
+                    idExclu != null ? idExclu : -1, Limit.of(1));
+            if (!conflitsEnBase.isEmpty()) {
+                throw new RuntimeException("La Salle " + codeSalle + " est déjà réservée sur ce créneau (programmation n°"
+                        + conflitsEnBase.get(0) + ").");
+            }
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,39 @@
+package com.suivi_academique.services.implementations;
+
+import com.suivi_academique.dto.ResultatRechercheDTO;
+import com.suivi_academique.index.RechercheIndex;
+import com.suivi_academique.services.interfaces.RechercheInterface;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Locale;
+
+@Service
+@AllArgsConstructor
+public class RechercheService implements RechercheInterface {
+
+    static final int LIMITE_MAX = 50;
+
+    private final RechercheIndex rechercheIndex;
+
+    // Servi depuis l'index en mémoire: aucune requête LIKE sur la base
+    @Override
+    public List<ResultatRechercheDTO> rechercher(String requete, String type, int limite) {
+        if (requete == null || requete.isBlank()) {
+            throw new RuntimeException("Le texte à rechercher est obligatoire.");
+        }
+        if (limite <= 0 || limite > LIMITE_MAX) {
+            throw new RuntimeException("La limite doit être comprise entre 1 et " + LIMITE_MAX + ".");
+        }
+        RechercheIndex.Type filtre = null;
+        if (type != null && !type.isBlank()) {
+            try {
+                filtre = RechercheIndex.Type.valueOf(type.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException("Type de recherche inconnu: " + type + " (salle, cours ou personnel).");
+            }
+        }
+        return rechercheIndex.rechercher(requete, filtre, limite);
+    }
+}
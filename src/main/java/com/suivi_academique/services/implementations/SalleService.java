@@ -1,9 +1,17 @@
 package com.suivi_academique.services.implementations;
 
 import com.suivi_academique.dto.SalleDTO;
+import com.suivi_academique.dto.SalleRechercheDTO;
+import com.suivi_academique.dto.StatutSalleDTO;
 import com.suivi_academique.entities.Salle;
+import com.suivi_academique.index.DisponibiliteSalleIndex;
+import com.suivi_academique.index.SalleCatalogue;
+import com.suivi_academique.index.StatutSalleMoteur;
 import com.suivi_academique.mappers.SalleMapper;
+import com.suivi_academique.repositories.ProgrammationRepository;
 import com.suivi_academique.repositories.SalleRepository;
+import com.suivi_academique.services.interfaces.OccupationSalleInterface;
+import com.suivi_academique.services.interfaces.ProgrammationInterface;
 import com.suivi_academique.services.interfaces.SalleInterface;
 import com.suivi_academique.utils.SalleStatus;
 import lombok.AllArgsConstructor;
@@ -13,6 +21,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -26,6 +37,18 @@ public class SalleService implements SalleInterface {
 
     private SalleMapper salleMapper;
 
+    private SalleCatalogue salleCatalogue;
+
+    private DisponibiliteSalleIndex disponibiliteSalleIndex;
+
+    private OccupationSalleInterface occupationSalleService;
+
+    private StatutSalleMoteur statutSalleMoteur;
+
+    private ProgrammationRepository programmationRepository;
+
+    private ProgrammationInterface programmationService;
+
     private static final Logger log = LoggerFactory.getLogger(SalleService.class);
 
 
@@ -38,6 +61,8 @@ public class SalleService implements SalleInterface {
 
         }else{
             Salle salle = salleRepository.save(salleMapper.toEntity(salleDTO));
+            salleCatalogue.mettreAJour(salle);
+            occupationSalleService.invalider();
             return salleMapper.toDTO(salle);
         }
     }
@@ -66,6 +91,10 @@ public class SalleService implements SalleInterface {
         salle.setStatutSalle(salleDTO.getStatutSalle());
 
         salleRepository.save(salle);
+        salleCatalogue.mettreAJour(salle);
+        occupationSalleService.invalider();
+        // Les emplois du temps recopient la salle dans chaque programmation
+        programmationService.republier(programmationRepository.findIdsBySalle(codeSalle));
         return salleMapper.toDTO(salle);
     }
 
@@ -77,7 +106,12 @@ public class SalleService implements SalleInterface {
             log.error("salle introuvable modification impossible");
             throw new RuntimeException("Salle inexistante");
         }else{
+            // Les programmations de la salle partent avec elle (cascade): relevées avant pour les retirer des index
+            List<Integer> programmations = programmationRepository.findIdsBySalle(codeSalle);
             salleRepository.deleteById(codeSalle);
+            programmationService.retirerSupprimees(programmations);
+            salleCatalogue.retirer(codeSalle);
+            occupationSalleService.invalider();
             log.info("salle supprimé avec succès");
         }
 
@@ -87,4 +121,46 @@ public class SalleService implements SalleInterface {
     public SalleDTO findSallesOccupe(SalleStatus salleStatus) {
         return null;
     }
+
+    @Override
+    public List<SalleDTO> findSallesDisponibles(Date debut, Date fin, int contenanceMin) {
+        if (debut == null || fin == null || !fin.after(debut)) {
+            throw new RuntimeException("Période invalide");
+        }
+        return disponibiliteSalleIndex.sallesDisponibles(debut, fin, contenanceMin);
+    }
+
+    @Override
+    public List<SalleRechercheDTO> rechercher(int contenanceMin, SalleStatus statut, Date debut, Date fin) {
+        if ((debut == null) != (fin == null)) {
+            throw new RuntimeException("Les dates de début et de fin doivent être fournies ensemble");
+        }
+        if (debut != null && !fin.after(debut)) {
+            throw new RuntimeException("Période invalide");
+        }
+        // Le statut saisi ne fait foi que pour FERMER: OCCUPE/LIBRE sont ceux du moteur, à l'instant
+        List<SalleRechercheDTO> salles = disponibiliteSalleIndex.rechercher(contenanceMin,
+                statut == SalleStatus.FERMER ? statut : null, debut, fin);
+        List<SalleRechercheDTO> resultat = new ArrayList<>(salles.size());
+        for (SalleRechercheDTO salle : salles) {
+            StatutSalleMoteur.EtatSalle etat = statutSalleMoteur.etat(salle.getCodeSalle());
+            if (etat != null) {
+                salle.setStatutSalle(etat.statut());
+            }
+            if (statut == null || salle.getStatutSalle() == statut) {
+                resultat.add(salle);
+            }
+        }
+        return resultat;
+    }
+
+    // Statut courant dérivé des créneaux (OCCUPE/LIBRE), FERMER restant une saisie manuelle
+    @Override
+    public List<StatutSalleDTO> getStatutsCourants() {
+        return statutSalleMoteur.etats().stream()
+                .sorted(Comparator.comparing(StatutSalleMoteur.EtatSalle::codeSalle))
+                .map(etat -> new StatutSalleDTO(etat.codeSalle(), etat.statut(), new Date(etat.depuis()),
+                        etat.jusqua() == null ? null : new Date(etat.jusqua()), etat.programmation()))
+                .collect(Collectors.toList());
+    }
 }
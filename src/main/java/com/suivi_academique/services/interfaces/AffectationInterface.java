@@ -1,6 +1,9 @@
 package com.suivi_academique.services.interfaces;
 
 import com.suivi_academique.dto.AffectationDTO;
+import com.suivi_academique.dto.CoursDTO;
+import com.suivi_academique.dto.PersonnelDTO;
+import com.suivi_academique.dto.RapportImportDTO;
 import com.suivi_academique.dto.SalleDTO;
 import com.suivi_academique.entities.AffectationId;
 
@@ -11,6 +14,8 @@ public interface AffectationInterface {
 
     AffectationDTO save(AffectationDTO affectationDTO);
 
+    RapportImportDTO saveAll(List<AffectationId> paires);
+
     List<AffectationDTO> getAll();
 
     AffectationDTO getById(AffectationId affectationId);
@@ -18,4 +23,10 @@ public interface AffectationInterface {
     AffectationDTO update(AffectationId affectationId, AffectationDTO affectationDTO);
 
     void delete(String codeCours, String codePersonnel);
+
+    List<CoursDTO> getCoursDuPersonnel(String codePersonnel);
+
+    List<PersonnelDTO> getPersonnelsDuCours(String codeCours);
+
+    List<PersonnelDTO> getEnseignantsCommuns(List<String> codesCours);
 }
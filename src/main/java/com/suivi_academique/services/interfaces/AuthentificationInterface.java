@@ -5,7 +5,11 @@ import com.suivi_academique.dto.AuthResponse;
 import com.suivi_academique.dto.PersonnelDTO;
 
 public interface AuthentificationInterface {
-    public AuthResponse authenticate(PersonnelDTO request);
+    public AuthResponse authenticate(PersonnelDTO request, String ip);
 
     public AuthResponse register(PersonnelDTO personnel);
+
+    public AuthResponse refresh(String refreshToken);
+
+    public void logout(String jeton, String refreshToken);
 }
@@ -0,0 +1,13 @@
+package com.suivi_academique.services.interfaces;
+
+import com.suivi_academique.dto.ChargePersonnelDTO;
+
+import java.util.Date;
+import java.util.List;
+
+public interface ChargePersonnelInterface {
+
+    List<ChargePersonnelDTO> getCharges(Date debut, Date fin);
+
+    void invalider();
+}
@@ -0,0 +1,8 @@
+package com.suivi_academique.services.interfaces;
+
+import com.suivi_academique.dto.EmploiDuTempsDTO;
+
+public interface EmploiDuTempsInterface {
+
+    EmploiDuTempsDTO getSemaine(String type, String code, String semaine);
+}
@@ -0,0 +1,12 @@
+package com.suivi_academique.services.interfaces;
+
+import com.suivi_academique.dto.OccupationSallesDTO;
+
+import java.util.Date;
+
+public interface OccupationSalleInterface {
+
+    OccupationSallesDTO getOccupation(Date debut, Date fin);
+
+    void invalider();
+}
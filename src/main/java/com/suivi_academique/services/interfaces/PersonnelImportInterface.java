@@ -0,0 +1,14 @@
+package com.suivi_academique.services.interfaces;
+
+import com.suivi_academique.dto.RapportImportDTO;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface PersonnelImportInterface {
+
+    String FORMAT_CSV = "csv";
+    String FORMAT_NDJSON = "ndjson";
+
+    RapportImportDTO importer(InputStream flux, String format) throws IOException;
+}
@@ -0,0 +1,9 @@
+package com.suivi_academique.services.interfaces;
+
+import com.suivi_academique.dto.PlanificationDTO;
+import com.suivi_academique.dto.PlanificationRequestDTO;
+
+public interface PlanificationInterface {
+
+    PlanificationDTO planifier(PlanificationRequestDTO demande);
+}
@@ -0,0 +1,13 @@
+package com.suivi_academique.services.interfaces;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Date;
+
+public interface ProgrammationExportInterface {
+
+    String FORMAT_CSV = "csv";
+    String FORMAT_NDJSON = "ndjson";
+
+    void exporter(String format, Date debut, Date fin, OutputStream sortie) throws IOException;
+}
@@ -0,0 +1,11 @@
+package com.suivi_academique.services.interfaces;
+
+import com.suivi_academique.dto.RapportImportDTO;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface ProgrammationImportInterface {
+
+    RapportImportDTO importer(InputStream ndjson) throws IOException;
+}
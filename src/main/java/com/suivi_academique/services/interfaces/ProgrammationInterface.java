@@ -1,7 +1,12 @@
 package com.suivi_academique.services.interfaces;
 
+import com.suivi_academique.dto.PageProgrammationDTO;
 import com.suivi_academique.dto.ProgrammationDTO;
+import com.suivi_academique.dto.RapportValidationDTO;
 import com.suivi_academique.dto.SalleDTO;
+import com.suivi_academique.dto.ValidationRequestDTO;
+
+import org.springframework.data.domain.Sort;
 
 import java.util.List;
 
@@ -11,9 +16,19 @@ public interface ProgrammationInterface {
 
     List<ProgrammationDTO> getAll();
 
+    PageProgrammationDTO getPage(String curseur, int limit, Sort.Direction direction);
+
     ProgrammationDTO getById(int id);
 
     ProgrammationDTO update(int id ,ProgrammationDTO programmationDTO);
 
+    RapportValidationDTO valider(ValidationRequestDTO demande, String codeValidateur);
+
     void delete (int  id);
+
+    // Index et vues dérivées mis à jour pour des programmations déjà supprimées en base (cascade)
+    void retirerSupprimees(List<Integer> ids);
+
+    // Vues dérivées republiées après la modification d'une salle, d'un cours ou d'un personnel qu'elles recopient
+    void republier(List<Integer> ids);
 }
@@ -0,0 +1,10 @@
+package com.suivi_academique.services.interfaces;
+
+import com.suivi_academique.dto.ResultatRechercheDTO;
+
+import java.util.List;
+
+public interface RechercheInterface {
+
+    List<ResultatRechercheDTO> rechercher(String requete, String type, int limite);
+}
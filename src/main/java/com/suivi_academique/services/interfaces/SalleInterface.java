@@ -1,8 +1,11 @@
 package com.suivi_academique.services.interfaces;
 
 import com.suivi_academique.dto.SalleDTO;
+import com.suivi_academique.dto.SalleRechercheDTO;
+import com.suivi_academique.dto.StatutSalleDTO;
 import com.suivi_academique.utils.SalleStatus;
 
+import java.util.Date;
 import java.util.List;
 
 public interface SalleInterface {
@@ -17,4 +20,10 @@ public interface SalleInterface {
 
     void delete (String  codeSalle);
     SalleDTO findSallesOccupe(SalleStatus salleStatus);
+
+    List<SalleDTO> findSallesDisponibles(Date debut, Date fin, int contenanceMin);
+
+    List<SalleRechercheDTO> rechercher(int contenanceMin, SalleStatus statut, Date debut, Date fin);
+
+    List<StatutSalleDTO> getStatutsCourants();
 }
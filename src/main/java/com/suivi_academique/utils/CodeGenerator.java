@@ -1,22 +1,72 @@
 package com.suivi_academique.utils;
 
+import com.suivi_academique.entities.CompteurCode;
+import com.suivi_academique.repositories.CompteurCodeRepository;
 import com.suivi_academique.repositories.PersonnelRepository;
-import lombok.AllArgsConstructor;
-import lombok.Getter;
-import lombok.NoArgsConstructor;
-import lombok.Setter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
-@Getter
-@Setter
-@AllArgsConstructor
+/**
+ * Codes personnel "préfixe du rôle + année + numéro" alloués par blocs (hi/lo): chaque
+ * instance réserve tailleBloc numéros d'un coup sur la ligne CompteurCode du préfixe,
+ * puis les distribue depuis la mémoire sans verrou ni contrôle d'existence en base.
+ * Les numéros d'un bloc non consommé avant un redémarrage sont perdus, jamais réutilisés.
+ */
 @Component
 public class CodeGenerator {
 
-    private PersonnelRepository personnelRepository;
+    // Les codes historiques tiraient un numéro aléatoire à 5 chiffres
+    static final long PREMIER_NUMERO = 10000;
+
+    private final CompteurCodeRepository compteurCodeRepository;
+    private final PersonnelRepository personnelRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int tailleBloc;
+
+    private final Map<String, Bloc> blocs = new ConcurrentHashMap<>();
+
+    private final Map<String, Object> verrous = new ConcurrentHashMap<>();
+
+    public CodeGenerator(CompteurCodeRepository compteurCodeRepository,
+                         PersonnelRepository personnelRepository,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${personnel.code.taille-bloc:100}") int tailleBloc) {
+        this.compteurCodeRepository = compteurCodeRepository;
+        this.personnelRepository = personnelRepository;
+        // Réservation dans sa propre transaction: le verrou de ligne est relâché aussitôt
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.tailleBloc = tailleBloc;
+    }
+
+    /**
+     * Numéros [suivant, fin[ réservés par cette instance.
+     */
+    private static final class Bloc {
+
+        private final AtomicLong suivant;
+        private final long fin;
+
+        Bloc(long debut, long fin) {
+            this.suivant = new AtomicLong(debut);
+            this.fin = fin;
+        }
+
+        // -1 quand le bloc est épuisé
+        long prendre() {
+            long numero = suivant.getAndIncrement();
+            return numero < fin ? numero : -1;
+        }
+    }
 
     public String generate(String roleString){
         String prefix  = switch (roleString){
@@ -25,13 +75,59 @@ public class CodeGenerator {
             case "RESPONSABLE_PERSONNEL" -> "RP";
             default -> null;
         };
+        if (prefix == null) {
+            return null;
+        }
+        String cle = prefix + LocalDate.now().getYear();
+        return cle + prendre(cle);
+    }
+
+    private long prendre(String cle) {
+        Bloc bloc = blocs.get(cle);
+        long numero = bloc == null ? -1 : bloc.prendre();
+        if (numero >= 0) {
+            return numero;
+        }
+        synchronized (verrous.computeIfAbsent(cle, c -> new Object())) {
+            while (true) {
+                bloc = blocs.get(cle);
+                numero = bloc == null ? -1 : bloc.prendre();
+                if (numero >= 0) {
+                    return numero;
+                }
+                long debut = reserverBloc(cle);
+                blocs.put(cle, new Bloc(debut, debut + tailleBloc));
+            }
+        }
+    }
+
+    private long reserverBloc(String cle) {
+        try {
+            return transactionTemplate.execute(status -> avancerCompteur(cle));
+        } catch (DataIntegrityViolationException e) {
+            // Une autre instance a créé la ligne du compteur en même temps: elle existe désormais
+            return transactionTemplate.execute(status -> avancerCompteur(cle));
+        }
+    }
+
+    private long avancerCompteur(String cle) {
+        CompteurCode compteur = compteurCodeRepository.findByIdForUpdate(cle)
+                .orElseGet(() -> new CompteurCode(cle, premierNumeroLibre(cle)));
+        long debut = compteur.getProchainBloc();
+        compteur.setProchainBloc(debut + tailleBloc);
+        compteurCodeRepository.saveAndFlush(compteur);
+        return debut;
+    }
 
-        long randomNumber = ThreadLocalRandom.current().nextInt(10000, 100000);
-        int year = LocalDate.now().getYear();
-        String code = prefix + year + randomNumber;
-      if(personnelRepository.existsById(code))
-          return generate(roleString);
-      else
-          return code;
-      }
+    // Premier numéro au-delà des codes déjà attribués avec ce préfixe (codes aléatoires d'avant le compteur)
+    private long premierNumeroLibre(String cle) {
+        long max = PREMIER_NUMERO - 1;
+        for (String code : personnelRepository.findCodesByPrefixe(cle)) {
+            String numero = code.substring(cle.length());
+            if (!numero.isEmpty() && numero.chars().allMatch(Character::isDigit) && numero.length() < 19) {
+                max = Math.max(max, Long.parseLong(numero));
+            }
+        }
+        return max + 1;
+    }
 }
@@ -0,0 +1,53 @@
+package com.suivi_academique.utils;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Verrous par salle répartis sur un nombre fixe de verrous (striping): deux réservations
+ * de la même salle sont sérialisées, deux salles différentes avancent en parallèle
+ * (sauf collision de stripe), sans verrou global ni map de verrous qui grossit.
+ */
+@Component
+public class VerrousSalles {
+
+    private final ReentrantLock[] verrous;
+
+    public VerrousSalles(@Value("${programmation.verrous.nombre:64}") int nombre) {
+        verrous = new ReentrantLock[Math.max(1, nombre)];
+        for (int i = 0; i < verrous.length; i++) {
+            verrous[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Verrou tenu jusqu'à la fermeture, à utiliser dans un try-with-resources.
+     */
+    public interface Verrouillage extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    public Verrouillage verrouiller(String codeSalle) {
+        ReentrantLock verrou = verrous[indice(codeSalle)];
+        verrou.lock();
+        return verrou::unlock;
+    }
+
+    // Plusieurs salles: stripes pris une seule fois et toujours dans le même ordre, pas d'interblocage
+    public Verrouillage verrouiller(Collection<String> codesSalle) {
+        TreeSet<Integer> indices = new TreeSet<>();
+        codesSalle.forEach(code -> indices.add(indice(code)));
+        indices.forEach(indice -> verrous[indice].lock());
+        return () -> indices.descendingSet().forEach(indice -> verrous[indice].unlock());
+    }
+
+    private int indice(String codeSalle) {
+        int h = codeSalle.hashCode();
+        return Math.floorMod(h ^ (h >>> 16), verrous.length);
+    }
+}
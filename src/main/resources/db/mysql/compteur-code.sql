@@ -0,0 +1,23 @@
+-- Compteur des codes personnel (CodeGenerator): une ligne par préfixe et année ("ENS2026"...),
+-- prochain_bloc étant le premier numéro non encore réservé.
+CREATE TABLE IF NOT EXISTS compteur_code (
+    cle VARCHAR(255) NOT NULL,
+    prochain_bloc BIGINT NOT NULL,
+    PRIMARY KEY (cle)
+) ENGINE = InnoDB;
+
+-- Amorçage au-delà des codes déjà attribués (numéros aléatoires à 5 chiffres d'avant le compteur,
+-- premier numéro 10000). Un compteur déjà plus loin n'est jamais reculé.
+SET @instruction = IF((SELECT COUNT(*) FROM information_schema.tables
+                       WHERE table_schema = DATABASE() AND table_name = 'personnel') = 0,
+    'DO 0',
+    'INSERT INTO compteur_code (cle, prochain_bloc)
+     SELECT amorce.cle, amorce.premier FROM (
+         SELECT cle, GREATEST(MAX(CAST(SUBSTRING(code_personnel, CHAR_LENGTH(cle) + 1) AS UNSIGNED)) + 1, 10000) AS premier
+         FROM (SELECT code_personnel, REGEXP_SUBSTR(code_personnel, ''^(ENS|RA|RP)[0-9]{4}'') AS cle FROM personnel) codes
+         WHERE cle IS NOT NULL AND SUBSTRING(code_personnel, CHAR_LENGTH(cle) + 1) REGEXP ''^[0-9]{1,18}$''
+         GROUP BY cle) amorce
+     ON DUPLICATE KEY UPDATE prochain_bloc = GREATEST(compteur_code.prochain_bloc, amorce.premier)');
+PREPARE instruction FROM @instruction;
+EXECUTE instruction;
+DEALLOCATE PREPARE instruction;
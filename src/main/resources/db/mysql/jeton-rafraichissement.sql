@@ -0,0 +1,13 @@
+-- Jetons de rafraîchissement (JetonRafraichissement): empreinte SHA-256 du jeton, jamais le jeton lui-même.
+CREATE TABLE IF NOT EXISTS jeton_rafraichissement (
+    empreinte VARCHAR(64) NOT NULL,
+    famille VARCHAR(255) NOT NULL,
+    code_personnel VARCHAR(255) NOT NULL,
+    login_personnel VARCHAR(255) NOT NULL,
+    nom_personnel VARCHAR(255),
+    role_personnel ENUM ('ENSEIGNANT', 'RESPONSABLE_ACADEMIQUE', 'RESPONSABLE_PERSONNEL') NOT NULL,
+    expiration BIGINT NOT NULL,
+    utilise BIT NOT NULL,
+    PRIMARY KEY (empreinte),
+    INDEX idx_jeton_rafraichissement_expiration (expiration)
+) ENGINE = InnoDB;
@@ -0,0 +1,18 @@
+-- Identifiants de Programmation réservés par blocs de 50 (SequenceGenerator "programmation_seq").
+-- MySQL n'a pas d'objet SEQUENCE: Hibernate l'émule par une table à une ligne (next_val).
+CREATE TABLE IF NOT EXISTS programmation_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+
+INSERT INTO programmation_seq (next_val)
+SELECT 1 FROM DUAL WHERE NOT EXISTS (SELECT 1 FROM programmation_seq);
+
+-- Base existante (clé IDENTITY d'avant la séquence): la séquence repart au-delà du plus grand id.
+-- Sans effet si elle y est déjà; la table programmation peut ne pas exister encore (base neuve).
+SET @instruction = IF((SELECT COUNT(*) FROM information_schema.tables
+                       WHERE table_schema = DATABASE() AND table_name = 'programmation') = 0,
+    'DO 0',
+    'UPDATE programmation_seq SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + 51 FROM programmation))');
+PREPARE instruction FROM @instruction;
+EXECUTE instruction;
+DEALLOCATE PREPARE instruction;
@@ -0,0 +1,29 @@
+-- Verrouillage optimiste des programmations (@Version): colonne version à 0 pour les lignes existantes.
+-- Ajoutée si absente; complétée puis rendue NOT NULL si ddl-auto=update l'a déjà créée nullable.
+SET @instruction = IF((SELECT COUNT(*) FROM information_schema.tables
+                       WHERE table_schema = DATABASE() AND table_name = 'programmation') = 0
+                   OR (SELECT COUNT(*) FROM information_schema.columns
+                       WHERE table_schema = DATABASE() AND table_name = 'programmation' AND column_name = 'version') > 0,
+    'DO 0',
+    'ALTER TABLE programmation ADD COLUMN version INT NOT NULL DEFAULT 0');
+PREPARE instruction FROM @instruction;
+EXECUTE instruction;
+DEALLOCATE PREPARE instruction;
+
+SET @instruction = IF((SELECT COUNT(*) FROM information_schema.columns
+                       WHERE table_schema = DATABASE() AND table_name = 'programmation' AND column_name = 'version'
+                         AND is_nullable = 'YES') = 0,
+    'DO 0',
+    'UPDATE programmation SET version = 0 WHERE version IS NULL');
+PREPARE instruction FROM @instruction;
+EXECUTE instruction;
+DEALLOCATE PREPARE instruction;
+
+SET @instruction = IF((SELECT COUNT(*) FROM information_schema.columns
+                       WHERE table_schema = DATABASE() AND table_name = 'programmation' AND column_name = 'version'
+                         AND is_nullable = 'YES') = 0,
+    'DO 0',
+    'ALTER TABLE programmation MODIFY COLUMN version INT NOT NULL DEFAULT 0');
+PREPARE instruction FROM @instruction;
+EXECUTE instruction;
+DEALLOCATE PREPARE instruction;
@@ -0,0 +1,80 @@
+package com.suivie_academique.benchmarks;
+
+import com.suivi_academique.config.JwtUtil;
+import com.suivi_academique.entities.Personnel;
+import com.suivi_academique.utils.RolePersonnel;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coût de la validation d'un jeton par requête dans JwtAuthenticationFilter.
+ * ancienneValidation reproduit l'ancien chemin: extractUsername puis isTokenValid, soit trois
+ * vérifications de signature, chacune redérivant la clé depuis le secret Base64.
+ * lectureUnique: clé et parseur précalculés, une vérification; lectureEnCache: claims déjà vérifiés.
+ * <p>
+ * Lancement: mvn -P benchmark test-compile exec:exec -Dbenchmark=JwtValidation
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class JwtValidationBenchmark {
+
+    private static final String SECRET = "SEm108AzjwmNhgc2dzAIardhYdhhQp7baKqPnhKNg08OdmXMcsz01mHSXFhkuNGr";
+
+    private JwtUtil sansCache;
+    private JwtUtil avecCache;
+    private Personnel personnel;
+    private String jeton;
+
+    @Setup(Level.Trial)
+    public void preparer() {
+        sansCache = new JwtUtil(SECRET, 3_600_000L, 0, 0);
+        avecCache = new JwtUtil(SECRET, 3_600_000L, 10_000, 60_000L);
+        personnel = new Personnel();
+        personnel.setCodePersonnel("RA2026001");
+        personnel.setLoginPersonnel("jdoe");
+        personnel.setRolePersonnel(RolePersonnel.ENSEIGNANT);
+        jeton = sansCache.generateToken(personnel);
+    }
+
+    @Benchmark
+    public boolean ancienneValidation() {
+        String login = ancienParse(jeton).getSubject();
+        return login.equals(ancienParse(jeton).getSubject()) && !ancienParse(jeton).getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public Claims lectureUnique() {
+        return sansCache.lireJeton(jeton);
+    }
+
+    @Benchmark
+    public Claims lectureEnCache() {
+        return avecCache.lireJeton(jeton);
+    }
+
+    private static Claims ancienParse(String token) {
+        SecretKey cle = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+        return Jwts.parser().verifyWith(cle).build().parseSignedClaims(token).getPayload();
+    }
+}
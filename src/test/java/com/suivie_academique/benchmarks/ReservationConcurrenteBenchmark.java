@@ -0,0 +1,157 @@
+package com.suivie_academique.benchmarks;
+
+import com.suivi_academique.SuiviAcademiqueApplication;
+import com.suivi_academique.dto.CoursDTO;
+import com.suivi_academique.dto.PersonnelDTO;
+import com.suivi_academique.dto.ProgrammationDTO;
+import com.suivi_academique.dto.SalleDTO;
+import com.suivi_academique.entities.Cours;
+import com.suivi_academique.entities.Personnel;
+import com.suivi_academique.entities.Salle;
+import com.suivi_academique.index.SalleCatalogue;
+import com.suivi_academique.repositories.CoursRepository;
+import com.suivi_academique.repositories.PersonnelRepository;
+import com.suivi_academique.repositories.SalleRepository;
+import com.suivi_academique.services.interfaces.ProgrammationInterface;
+import com.suivi_academique.utils.RolePersonnel;
+import com.suivi_academique.utils.SalleStatus;
+import com.suivi_academique.utils.StatutProgrammation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.Date;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Débit de POST /programmations (ProgrammationService.save) quand le nombre de réservations
+ * simultanées augmente, sur H2 en mémoire. nbSalles = 1: toutes les réservations visent la même
+ * salle et sont sérialisées; nbSalles = 32: les verrous par salle laissent avancer les salles
+ * différentes en parallèle.
+ * <p>
+ * Lancement: mvn -P benchmark test-compile exec:exec -Dbenchmark=ReservationConcurrente
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class ReservationConcurrenteBenchmark {
+
+    private static final long HEURE = 3_600_000L;
+
+    @Param({"1", "32"})
+    public int nbSalles;
+
+    @Param({"true", "false"})
+    public boolean verrouBase;
+
+    private ConfigurableApplicationContext contexte;
+    private ProgrammationInterface programmationService;
+
+    // Chaque réservation prend un créneau d'une heure jamais utilisé: aucune n'est refusée
+    private final AtomicLong prochainCreneau = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void demarrer() {
+        contexte = new SpringApplicationBuilder(SuiviAcademiqueApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                // Arguments de ligne de commande: priment sur application-test.properties (SQL en DEBUG)
+                .run("--programmation.verrou-base.actif=" + verrouBase,
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.suivi_academique=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+        programmationService = contexte.getBean(ProgrammationInterface.class);
+
+        SalleRepository salleRepository = contexte.getBean(SalleRepository.class);
+        SalleCatalogue salleCatalogue = contexte.getBean(SalleCatalogue.class);
+        for (int i = 0; i < nbSalles; i++) {
+            // Hors SalleService: le catalogue (lu sans verrou de base) est tenu à jour à la main
+            salleCatalogue.mettreAJour(salleRepository.save(new Salle(codeSalle(i), "Salle " + i, 40, SalleStatus.LIBRE, null)));
+        }
+        contexte.getBean(CoursRepository.class).save(new Cours("BENCH101", "Benchmark", "desc", "3", "40", null));
+        Personnel personnel = new Personnel();
+        personnel.setCodePersonnel("RA202697001");
+        personnel.setNomPersonnel("Bench");
+        personnel.setLoginPersonnel("bench");
+        personnel.setPadPersonnel("hash");
+        personnel.setSexePersonnel("F");
+        personnel.setPhonePersonnel("600000000");
+        personnel.setRolePersonnel(RolePersonnel.RESPONSABLE_ACADEMIQUE);
+        contexte.getBean(PersonnelRepository.class).save(personnel);
+    }
+
+    @TearDown(Level.Trial)
+    public void arreter() {
+        contexte.close();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public ProgrammationDTO reserver_01_demandeur() {
+        return reserver();
+    }
+
+    @Benchmark
+    @Threads(2)
+    public ProgrammationDTO reserver_02_demandeurs() {
+        return reserver();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public ProgrammationDTO reserver_04_demandeurs() {
+        return reserver();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public ProgrammationDTO reserver_08_demandeurs() {
+        return reserver();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public ProgrammationDTO reserver_16_demandeurs() {
+        return reserver();
+    }
+
+    private ProgrammationDTO reserver() {
+        long debut = 2_000_000_000_000L + prochainCreneau.getAndIncrement() * HEURE;
+        String codeSalle = codeSalle(ThreadLocalRandom.current().nextInt(nbSalles));
+        ProgrammationDTO dto = new ProgrammationDTO();
+        dto.setNbHeure(1);
+        dto.setDateProgrammation(new Date(debut));
+        dto.setFinProgrammation(new Date(debut + HEURE));
+        dto.setStatutProgrammation(StatutProgrammation.PROGRAMMER);
+        dto.setSalle(new SalleDTO(codeSalle, null, 40, SalleStatus.LIBRE));
+        dto.setCours(new CoursDTO("BENCH101", "Benchmark", "desc", "40", "3"));
+        dto.setPersonnelProg(new PersonnelDTO("RA202697001", "Bench", "bench", "hash", "F", "600000000",
+                RolePersonnel.RESPONSABLE_ACADEMIQUE));
+        return programmationService.save(dto);
+    }
+
+    private static String codeSalle(int i) {
+        return String.format("SB%03d", i);
+    }
+}
@@ -0,0 +1,62 @@
+package com.suivie_academique.controllersTest;
+
+import com.suivi_academique.SuiviAcademiqueApplication;
+import com.suivi_academique.dto.RapportValidationDTO;
+import com.suivi_academique.services.interfaces.ProgrammationInterface;
+import com.suivi_academique.utils.StatutProgrammation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(classes = SuiviAcademiqueApplication.class)
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@DisplayName("ProgrammationController - validation en masse réservée au responsable académique")
+class ProgrammationControllerTest {
+
+    private static final String DEMANDE = "{\"statut\": \"VALIDER\", \"ids\": [1, 2]}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ProgrammationInterface programmationService;
+
+    @Test
+    @WithMockUser(roles = "ENSEIGNANT")
+    @DisplayName("POST /programmations/validation → 403 pour un enseignant")
+    void valider_Enseignant_Interdit() throws Exception {
+        mockMvc.perform(post("/programmations/validation")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(DEMANDE))
+                .andExpect(status().isForbidden());
+
+        verify(programmationService, never()).valider(any(), any());
+    }
+
+    @Test
+    @WithMockUser(roles = "RESPONSABLE_ACADEMIQUE")
+    @DisplayName("POST /programmations/validation → 200 pour un responsable académique")
+    void valider_ResponsableAcademique_Autorise() throws Exception {
+        when(programmationService.valider(any(), any())).thenReturn(new RapportValidationDTO(StatutProgrammation.VALIDER));
+
+        mockMvc.perform(post("/programmations/validation")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(DEMANDE))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,68 @@
+package com.suivie_academique.indexTest;
+
+import com.suivi_academique.index.AffectationIndex;
+import com.suivi_academique.repositories.AffectationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Tests unitaires de l'index des affectations")
+class AffectationIndexTest {
+
+    private AffectationIndex index;
+
+    @BeforeEach
+    void setUp() {
+        AffectationRepository repository = mock(AffectationRepository.class);
+        when(repository.findAllCodes()).thenReturn(List.of(
+                new Object[]{"INF101", "ENS001"},
+                new Object[]{"INF101", "ENS002"},
+                new Object[]{"INF102", "ENS002"},
+                new Object[]{"INF102", "ENS003"},
+                new Object[]{"INF103", "ENS002"}));
+        index = new AffectationIndex(repository);
+        index.charger();
+    }
+
+    @Test
+    @DisplayName("charger - adjacence dans les deux sens")
+    void charger_DeuxSens() {
+        assertThat(index.taille()).isEqualTo(5);
+        assertThat(index.enseignantsDe("INF101")).containsExactlyInAnyOrder("ENS001", "ENS002");
+        assertThat(index.coursDe("ENS002")).containsExactlyInAnyOrder("INF101", "INF102", "INF103");
+        assertThat(index.estAffecte("INF102", "ENS003")).isTrue();
+        assertThat(index.estAffecte("INF103", "ENS003")).isFalse();
+        assertThat(index.enseignantsDe("INCONNU")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("ajouter/retirer - les deux listes restent cohérentes, sans doublon")
+    void ajouterRetirer() {
+        index.ajouter("INF104", "ENS001");
+        index.ajouter("INF104", "ENS001");
+        assertThat(index.taille()).isEqualTo(6);
+        assertThat(index.coursDe("ENS001")).containsExactlyInAnyOrder("INF101", "INF104");
+
+        index.retirer("INF101", "ENS002");
+        index.retirer("INF101", "ENS002");
+        assertThat(index.taille()).isEqualTo(5);
+        assertThat(index.enseignantsDe("INF101")).containsExactly("ENS001");
+        assertThat(index.coursDe("ENS002")).containsExactlyInAnyOrder("INF102", "INF103");
+    }
+
+    @Test
+    @DisplayName("enseignantsCommuns / coursCommuns - intersection des listes")
+    void intersections() {
+        assertThat(index.enseignantsCommuns(List.of("INF101", "INF102"))).containsExactly("ENS002");
+        assertThat(index.enseignantsCommuns(List.of("INF101", "INF102", "INF103"))).containsExactly("ENS002");
+        assertThat(index.enseignantsCommuns(List.of("INF101", "INCONNU"))).isEmpty();
+        assertThat(index.coursCommuns(List.of("ENS002", "ENS003"))).containsExactly("INF102");
+        assertThat(index.coursCommuns(List.of())).isEmpty();
+    }
+}
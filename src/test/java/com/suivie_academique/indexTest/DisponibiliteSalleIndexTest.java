@@ -0,0 +1,100 @@
+package com.suivie_academique.indexTest;
+
+import com.suivi_academique.dto.SalleDTO;
+import com.suivi_academique.dto.SalleRechercheDTO;
+import com.suivi_academique.entities.Salle;
+import com.suivi_academique.index.DisponibiliteSalleIndex;
+import com.suivi_academique.index.ReservationSalleIndex;
+import com.suivi_academique.index.SalleCatalogue;
+import com.suivi_academique.mappers.SalleMapper;
+import com.suivi_academique.repositories.ProgrammationRepository;
+import com.suivi_academique.repositories.SalleRepository;
+import com.suivi_academique.utils.SalleStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("Tests unitaires de l'index de disponibilité des salles")
+class DisponibiliteSalleIndexTest {
+
+    private static final long MINUTE = 60_000L;
+
+    private ReservationSalleIndex reservations;
+    private SalleCatalogue catalogue;
+    private DisponibiliteSalleIndex index;
+
+    @BeforeEach
+    void setUp() {
+        reservations = new ReservationSalleIndex(mock(ProgrammationRepository.class));
+        catalogue = new SalleCatalogue(mock(SalleRepository.class), new SalleMapper());
+        catalogue.mettreAJour(new Salle("S001", "Amphi", 200, SalleStatus.LIBRE, new ArrayList<>()));
+        catalogue.mettreAJour(new Salle("S002", "TD", 30, SalleStatus.LIBRE, new ArrayList<>()));
+        catalogue.mettreAJour(new Salle("S003", "Labo", 40, SalleStatus.FERMER, new ArrayList<>()));
+        index = new DisponibiliteSalleIndex(reservations, catalogue);
+        index.charger();
+    }
+
+    @Test
+    @DisplayName("sallesDisponibles - exclut salles réservées, fermées ou trop petites")
+    void sallesDisponibles_Filtre() {
+        reservations.enregistrer(new ReservationSalleIndex.Creneau(1, "S002", minute(480), minute(600)));
+
+        assertThat(index.sallesDisponibles(minuteDate(540), minuteDate(570), 0))
+                .extracting(SalleDTO::getCodeSalle).containsExactly("S001");
+        assertThat(index.sallesDisponibles(minuteDate(600), minuteDate(660), 0))
+                .extracting(SalleDTO::getCodeSalle).containsExactly("S002", "S001");
+        assertThat(index.sallesDisponibles(minuteDate(600), minuteDate(660), 50))
+                .extracting(SalleDTO::getCodeSalle).containsExactly("S001");
+    }
+
+    @Test
+    @DisplayName("rechercher - par contenance croissante, filtrée par statut, disponibilité dans le même parcours")
+    void rechercher_ParContenanceEtStatut() {
+        reservations.enregistrer(new ReservationSalleIndex.Creneau(1, "S002", minute(480), minute(600)));
+
+        assertThat(index.rechercher(35, null, minuteDate(540), minuteDate(570)))
+                .extracting(SalleRechercheDTO::getCodeSalle, SalleRechercheDTO::getDisponible)
+                .containsExactly(tuple("S003", false),
+                        tuple("S001", true));
+        assertThat(index.rechercher(0, SalleStatus.LIBRE, minuteDate(540), minuteDate(570)))
+                .extracting(SalleRechercheDTO::getCodeSalle, SalleRechercheDTO::getDisponible)
+                .containsExactly(tuple("S002", false),
+                        tuple("S001", true));
+
+        // Changement de statut: la salle passe d'une partition à l'autre
+        catalogue.mettreAJour(new Salle("S002", "TD", 30, SalleStatus.FERMER, new ArrayList<>()));
+        assertThat(index.rechercher(0, SalleStatus.FERMER, null, null))
+                .extracting(SalleRechercheDTO::getCodeSalle).containsExactly("S002", "S003");
+        assertThat(index.rechercher(0, SalleStatus.FERMER, null, null))
+                .extracting(SalleRechercheDTO::getDisponible).containsOnlyNulls();
+    }
+
+    @Test
+    @DisplayName("estLibre - précis au sein d'un quart d'heure partagé")
+    void estLibre_QuartDHeurePartage() {
+        reservations.enregistrer(new ReservationSalleIndex.Creneau(1, "S001", minute(480), minute(530)));
+        reservations.enregistrer(new ReservationSalleIndex.Creneau(2, "S001", minute(530), minute(600)));
+
+        assertThat(index.estLibre("S001", minuteDate(520), minuteDate(525))).isFalse();
+
+        reservations.retirer(1);
+        assertThat(index.estLibre("S001", minuteDate(480), minuteDate(525))).isTrue();
+        assertThat(index.estLibre("S001", minuteDate(525), minuteDate(535))).isFalse();
+        assertThat(index.estLibre("S001", minuteDate(540), minuteDate(555))).isFalse();
+    }
+
+    private static long minute(int minutes) {
+        return minutes * MINUTE;
+    }
+
+    private static Date minuteDate(int minutes) {
+        return new Date(minute(minutes));
+    }
+}
@@ -0,0 +1,107 @@
+package com.suivie_academique.indexTest;
+
+import com.suivi_academique.dto.CoursDTO;
+import com.suivi_academique.dto.PersonnelDTO;
+import com.suivi_academique.dto.ProgrammationDTO;
+import com.suivi_academique.dto.SalleDTO;
+import com.suivi_academique.events.ProgrammationModifieeEvent;
+import com.suivi_academique.index.EmploiDuTempsIndex;
+import com.suivi_academique.index.EmploiDuTempsIndex.Proprietaire;
+import com.suivi_academique.mappers.ProgrammationMapper;
+import com.suivi_academique.repositories.ProgrammationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Tests unitaires des emplois du temps hebdomadaires")
+class EmploiDuTempsIndexTest {
+
+    private ProgrammationRepository repository;
+
+    private EmploiDuTempsIndex index;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(ProgrammationRepository.class);
+        when(repository.findAllVues()).thenReturn(List.of());
+        index = new EmploiDuTempsIndex(repository, mock(ProgrammationMapper.class));
+        index.charger();
+    }
+
+    @Test
+    @DisplayName("surModification - la programmation apparaît dans les trois vues de sa semaine, triée")
+    void surModification_TroisVues() {
+        // Lundi 12 et mardi 13 octobre 2026: semaine 2026-W42
+        index.surModification(new ProgrammationModifieeEvent(2, programmation(2, "S001", "INF101", "RA001", 13, 8, 13, 10)));
+        index.surModification(new ProgrammationModifieeEvent(1, programmation(1, "S001", "INF102", "RA002", 12, 8, 12, 10)));
+
+        assertThat(index.semaine(Proprietaire.SALLE, "S001", "2026-W42"))
+                .extracting(ProgrammationDTO::getId).containsExactly(1, 2);
+        assertThat(index.semaine(Proprietaire.COURS, "INF101", "2026-W42"))
+                .extracting(ProgrammationDTO::getId).containsExactly(2);
+        assertThat(index.semaine(Proprietaire.PERSONNEL, "RA002", "2026-W42"))
+                .extracting(ProgrammationDTO::getId).containsExactly(1);
+        assertThat(index.semaine(Proprietaire.SALLE, "S001", "2026-W43")).isEmpty();
+        // Les lectures ne touchent jamais la table des programmations
+        verify(repository).findAllVues();
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    @DisplayName("surModification - un déplacement change de semaine, une suppression vide la vue")
+    void surModification_DeplacementEtSuppression() {
+        index.surModification(new ProgrammationModifieeEvent(1, programmation(1, "S001", "INF101", "RA001", 12, 8, 12, 10)));
+        index.surModification(new ProgrammationModifieeEvent(1, programmation(1, "S002", "INF101", "RA001", 19, 8, 19, 10)));
+
+        assertThat(index.semaine(Proprietaire.SALLE, "S001", "2026-W42")).isEmpty();
+        assertThat(index.semaine(Proprietaire.SALLE, "S002", "2026-W43")).hasSize(1);
+
+        index.surModification(ProgrammationModifieeEvent.supprimee(1));
+
+        assertThat(index.semaine(Proprietaire.COURS, "INF101", "2026-W43")).isEmpty();
+        assertThat(index.taille()).isZero();
+    }
+
+    @Test
+    @DisplayName("surModification - une programmation du dimanche soir au lundi figure dans les deux semaines")
+    void surModification_ChevaucheDeuxSemaines() {
+        index.surModification(new ProgrammationModifieeEvent(1, programmation(1, "S001", "INF101", "RA001", 18, 22, 19, 2)));
+
+        assertThat(index.semaine(Proprietaire.SALLE, "S001", "2026-W42")).hasSize(1);
+        assertThat(index.semaine(Proprietaire.SALLE, "S001", "2026-W43")).hasSize(1);
+    }
+
+    private static ProgrammationDTO programmation(int id, String salle, String cours, String personnel,
+                                                  int jourDebut, int heureDebut, int jourFin, int heureFin) {
+        ProgrammationDTO dto = new ProgrammationDTO();
+        dto.setId(id);
+        dto.setNbHeure(2);
+        dto.setDateProgrammation(date(jourDebut, heureDebut));
+        dto.setFinProgrammation(date(jourFin, heureFin));
+        SalleDTO salleDTO = new SalleDTO();
+        salleDTO.setCodeSalle(salle);
+        dto.setSalle(salleDTO);
+        CoursDTO coursDTO = new CoursDTO();
+        coursDTO.setCodeCours(cours);
+        dto.setCours(coursDTO);
+        PersonnelDTO personnelDTO = new PersonnelDTO();
+        personnelDTO.setCodePersonnel(personnel);
+        dto.setPersonnelProg(personnelDTO);
+        return dto;
+    }
+
+    private static Date date(int jourOctobre, int heure) {
+        return Date.from(LocalDateTime.of(2026, 10, jourOctobre, heure, 0).atZone(ZoneId.systemDefault()).toInstant());
+    }
+}
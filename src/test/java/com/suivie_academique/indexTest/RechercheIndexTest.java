@@ -0,0 +1,83 @@
+package com.suivie_academique.indexTest;
+
+import com.suivi_academique.dto.CoursDTO;
+import com.suivi_academique.dto.PersonnelDTO;
+import com.suivi_academique.dto.ResultatRechercheDTO;
+import com.suivi_academique.entities.Salle;
+import com.suivi_academique.index.RechercheIndex;
+import com.suivi_academique.index.SalleCatalogue;
+import com.suivi_academique.mappers.CoursMapper;
+import com.suivi_academique.mappers.PersonnelMapper;
+import com.suivi_academique.mappers.SalleMapper;
+import com.suivi_academique.repositories.CoursRepository;
+import com.suivi_academique.repositories.PersonnelRepository;
+import com.suivi_academique.repositories.SalleRepository;
+import com.suivi_academique.utils.RolePersonnel;
+import com.suivi_academique.utils.SalleStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("Tests unitaires de l'index de recherche")
+class RechercheIndexTest {
+
+    private SalleCatalogue catalogue;
+    private RechercheIndex index;
+
+    @BeforeEach
+    void setUp() {
+        catalogue = new SalleCatalogue(mock(SalleRepository.class), new SalleMapper());
+        index = new RechercheIndex(mock(CoursRepository.class), mock(CoursMapper.class),
+                mock(PersonnelRepository.class), mock(PersonnelMapper.class), catalogue);
+        index.charger();
+        index.indexerCours(new CoursDTO("INF101", "Algorithmique", "Introduction aux algorithmes", "3", "40"));
+        index.indexerCours(new CoursDTO("INF201", "Algèbre linéaire", "Espaces vectoriels", "3", "40"));
+        index.indexerCours(new CoursDTO("INF301", "Génie logiciel", "Conception et tests", "3", "40"));
+        index.indexerPersonnel(new PersonnelDTO("RA2026001", "Éléonore Ngo", "engo", null, "F", "600000000",
+                RolePersonnel.ENSEIGNANT));
+        catalogue.mettreAJour(new Salle("S001", "Amphi Génie civil", 200, SalleStatus.LIBRE, new ArrayList<>()));
+    }
+
+    @Test
+    @DisplayName("rechercher - insensible aux accents et à la casse, préfixe court")
+    void rechercher_SansAccents() {
+        assertThat(index.rechercher("eleo", null, 10))
+                .extracting(ResultatRechercheDTO::getCode).containsExactly("RA2026001");
+        assertThat(index.rechercher("GENIE", null, 10))
+                .extracting(ResultatRechercheDTO::getCode).containsExactlyInAnyOrder("INF301", "S001");
+        assertThat(index.rechercher("al", RechercheIndex.Type.COURS, 10))
+                .extracting(ResultatRechercheDTO::getCode).containsExactlyInAnyOrder("INF101", "INF201");
+    }
+
+    @Test
+    @DisplayName("rechercher - mot exact classé avant une sous-chaîne, faute de frappe tolérée")
+    void rechercher_Classement() {
+        assertThat(index.rechercher("algorithmique", null, 10))
+                .extracting(ResultatRechercheDTO::getCode).first().isEqualTo("INF101");
+        assertThat(index.rechercher("algoritmique", null, 10))
+                .extracting(ResultatRechercheDTO::getCode).first().isEqualTo("INF101");
+        assertThat(index.rechercher("logiciel", null, 10).get(0).getScore())
+                .isGreaterThan(index.rechercher("ogiciel", null, 10).get(0).getScore());
+    }
+
+    @Test
+    @DisplayName("indexer/retirer - mises à jour incrémentales, y compris depuis le catalogue des salles")
+    void indexer_Incremental() {
+        index.indexerCours(new CoursDTO("INF101", "Structures de données", "Listes et arbres", "3", "40"));
+        assertThat(index.rechercher("algorithmique", RechercheIndex.Type.COURS, 10))
+                .extracting(ResultatRechercheDTO::getCode).doesNotContain("INF101");
+        assertThat(index.rechercher("struct", null, 10))
+                .extracting(ResultatRechercheDTO::getCode).containsExactly("INF101");
+
+        index.retirer(RechercheIndex.Type.PERSONNEL, "RA2026001");
+        assertThat(index.rechercher("eleonore", null, 10)).isEmpty();
+
+        catalogue.retirer("S001");
+        assertThat(index.rechercher("amphi", null, 10)).isEmpty();
+    }
+}
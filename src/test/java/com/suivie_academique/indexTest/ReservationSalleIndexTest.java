@@ -0,0 +1,97 @@
+package com.suivie_academique.indexTest;
+
+import com.suivi_academique.entities.Programmation;
+import com.suivi_academique.entities.Salle;
+import com.suivi_academique.index.ReservationSalleIndex;
+import com.suivi_academique.repositories.ProgrammationRepository;
+import com.suivi_academique.utils.StatutProgrammation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("Tests unitaires de l'index des réservations de salles")
+class ReservationSalleIndexTest {
+
+    private static final long HEURE = 3_600_000L;
+
+    private ReservationSalleIndex index;
+
+    @BeforeEach
+    void setUp() {
+        ProgrammationRepository repository = mock(ProgrammationRepository.class);
+        when(repository.findAllWithDetails()).thenReturn(List.of(
+                programmation(1, "S001", 8, 10, StatutProgrammation.PROGRAMMER),
+                programmation(2, "S001", 14, 18, StatutProgrammation.VALIDER),
+                programmation(3, "S002", 8, 10, StatutProgrammation.PROGRAMMER),
+                programmation(4, "S001", 10, 12, StatutProgrammation.NON_VALIDER)));
+        index = new ReservationSalleIndex(repository);
+        index.charger();
+    }
+
+    @Test
+    @DisplayName("chargement - ignore les programmations refusées")
+    void charger_IgnoreNonValider() {
+        assertThat(index.taille()).isEqualTo(3);
+        assertThat(index.estLibre("S001", date(10), date(12))).isTrue();
+    }
+
+    @Test
+    @DisplayName("conflits - détecte les chevauchements de la même salle")
+    void conflits_Chevauchement() {
+        assertThat(index.conflits("S001", date(9), date(11), null))
+                .extracting(ReservationSalleIndex.Creneau::id).containsExactly(1);
+        assertThat(index.conflits("S001", date(7), date(20), null))
+                .extracting(ReservationSalleIndex.Creneau::id).containsExactly(1, 2);
+        assertThat(index.conflits("S001", date(15), date(16), null))
+                .extracting(ReservationSalleIndex.Creneau::id).containsExactly(2);
+    }
+
+    @Test
+    @DisplayName("conflits - créneaux bout à bout et autres salles acceptés")
+    void conflits_BoutABout() {
+        assertThat(index.estLibre("S001", date(10), date(14))).isTrue();
+        assertThat(index.estLibre("S003", date(8), date(10))).isTrue();
+    }
+
+    @Test
+    @DisplayName("conflits - exclut la programmation en cours de modification")
+    void conflits_ExclutId() {
+        assertThat(index.conflits("S001", date(8), date(9), 1)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("indexer / retirer - maintient l'index à jour")
+    void indexer_Retirer() {
+        Programmation deplacee = programmation(1, "S002", 12, 13, StatutProgrammation.PROGRAMMER);
+        index.indexer(deplacee);
+        assertThat(index.estLibre("S001", date(8), date(10))).isTrue();
+        assertThat(index.estLibre("S002", date(12), date(13))).isFalse();
+
+        index.retirer(1);
+        assertThat(index.estLibre("S002", date(12), date(13))).isTrue();
+        assertThat(index.taille()).isEqualTo(2);
+    }
+
+    private static Date date(int heure) {
+        return new Date(heure * HEURE);
+    }
+
+    private static Programmation programmation(int id, String codeSalle, int debut, int fin, StatutProgrammation statut) {
+        Salle salle = new Salle();
+        salle.setCodeSalle(codeSalle);
+        Programmation programmation = new Programmation();
+        programmation.setId(id);
+        programmation.setSalle(salle);
+        programmation.setDateProgrammation(date(debut));
+        programmation.setFinProgrammation(date(fin));
+        programmation.setStatutProgrammation(statut);
+        return programmation;
+    }
+}
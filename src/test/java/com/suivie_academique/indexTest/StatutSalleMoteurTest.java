@@ -0,0 +1,99 @@
+package com.suivie_academique.indexTest;
+
+import com.suivi_academique.entities.Salle;
+import com.suivi_academique.events.StatutSalleChangeEvent;
+import com.suivi_academique.index.ReservationSalleIndex;
+import com.suivi_academique.index.SalleCatalogue;
+import com.suivi_academique.index.StatutSalleMoteur;
+import com.suivi_academique.mappers.SalleMapper;
+import com.suivi_academique.repositories.ProgrammationRepository;
+import com.suivi_academique.repositories.SalleRepository;
+import com.suivi_academique.utils.SalleStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("Tests unitaires du moteur de statut des salles")
+class StatutSalleMoteurTest {
+
+    private ReservationSalleIndex reservations;
+    private SalleCatalogue catalogue;
+    private StatutSalleMoteur moteur;
+    private final List<StatutSalleChangeEvent> transitions = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        reservations = new ReservationSalleIndex(mock(ProgrammationRepository.class));
+        catalogue = new SalleCatalogue(mock(SalleRepository.class), new SalleMapper());
+        catalogue.mettreAJour(salle("S001", SalleStatus.LIBRE));
+        moteur = new StatutSalleMoteur(reservations, catalogue, event -> transitions.add((StatutSalleChangeEvent) event));
+        moteur.demarrer();
+    }
+
+    @AfterEach
+    void tearDown() {
+        moteur.arreter();
+    }
+
+    @Test
+    @DisplayName("evaluer - OCCUPE pendant un créneau, LIBRE après, FERMER prioritaire")
+    void evaluer_DepuisLesCreneaux() {
+        long debut = System.currentTimeMillis() + 3_600_000L;
+        reservations.enregistrer(new ReservationSalleIndex.Creneau(7, "S001", debut, debut + 7_200_000L));
+
+        StatutSalleMoteur.EtatSalle etat = moteur.evaluer("S001", debut + 60_000L);
+        assertThat(etat.statut()).isEqualTo(SalleStatus.OCCUPE);
+        assertThat(etat.programmation()).isEqualTo(7);
+        assertThat(etat.jusqua()).isEqualTo(debut + 7_200_000L);
+        assertThat(moteur.evaluer("S001", debut + 7_200_000L).statut()).isEqualTo(SalleStatus.LIBRE);
+
+        // Fermeture manuelle: le catalogue prévient le moteur
+        catalogue.mettreAJour(salle("S001", SalleStatus.FERMER));
+        assertThat(moteur.etat("S001").statut()).isEqualTo(SalleStatus.FERMER);
+        assertThat(moteur.evaluer("S001", debut + 60_000L).statut()).isEqualTo(SalleStatus.FERMER);
+
+        assertThat(transitions).extracting(StatutSalleChangeEvent::nouveau).containsExactly(
+                SalleStatus.LIBRE, SalleStatus.OCCUPE, SalleStatus.LIBRE, SalleStatus.FERMER);
+    }
+
+    @Test
+    @DisplayName("horloge - transitions publiées au début et à la fin du créneau")
+    void horloge_PublieLesTransitions() throws InterruptedException {
+        long debut = System.currentTimeMillis() + 200;
+        reservations.enregistrer(new ReservationSalleIndex.Creneau(1, "S001", debut, debut + 200));
+
+        long limite = System.currentTimeMillis() + 5_000;
+        while (transitions.size() < 3 && System.currentTimeMillis() < limite) {
+            Thread.sleep(20);
+        }
+        assertThat(transitions).extracting(StatutSalleChangeEvent::nouveau)
+                .containsExactly(SalleStatus.LIBRE, SalleStatus.OCCUPE, SalleStatus.LIBRE);
+        assertThat(transitions.get(1).instant()).isGreaterThanOrEqualTo(debut);
+    }
+
+    @Test
+    @DisplayName("échéances - retirées de la file quand le créneau est déplacé ou supprimé")
+    void echeances_RetireesAuDeplacement() {
+        long debut = System.currentTimeMillis() + 3_600_000L;
+        for (int i = 0; i < 5; i++) {
+            reservations.enregistrer(new ReservationSalleIndex.Creneau(3, "S001", debut + i * 60_000L,
+                    debut + i * 60_000L + 7_200_000L));
+        }
+        assertThat(moteur.echeancesEnAttente()).isEqualTo(2);
+
+        reservations.retirer(3);
+        assertThat(moteur.echeancesEnAttente()).isZero();
+    }
+
+    private static Salle salle(String code, SalleStatus statut) {
+        return new Salle(code, "Salle " + code, 30, statut, new ArrayList<>());
+    }
+}
@@ -0,0 +1,135 @@
+package com.suivie_academique.planificationTest;
+
+import com.suivi_academique.planification.PlanificateurEmploiDuTemps;
+import com.suivi_academique.planification.PlanificateurEmploiDuTemps.Probleme;
+import com.suivi_academique.planification.PlanificateurEmploiDuTemps.Resultat;
+import com.suivi_academique.planification.PlanificateurEmploiDuTemps.Seance;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Tests unitaires du planificateur d'emploi du temps")
+class PlanificateurEmploiDuTempsTest {
+
+    private static final ExecutorService executeur = Executors.newFixedThreadPool(4);
+
+    @AfterAll
+    static void arreter() {
+        executeur.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("resoudre - tout est placé, sans chevauchement ni cours deux fois le même jour")
+    void resoudre_SolutionComplete() {
+        // 5 jours de 2 créneaux, 2 salles, 2 enseignants, 3 cours de 3 séances
+        List<Seance> seances = new ArrayList<>();
+        for (int c = 0; c < 3; c++) {
+            for (int k = 0; k < 3; k++) {
+                seances.add(new Seance(c, 2, c == 0 ? new int[]{0} : new int[]{0, 1}));
+            }
+        }
+        Probleme probleme = new Probleme(jours(5, 2), 2, 2, 3, seances);
+
+        Resultat resultat = PlanificateurEmploiDuTemps.resoudre(probleme, 2000, 2, 42, executeur);
+
+        assertThat(resultat.placees()).isEqualTo(9);
+        assertThat(resultat.penalite()).isZero();
+        verifierSansConflit(seances, resultat);
+    }
+
+    @Test
+    @DisplayName("resoudre - respecte les salles et enseignants déjà réservés")
+    void resoudre_ReservationsExistantes() {
+        List<Seance> seances = List.of(new Seance(0, 2, new int[]{0}), new Seance(1, 2, new int[]{1}));
+        Probleme probleme = new Probleme(jours(1, 2), 1, 2, 2, seances);
+        probleme.reserverSalle(0, 0);
+
+        Resultat resultat = PlanificateurEmploiDuTemps.resoudre(probleme, 500, 2, 7, executeur);
+
+        // Une seule salle, un seul créneau libre: une séance sur deux
+        assertThat(resultat.placees()).isEqualTo(1);
+        for (int s = 0; s < seances.size(); s++) {
+            assertThat(resultat.creneau()[s]).isNotEqualTo(0);
+        }
+    }
+
+    @Test
+    @DisplayName("resoudre - instance de la taille d'un semestre, en parallèle et dans le budget")
+    void resoudre_GrandeInstance() {
+        Random random = new Random(1);
+        int nbCours = 400;
+        int nbEnseignants = 150;
+        List<Seance> seances = new ArrayList<>();
+        for (int c = 0; c < nbCours; c++) {
+            int[] candidats = {random.nextInt(nbEnseignants), random.nextInt(nbEnseignants)};
+            for (int k = 0; k < 8; k++) {
+                seances.add(new Seance(c, 2, candidats));
+            }
+        }
+        // 12 semaines de 6 jours, 5 séances par jour, 15 salles
+        Probleme probleme = new Probleme(jours(72, 5), 15, nbEnseignants, nbCours, seances);
+
+        long depart = System.currentTimeMillis();
+        Resultat resultat = PlanificateurEmploiDuTemps.resoudre(probleme, 3000, 4, 3, executeur);
+
+        assertThat(System.currentTimeMillis() - depart).isLessThan(10_000);
+        assertThat(resultat.workers()).isEqualTo(4);
+        assertThat(resultat.placees()).isEqualTo(seances.size());
+        verifierSansConflit(seances, resultat);
+    }
+
+    @Test
+    @DisplayName("resoudre - s'arrête avant le budget quand seules restent des séances impossibles à placer")
+    void resoudre_SeancesImplacables() {
+        // Séance 1 sans enseignant, séance 2 sur un cours réservé à tous les créneaux
+        List<Seance> seances = List.of(new Seance(0, 2, new int[]{0}), new Seance(1, 2, new int[0]),
+                new Seance(2, 2, new int[]{0}));
+        Probleme probleme = new Probleme(jours(5, 2), 2, 1, 3, seances);
+        for (int t = 0; t < probleme.nbCreneaux(); t++) {
+            probleme.reserverCours(2, t);
+        }
+
+        long depart = System.currentTimeMillis();
+        Resultat resultat = PlanificateurEmploiDuTemps.resoudre(probleme, 30_000, 2, 5, executeur);
+
+        assertThat(System.currentTimeMillis() - depart).isLessThan(5_000);
+        assertThat(resultat.placees()).isEqualTo(1);
+        assertThat(resultat.creneau()[1]).isEqualTo(PlanificateurEmploiDuTemps.NON_PLACEE);
+        assertThat(resultat.creneau()[2]).isEqualTo(PlanificateurEmploiDuTemps.NON_PLACEE);
+    }
+
+    private static void verifierSansConflit(List<Seance> seances, Resultat resultat) {
+        Set<Long> salles = new HashSet<>();
+        Set<Long> enseignants = new HashSet<>();
+        Set<Long> cours = new HashSet<>();
+        for (int s = 0; s < seances.size(); s++) {
+            int t = resultat.creneau()[s];
+            if (t == PlanificateurEmploiDuTemps.NON_PLACEE) {
+                continue;
+            }
+            long creneau = (long) t << 32;
+            assertThat(salles.add(creneau | resultat.salle()[s])).isTrue();
+            assertThat(enseignants.add(creneau | resultat.enseignant()[s])).isTrue();
+            assertThat(cours.add(creneau | seances.get(s).cours())).isTrue();
+            assertThat(seances.get(s).enseignants()).contains(resultat.enseignant()[s]);
+        }
+    }
+
+    private static int[] jours(int nbJours, int creneauxParJour) {
+        int[] jourCreneau = new int[nbJours * creneauxParJour];
+        for (int t = 0; t < jourCreneau.length; t++) {
+            jourCreneau[t] = t / creneauxParJour;
+        }
+        return jourCreneau;
+    }
+}
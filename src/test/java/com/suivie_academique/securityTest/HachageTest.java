@@ -0,0 +1,127 @@
+package com.suivie_academique.securityTest;
+
+import com.suivi_academique.security.HachageMotsDePasse;
+import com.suivi_academique.security.HachageSatureException;
+import com.suivi_academique.security.LimiteurTentatives;
+import com.suivi_academique.security.TropDeTentativesException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Tests unitaires du hachage borné et de la limitation des connexions")
+class HachageTest {
+
+    private HachageMotsDePasse hachage;
+
+    @AfterEach
+    void tearDown() {
+        if (hachage != null) {
+            hachage.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("encode/matches - compatibles avec BCrypt standard")
+    void encode_Matches() {
+        hachage = new HachageMotsDePasse(4, 1, 4, 5_000);
+
+        String hash = hachage.encode("secret");
+
+        assertThat(hachage.matches("secret", hash)).isTrue();
+        assertThat(hachage.matches("autre", hash)).isFalse();
+        assertThat(new BCryptPasswordEncoder().matches("secret", hash)).isTrue();
+    }
+
+    @Test
+    @DisplayName("upgradeEncoding - vrai seulement si la force du hash diffère de la configuration")
+    void upgradeEncoding() {
+        hachage = new HachageMotsDePasse(5, 1, 4, 5_000);
+
+        assertThat(hachage.upgradeEncoding(new BCryptPasswordEncoder(4).encode("secret"))).isTrue();
+        assertThat(hachage.upgradeEncoding(hachage.encode("secret"))).isFalse();
+        assertThat(hachage.upgradeEncoding(null)).isFalse();
+    }
+
+    @Test
+    @DisplayName("encode - attente dépassée: 503")
+    void encode_AttenteDepassee() {
+        hachage = new HachageMotsDePasse(14, 1, 1, 1);
+
+        assertThatThrownBy(() -> hachage.encode("secret"))
+                .isInstanceOf(HachageSatureException.class)
+                .satisfies(e -> assertThat(((HachageSatureException) e).getStatusCode())
+                        .isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+    }
+
+    @Test
+    @DisplayName("encode - file pleine: refus immédiat des appels en trop")
+    void encode_FilePleine() {
+        hachage = new HachageMotsDePasse(14, 1, 1, 30_000);
+
+        List<CompletableFuture<String>> appels = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            appels.add(CompletableFuture.supplyAsync(() -> hachage.encode("secret")));
+        }
+
+        long refus = appels.stream().filter(appel -> {
+            try {
+                appel.join();
+                return false;
+            } catch (CompletionException e) {
+                return e.getCause() instanceof HachageSatureException;
+            }
+        }).count();
+        assertThat(refus).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("LimiteurTentatives - attente croissante par login, fenêtre glissante par IP")
+    void limiteur() {
+        AtomicLong temps = new AtomicLong(1_000_000);
+        LimiteurTentatives limiteur = new LimiteurTentatives(5, 2, 60, 60, temps::get);
+
+        limiteur.verifier("10.0.0.1", "jdoe");
+        limiteur.echec("jdoe");
+        limiteur.verifier("10.0.0.1", "jdoe");
+        limiteur.echec("jdoe");
+        // Seuil atteint: 1 s d'attente, quelle que soit l'IP
+        assertThatThrownBy(() -> limiteur.verifier("10.0.0.2", "jdoe"))
+                .isInstanceOf(TropDeTentativesException.class);
+        temps.addAndGet(1_000);
+        limiteur.verifier("10.0.0.2", "jdoe");
+        limiteur.echec("jdoe");
+        // Un échec de plus: l'attente double
+        temps.addAndGet(1_000);
+        assertThatThrownBy(() -> limiteur.verifier("10.0.0.2", "jdoe"))
+                .isInstanceOf(TropDeTentativesException.class);
+        temps.addAndGet(1_000);
+        limiteur.verifier("10.0.0.2", "jdoe");
+
+        limiteur.succes("jdoe");
+        limiteur.verifier("10.0.0.1", "jdoe");
+        temps.addAndGet(30_000);
+        limiteur.verifier("10.0.0.1", "autre");
+        limiteur.verifier("10.0.0.1", "autre");
+        assertThatThrownBy(() -> limiteur.verifier("10.0.0.1", "autre"))
+                .isInstanceOf(TropDeTentativesException.class)
+                .satisfies(e -> assertThat(((TropDeTentativesException) e).getStatusCode())
+                        .isEqualTo(HttpStatus.TOO_MANY_REQUESTS));
+        // Fenêtre glissante: les deux premières tentatives sortent de la fenêtre, pas les suivantes
+        temps.addAndGet(27_000);
+        limiteur.verifier("10.0.0.1", "autre");
+        limiteur.verifier("10.0.0.1", "autre");
+        assertThatThrownBy(() -> limiteur.verifier("10.0.0.1", "autre"))
+                .isInstanceOf(TropDeTentativesException.class);
+    }
+}
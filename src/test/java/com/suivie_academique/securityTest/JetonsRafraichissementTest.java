@@ -0,0 +1,115 @@
+package com.suivie_academique.securityTest;
+
+import com.suivi_academique.SuiviAcademiqueApplication;
+import com.suivi_academique.entities.JetonRafraichissement;
+import com.suivi_academique.entities.Personnel;
+import com.suivi_academique.repositories.JetonRafraichissementRepository;
+import com.suivi_academique.security.JetonsRafraichissement;
+import com.suivi_academique.utils.RolePersonnel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(classes = SuiviAcademiqueApplication.class)
+@ActiveProfiles("test")
+@DisplayName("Jetons de rafraîchissement: rotation, réutilisation et persistance")
+class JetonsRafraichissementTest {
+
+    @Autowired
+    private JetonsRafraichissement jetonsRafraichissement;
+
+    @Autowired
+    private JetonRafraichissementRepository repository;
+
+    private Personnel personnel;
+
+    @BeforeEach
+    void setUp() {
+        personnel = new Personnel();
+        personnel.setCodePersonnel("RA202698001");
+        personnel.setLoginPersonnel("refresh.user");
+        personnel.setNomPersonnel("Nom refresh");
+        personnel.setRolePersonnel(RolePersonnel.RESPONSABLE_ACADEMIQUE);
+        jetonsRafraichissement.revoquerUtilisateur(personnel.getCodePersonnel());
+        jetonsRafraichissement.persister();
+    }
+
+    @Test
+    @DisplayName("echanger - nouveau jeton, identité et rôle conservés; l'ancien jeton est à usage unique")
+    void echanger_Rotation() {
+        String premier = jetonsRafraichissement.emettre(personnel);
+
+        JetonsRafraichissement.Session session = jetonsRafraichissement.echanger(premier);
+
+        assertThat(session.jeton()).isNotEqualTo(premier);
+        assertThat(session.personnel().getUsername()).isEqualTo("refresh.user");
+        assertThat(session.personnel().getRolePersonnel()).isEqualTo(RolePersonnel.RESPONSABLE_ACADEMIQUE);
+        assertThat(jetonsRafraichissement.echanger(session.jeton()).jeton()).isNotBlank();
+    }
+
+    @Test
+    @DisplayName("echanger - un jeton rejoué révoque toute la famille")
+    void echanger_Reutilisation() {
+        String premier = jetonsRafraichissement.emettre(personnel);
+        String second = jetonsRafraichissement.echanger(premier).jeton();
+
+        assertThatThrownBy(() -> jetonsRafraichissement.echanger(premier))
+                .hasMessageContaining("déjà utilisé");
+        assertThatThrownBy(() -> jetonsRafraichissement.echanger(second))
+                .hasMessageContaining("invalide");
+    }
+
+    @Test
+    @DisplayName("persister - jetons stockés par empreinte, échangés puis révoqués en base")
+    void persister() {
+        String premier = jetonsRafraichissement.emettre(personnel);
+        jetonsRafraichissement.echanger(premier);
+        jetonsRafraichissement.persister();
+
+        assertThat(repository.findAll())
+                .filteredOn(jeton -> jeton.getCodePersonnel().equals("RA202698001"))
+                .hasSize(2)
+                .extracting(JetonRafraichissement::getEmpreinte)
+                .doesNotContain(premier)
+                .allMatch(empreinte -> empreinte.length() == 64);
+        assertThat(repository.findAll()).filteredOn(JetonRafraichissement::isUtilise).hasSize(1);
+
+        jetonsRafraichissement.revoquerUtilisateur("RA202698001");
+        jetonsRafraichissement.persister();
+
+        assertThat(repository.findAll()).noneMatch(jeton -> jeton.getCodePersonnel().equals("RA202698001"));
+    }
+
+    @Test
+    @DisplayName("echanger - jeton absent de la mémoire relu en base, marqué utilisé avant la réponse")
+    void echanger_JetonEnBase() throws Exception {
+        // Émis par une autre instance: en base, inconnu de la mémoire de celle-ci
+        String jeton = "jeton-autre-instance-" + UUID.randomUUID();
+        String empreinte = HexFormat.of().formatHex(
+                MessageDigest.getInstance("SHA-256").digest(jeton.getBytes(StandardCharsets.UTF_8)));
+        repository.save(new JetonRafraichissement(empreinte, UUID.randomUUID().toString(), "RA202698001",
+                "refresh.user", "Nom refresh", RolePersonnel.RESPONSABLE_ACADEMIQUE,
+                System.currentTimeMillis() + 60_000, false));
+
+        JetonsRafraichissement.Session session = jetonsRafraichissement.echanger(jeton);
+
+        assertThat(session.personnel().getUsername()).isEqualTo("refresh.user");
+        // Sans attendre persister(): un arrêt brutal ne peut pas le remettre en circulation
+        assertThat(repository.findById(empreinte)).get().extracting(JetonRafraichissement::isUtilise).isEqualTo(true);
+        assertThatThrownBy(() -> jetonsRafraichissement.echanger(jeton))
+                .hasMessageContaining("déjà utilisé");
+        assertThatThrownBy(() -> jetonsRafraichissement.echanger(jeton))
+                .hasMessageContaining("invalide");
+    }
+}
@@ -0,0 +1,84 @@
+package com.suivie_academique.securityTest;
+
+import com.suivi_academique.config.JwtUtil;
+import com.suivi_academique.entities.Personnel;
+import com.suivi_academique.security.JetonsRevoques;
+import com.suivi_academique.utils.RolePersonnel;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Tests unitaires des jetons JWT et de leur révocation")
+class JetonsTest {
+
+    private static final String SECRET = "SEm108AzjwmNhgc2dzAIardhYdhhQp7baKqPnhKNg08OdmXMcsz01mHSXFhkuNGr";
+
+    private JwtUtil jwtUtil;
+    private JetonsRevoques jetonsRevoques;
+    private Personnel personnel;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil(SECRET, 3_600_000L, 100, 60_000L);
+        jetonsRevoques = new JetonsRevoques(3_600_000L);
+        personnel = new Personnel();
+        personnel.setCodePersonnel("RA2026001");
+        personnel.setLoginPersonnel("jdoe");
+        personnel.setRolePersonnel(RolePersonnel.ENSEIGNANT);
+    }
+
+    @Test
+    @DisplayName("generateToken - le jeton porte le code, le rôle et un identifiant unique")
+    void generateToken_Claims() {
+        Claims claims = jwtUtil.lireJeton(jwtUtil.generateToken(personnel));
+
+        assertThat(claims.getSubject()).isEqualTo("jdoe");
+        assertThat(claims.get(JwtUtil.CLAIM_CODE, String.class)).isEqualTo("RA2026001");
+        assertThat(claims.get(JwtUtil.CLAIM_ROLE, String.class)).isEqualTo("ENSEIGNANT");
+        assertThat(claims.getId()).isNotBlank()
+                .isNotEqualTo(jwtUtil.lireJeton(jwtUtil.generateToken(personnel)).getId());
+    }
+
+    @Test
+    @DisplayName("lireJeton - claims vérifiés réutilisés depuis le cache, vérification à chaque appel sinon")
+    void lireJeton_Cache() {
+        String jeton = jwtUtil.generateToken(personnel);
+        assertThat(jwtUtil.lireJeton(jeton)).isSameAs(jwtUtil.lireJeton(jeton));
+
+        JwtUtil sansCache = new JwtUtil(SECRET, 3_600_000L, 0, 0);
+        assertThat(sansCache.lireJeton(jeton)).isNotSameAs(sansCache.lireJeton(jeton));
+        assertThat(sansCache.isTokenValid(jeton, personnel)).isTrue();
+    }
+
+    @Test
+    @DisplayName("estRevoque - par jeton à la déconnexion, par utilisateur pour les jetons antérieurs")
+    void estRevoque_JetonEtUtilisateur() {
+        Claims claims = jwtUtil.lireJeton(jwtUtil.generateToken(personnel));
+        assertThat(jetonsRevoques.estRevoque(claims.getId(), "RA2026001", claims.getIssuedAt())).isFalse();
+
+        jetonsRevoques.revoquer(claims.getId(), claims.getExpiration());
+        assertThat(jetonsRevoques.estRevoque(claims.getId(), "RA2026001", claims.getIssuedAt())).isTrue();
+
+        jetonsRevoques.revoquerUtilisateur("RA2026002");
+        assertThat(jetonsRevoques.estRevoque("autre", "RA2026002", new Date(System.currentTimeMillis() - 5_000))).isTrue();
+        assertThat(jetonsRevoques.estRevoque("autre", "RA2026002", new Date(System.currentTimeMillis() + 5_000))).isFalse();
+    }
+
+    @Test
+    @DisplayName("purger - retire les jetons expirés")
+    void purger_JetonsExpires() throws InterruptedException {
+        jetonsRevoques.revoquer("expire-bientot", new Date(System.currentTimeMillis() + 50));
+        jetonsRevoques.revoquer("valide", new Date(System.currentTimeMillis() + 60_000));
+        assertThat(jetonsRevoques.taille()).isEqualTo(2);
+
+        Thread.sleep(100);
+        jetonsRevoques.purger();
+        assertThat(jetonsRevoques.taille()).isEqualTo(1);
+        assertThat(jetonsRevoques.estRevoque("valide", null, null)).isTrue();
+    }
+}
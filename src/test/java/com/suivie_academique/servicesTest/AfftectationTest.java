@@ -1,4 +1,157 @@
 package com.suivie_academique.servicesTest;
 
+import com.suivi_academique.SuiviAcademiqueApplication;
+import com.suivi_academique.dto.AffectationDTO;
+import com.suivi_academique.dto.CoursDTO;
+import com.suivi_academique.dto.LigneImportDTO;
+import com.suivi_academique.dto.PersonnelDTO;
+import com.suivi_academique.dto.RapportImportDTO;
+import com.suivi_academique.entities.AffectationId;
+import com.suivi_academique.entities.Cours;
+import com.suivi_academique.entities.Personnel;
+import com.suivi_academique.repositories.AffectationRepository;
+import com.suivi_academique.repositories.CoursRepository;
+import com.suivi_academique.repositories.PersonnelRepository;
+import com.suivi_academique.services.interfaces.AffectationInterface;
+import com.suivi_academique.utils.RolePersonnel;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(classes = SuiviAcademiqueApplication.class,
+        properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@DisplayName("Création des affectations, unitaire et en masse")
 public class AfftectationTest {
+
+    @Autowired
+    private AffectationInterface affectationService;
+
+    @Autowired
+    private AffectationRepository affectationRepository;
+
+    @Autowired
+    private CoursRepository coursRepository;
+
+    @Autowired
+    private PersonnelRepository personnelRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        coursRepository.save(new Cours("AFF101", "Affectation 1", "desc", "3", "40", null));
+        coursRepository.save(new Cours("AFF102", "Affectation 2", "desc", "3", "40", null));
+        personnelRepository.save(personnel("ENS202695001", "aff.un"));
+        personnelRepository.save(personnel("ENS202695002", "aff.deux"));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void nettoyer() {
+        // Par le service: l'index des affectations suit
+        affectationRepository.findAll().stream().map(a -> a.getCodeAffectation())
+                .filter(id -> id.getCodeCours().startsWith("AFF"))
+                .forEach(id -> affectationService.delete(id.getCodeCours(), id.getCodePersonnel()));
+        coursRepository.deleteAllById(List.of("AFF101", "AFF102"));
+        personnelRepository.deleteAllById(List.of("ENS202695001", "ENS202695002"));
+    }
+
+    @Test
+    @DisplayName("save - un seul INSERT, doublon signalé par la clé primaire")
+    void save_InsertUnique() {
+        AffectationDTO demande = demande("AFF101", "ENS202695001");
+        // Référentiels en cache avant la mesure
+        affectationService.save(demande("AFF102", "ENS202695001"));
+
+        statistics.clear();
+        AffectationDTO cree = affectationService.save(demande);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(cree.getCodeAffectation()).isEqualTo(new AffectationId("AFF101", "ENS202695001"));
+        assertThat(cree.getPersonnel().getPadPersonnel()).isNull();
+        assertThatThrownBy(() -> affectationService.save(demande))
+                .hasMessageContaining("existe déjà");
+    }
+
+    @Test
+    @DisplayName("saveAll - paires valides insérées, rejets par paire, doublon en base repris seul")
+    void saveAll_Rapport() {
+        affectationService.save(demande("AFF101", "ENS202695001"));
+
+        RapportImportDTO rapport = affectationService.saveAll(Arrays.asList(
+                new AffectationId("AFF101", "ENS202695002"),
+                new AffectationId("AFF101", "ENS202695001"),
+                new AffectationId("AFF102", "ENS202695001"),
+                new AffectationId("AFF102", "ENS202695001"),
+                new AffectationId("INCONNU", "ENS202695001")));
+
+        assertThat(rapport.getImportees()).isEqualTo(2);
+        assertThat(rapport.getRejetees()).isEqualTo(3);
+        assertThat(rapport.getLignes()).extracting(LigneImportDTO::getStatut).containsExactly(
+                RapportImportDTO.IMPORTEE, RapportImportDTO.REJETEE, RapportImportDTO.IMPORTEE,
+                RapportImportDTO.REJETEE, RapportImportDTO.REJETEE);
+        assertThat(rapport.getLignes().get(1).getMessage()).contains("existe déjà");
+        assertThat(rapport.getLignes().get(3).getMessage()).contains("double");
+        assertThat(affectationRepository.existsById(new AffectationId("AFF102", "ENS202695001"))).isTrue();
+    }
+
+    @Test
+    @DisplayName("update - changement de paire: ancienne remplacée en base et dans l'index, doublon refusé")
+    void update_ChangementDePaire() {
+        affectationService.save(demande("AFF101", "ENS202695001"));
+        affectationService.save(demande("AFF102", "ENS202695002"));
+
+        AffectationDTO modifiee = affectationService.update(new AffectationId("AFF101", "ENS202695001"),
+                demande("AFF101", "ENS202695002"));
+
+        assertThat(modifiee.getCodeAffectation()).isEqualTo(new AffectationId("AFF101", "ENS202695002"));
+        assertThat(affectationRepository.existsById(new AffectationId("AFF101", "ENS202695001"))).isFalse();
+        assertThat(affectationRepository.existsById(new AffectationId("AFF101", "ENS202695002"))).isTrue();
+        assertThat(affectationService.getPersonnelsDuCours("AFF101"))
+                .extracting(PersonnelDTO::getCodePersonnel).containsExactly("ENS202695002");
+        assertThat(affectationService.getCoursDuPersonnel("ENS202695001")).isEmpty();
+
+        assertThatThrownBy(() -> affectationService.update(new AffectationId("AFF101", "ENS202695002"),
+                demande("AFF102", "ENS202695002"))).hasMessageContaining("existe déjà");
+        assertThat(affectationRepository.existsById(new AffectationId("AFF101", "ENS202695002"))).isTrue();
+        assertThat(affectationService.getCoursDuPersonnel("ENS202695002"))
+                .extracting(CoursDTO::getCodeCours).containsExactlyInAnyOrder("AFF101", "AFF102");
+    }
+
+    private static AffectationDTO demande(String codeCours, String codePersonnel) {
+        CoursDTO cours = new CoursDTO();
+        cours.setCodeCours(codeCours);
+        PersonnelDTO personnel = new PersonnelDTO();
+        personnel.setCodePersonnel(codePersonnel);
+        return new AffectationDTO(personnel, cours, null);
+    }
+
+    private static Personnel personnel(String code, String login) {
+        Personnel personnel = new Personnel();
+        personnel.setCodePersonnel(code);
+        personnel.setNomPersonnel("Nom " + login);
+        personnel.setLoginPersonnel(login);
+        personnel.setPadPersonnel("x");
+        personnel.setSexePersonnel("M");
+        personnel.setPhonePersonnel("600000000");
+        personnel.setRolePersonnel(RolePersonnel.ENSEIGNANT);
+        return personnel;
+    }
 }
@@ -0,0 +1,130 @@
+package com.suivie_academique.servicesTest;
+
+import com.suivi_academique.SuiviAcademiqueApplication;
+import com.suivi_academique.dto.ChargePersonnelDTO;
+import com.suivi_academique.entities.Affectation;
+import com.suivi_academique.entities.AffectationId;
+import com.suivi_academique.entities.Cours;
+import com.suivi_academique.entities.Personnel;
+import com.suivi_academique.entities.Programmation;
+import com.suivi_academique.entities.Salle;
+import com.suivi_academique.services.interfaces.ChargePersonnelInterface;
+import com.suivi_academique.utils.RolePersonnel;
+import com.suivi_academique.utils.SalleStatus;
+import com.suivi_academique.utils.StatutProgrammation;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = SuiviAcademiqueApplication.class,
+        properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("Tableau de charge du personnel")
+class ChargePersonnelTest {
+
+    private static final long HEURE = 3_600_000L;
+
+    // Période propre à ce test: pas d'entrée de cache partagée avec d'autres classes
+    private static final long DEBUT = 1000 * HEURE;
+
+    @Autowired
+    private ChargePersonnelInterface chargePersonnelService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        Salle salle = new Salle("SCHG1", "Salle charge", 40, SalleStatus.LIBRE, null);
+        Cours cours = new Cours("CHG101", "Charge", "desc", "3", "40", null);
+        Personnel prog = personnel("RA202696001", "charge.prog");
+        Personnel val = personnel("RA202696002", "charge.val");
+        Personnel inactif = personnel("RA202696003", "charge.inactif");
+        entityManager.persist(salle);
+        entityManager.persist(cours);
+        entityManager.persist(prog);
+        entityManager.persist(val);
+        entityManager.persist(inactif);
+        // 5 programmations dans la période, dont 3 validées, et une hors période
+        for (int i = 0; i < 6; i++) {
+            long debut = i < 5 ? DEBUT + i * 2 * HEURE : 0;
+            Programmation programmation = new Programmation();
+            programmation.setNbHeure(2);
+            programmation.setDateProgrammation(new Date(debut));
+            programmation.setFinProgrammation(new Date(debut + 2 * HEURE));
+            programmation.setStatutProgrammation(StatutProgrammation.PROGRAMMER);
+            programmation.setSalle(salle);
+            programmation.setCours(cours);
+            programmation.setPersonnelProg(prog);
+            programmation.setPersonnelVal(i < 3 || i == 5 ? val : null);
+            entityManager.persist(programmation);
+        }
+        Affectation affectation = new Affectation(new AffectationId("CHG101", "RA202696001"), prog, cours);
+        entityManager.persist(affectation);
+        entityManager.flush();
+        entityManager.clear();
+        chargePersonnelService.invalider();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("getCharges - quatre requêtes groupées pour tous les personnels, puis servi depuis le cache")
+    void getCharges_RequetesGroupees() {
+        Date debut = new Date(DEBUT);
+        Date fin = new Date(DEBUT + 24 * HEURE);
+
+        Map<String, ChargePersonnelDTO> charges = chargePersonnelService.getCharges(debut, fin).stream()
+                .collect(Collectors.toMap(ChargePersonnelDTO::getCodePersonnel, Function.identity()));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+        ChargePersonnelDTO prog = charges.get("RA202696001");
+        assertThat(prog.getProgrammations()).isEqualTo(5);
+        assertThat(prog.getHeuresProgrammees()).isEqualTo(10);
+        assertThat(prog.getCoursAffectes()).isEqualTo(1);
+        assertThat(prog.getValidations()).isZero();
+        assertThat(charges.get("RA202696002").getValidations()).isEqualTo(3);
+        assertThat(charges.get("RA202696003"))
+                .extracting(ChargePersonnelDTO::getProgrammations, ChargePersonnelDTO::getCoursAffectes)
+                .containsExactly(0L, 0L);
+
+        statistics.clear();
+        List<ChargePersonnelDTO> enCache = chargePersonnelService.getCharges(debut, fin);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        chargePersonnelService.invalider();
+        assertThat(chargePersonnelService.getCharges(debut, fin)).isNotSameAs(enCache);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+    }
+
+    private static Personnel personnel(String code, String login) {
+        Personnel personnel = new Personnel();
+        personnel.setCodePersonnel(code);
+        personnel.setNomPersonnel("Nom " + login);
+        personnel.setLoginPersonnel(login);
+        personnel.setPadPersonnel("x");
+        personnel.setSexePersonnel("M");
+        personnel.setPhonePersonnel("600000000");
+        personnel.setRolePersonnel(RolePersonnel.ENSEIGNANT);
+        return personnel;
+    }
+}
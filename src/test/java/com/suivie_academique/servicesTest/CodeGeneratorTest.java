@@ -0,0 +1,102 @@
+package com.suivie_academique.servicesTest;
+
+import com.suivi_academique.entities.CompteurCode;
+import com.suivi_academique.repositories.CompteurCodeRepository;
+import com.suivi_academique.repositories.PersonnelRepository;
+import com.suivi_academique.utils.CodeGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Tests unitaires de l'allocation des codes personnel par blocs")
+class CodeGeneratorTest {
+
+    @Mock
+    private CompteurCodeRepository compteurCodeRepository;
+
+    @Mock
+    private PersonnelRepository personnelRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CodeGenerator codeGenerator;
+
+    // Ligne CompteurCode simulée
+    private CompteurCode compteur;
+
+    private final String prefixe = "ENS" + LocalDate.now().getYear();
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        lenient().when(compteurCodeRepository.findByIdForUpdate(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(compteur));
+        lenient().when(compteurCodeRepository.saveAndFlush(any())).thenAnswer(invocation -> {
+            compteur = invocation.getArgument(0);
+            return compteur;
+        });
+        codeGenerator = new CodeGenerator(compteurCodeRepository, personnelRepository, transactionManager, 10);
+    }
+
+    @Test
+    @DisplayName("generate - numéros consécutifs après les codes existants, une réservation par bloc")
+    void generate_ParBlocs() {
+        when(personnelRepository.findCodesByPrefixe(prefixe)).thenReturn(List.of(prefixe + "54321", prefixe + "10007"));
+
+        for (int i = 0; i < 25; i++) {
+            assertThat(codeGenerator.generate("ENSEIGNANT")).isEqualTo(prefixe + (54322 + i));
+        }
+
+        verify(compteurCodeRepository, times(3)).saveAndFlush(any());
+        verify(personnelRepository, times(1)).findCodesByPrefixe(prefixe);
+        verify(personnelRepository, never()).existsById(anyString());
+        assertThat(compteur.getProchainBloc()).isEqualTo(54322 + 30);
+    }
+
+    @Test
+    @DisplayName("generate - aucun doublon entre threads concurrents")
+    void generate_Concurrent() throws InterruptedException {
+        Set<String> codes = ConcurrentHashMap.newKeySet();
+        ExecutorService executeur = Executors.newFixedThreadPool(4);
+        for (int i = 0; i < 1000; i++) {
+            executeur.submit(() -> codes.add(codeGenerator.generate("ENSEIGNANT")));
+        }
+        executeur.shutdown();
+        assertThat(executeur.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(codes).hasSize(1000);
+        assertThat(codes).allMatch(code -> code.startsWith(prefixe));
+        verify(compteurCodeRepository, times(100)).saveAndFlush(any());
+    }
+
+    @Test
+    @DisplayName("generate - rôle inconnu: null")
+    void generate_RoleInconnu() {
+        assertThat(codeGenerator.generate("ETUDIANT")).isNull();
+    }
+}
@@ -0,0 +1,84 @@
+package com.suivie_academique.servicesTest;
+
+import com.suivi_academique.dto.OccupationSalleDTO;
+import com.suivi_academique.dto.OccupationSallesDTO;
+import com.suivi_academique.dto.SalleDTO;
+import com.suivi_academique.entities.Salle;
+import com.suivi_academique.index.ReservationSalleIndex;
+import com.suivi_academique.index.SalleCatalogue;
+import com.suivi_academique.mappers.SalleMapper;
+import com.suivi_academique.repositories.ProgrammationRepository;
+import com.suivi_academique.repositories.SalleRepository;
+import com.suivi_academique.services.implementations.OccupationSalleService;
+import com.suivi_academique.utils.SalleStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("Tests unitaires de la carte d'occupation des salles")
+class OccupationSalleTest {
+
+    private static final ZoneId ZONE = ZoneOffset.UTC;
+
+    @Test
+    @DisplayName("calculer - minutes par heure de la semaine, bornées à la période, et taux d'occupation")
+    void calculer_MatriceEtTaux() {
+        List<SalleDTO> salles = List.of(
+                new SalleDTO("S001", "Amphi", 200, SalleStatus.LIBRE),
+                new SalleDTO("S002", "TD", 30, SalleStatus.LIBRE));
+        // Lundi 5 octobre 2026
+        List<ReservationSalleIndex.Creneau> creneaux = List.of(
+                new ReservationSalleIndex.Creneau(1, "S002", instant(2026, 10, 5, 8, 30), instant(2026, 10, 5, 10, 0)),
+                new ReservationSalleIndex.Creneau(2, "S002", instant(2026, 10, 11, 23, 0), instant(2026, 10, 12, 1, 0)),
+                new ReservationSalleIndex.Creneau(3, "INCONNUE", instant(2026, 10, 5, 8, 0), instant(2026, 10, 5, 9, 0)));
+
+        OccupationSallesDTO occupation = OccupationSalleService.calculer(salles, creneaux,
+                instant(2026, 10, 5, 0, 0), instant(2026, 10, 12, 0, 0), ZONE);
+
+        assertThat(occupation.getSalles()).extracting(OccupationSalleDTO::getCodeSalle).containsExactly("S002", "S001");
+        OccupationSalleDTO td = occupation.getSalles().get(0);
+        assertThat(td.getMinutesParHeure()[8]).isEqualTo(30);
+        assertThat(td.getMinutesParHeure()[9]).isEqualTo(60);
+        // Dimanche 23h: le créneau 2 est coupé à la fin de la période
+        assertThat(td.getMinutesParHeure()[167]).isEqualTo(60);
+        assertThat(td.getMinutesParHeure()[0]).isZero();
+        assertThat(td.getMinutesReservees()).isEqualTo(150);
+        assertThat(td.getTauxOccupation()).isEqualTo(1.49);
+        assertThat(occupation.getSalles().get(1).getMinutesReservees()).isZero();
+        assertThat(occupation.getTauxOccupation()).isEqualTo(0.74);
+    }
+
+    @Test
+    @DisplayName("getOccupation - seuls les créneaux de la période, cherchés salle par salle")
+    void getOccupation_CreneauxDeLaPeriode() {
+        ReservationSalleIndex reservations = new ReservationSalleIndex(mock(ProgrammationRepository.class));
+        SalleCatalogue catalogue = new SalleCatalogue(mock(SalleRepository.class), new SalleMapper());
+        catalogue.mettreAJour(new Salle("S001", "Amphi", 200, SalleStatus.LIBRE, new ArrayList<>()));
+        long debut = System.currentTimeMillis();
+        long heure = 3_600_000L;
+        // Historique avant la période, créneau à cheval sur son début, créneau après sa fin
+        for (int i = 1; i <= 50; i++) {
+            reservations.enregistrer(new ReservationSalleIndex.Creneau(i, "S001", debut - i * 2 * heure, debut - i * 2 * heure + heure));
+        }
+        reservations.enregistrer(new ReservationSalleIndex.Creneau(100, "S001", debut - heure / 2, debut + heure));
+        reservations.enregistrer(new ReservationSalleIndex.Creneau(101, "S001", debut + 5 * heure, debut + 6 * heure));
+
+        OccupationSallesDTO occupation = new OccupationSalleService(reservations, catalogue)
+                .getOccupation(new Date(debut), new Date(debut + 4 * heure));
+
+        assertThat(occupation.getSalles().get(0).getMinutesReservees()).isEqualTo(60);
+    }
+
+    private static long instant(int annee, int mois, int jour, int heure, int minute) {
+        return LocalDateTime.of(annee, mois, jour, heure, minute).atZone(ZONE).toInstant().toEpochMilli();
+    }
+}
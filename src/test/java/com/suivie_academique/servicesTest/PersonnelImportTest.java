@@ -0,0 +1,90 @@
+package com.suivie_academique.servicesTest;
+
+import com.suivi_academique.SuiviAcademiqueApplication;
+import com.suivi_academique.dto.LigneImportDTO;
+import com.suivi_academique.dto.RapportImportDTO;
+import com.suivi_academique.entities.Personnel;
+import com.suivi_academique.repositories.PersonnelRepository;
+import com.suivi_academique.services.interfaces.PersonnelImportInterface;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = SuiviAcademiqueApplication.class)
+@ActiveProfiles("test")
+@DisplayName("Import en masse de personnels")
+class PersonnelImportTest {
+
+    @Autowired
+    private PersonnelImportInterface personnelImportService;
+
+    @Autowired
+    private PersonnelRepository personnelRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @AfterEach
+    void nettoyer() {
+        for (String login : List.of("import.a", "import.b", "import.c")) {
+            personnelRepository.findByLoginPersonnel(login).ifPresent(personnelRepository::delete);
+        }
+    }
+
+    @Test
+    @DisplayName("CSV - lignes valides importées avec code et hash, rapport par ligne pour les rejets")
+    void importer_Csv() throws Exception {
+        String csv = """
+                nomPersonnel,loginPersonnel,padPersonnel,sexePersonnel,phonePersonnel,rolePersonnel
+                "Mbarga, Jean",import.a,secret1,M,699000001,ENSEIGNANT
+                Ngo Marie,import.b,secret2,F,699000002,responsable_academique
+                Doublon,import.a,secret3,M,699000003,ENSEIGNANT
+                Sans role,import.c,secret4,M,699000004,ETUDIANT
+                Sans mot de passe,import.d,,F,699000005,ENSEIGNANT
+                """;
+
+        RapportImportDTO rapport = personnelImportService.importer(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), PersonnelImportInterface.FORMAT_CSV);
+
+        assertThat(rapport.getLignesLues()).isEqualTo(5);
+        assertThat(rapport.getImportees()).isEqualTo(2);
+        assertThat(rapport.getRejetees()).isEqualTo(3);
+        assertThat(rapport.getLignes()).extracting(LigneImportDTO::getLigne).containsExactly(2, 3, 4, 5, 6);
+        assertThat(rapport.getLignes().get(2).getMessage()).contains("Login déjà utilisé");
+        assertThat(rapport.getLignes().get(3).getMessage()).contains("Rôle invalide");
+
+        Personnel importe = personnelRepository.findByLoginPersonnel("import.a").orElseThrow();
+        assertThat(importe.getNomPersonnel()).isEqualTo("Mbarga, Jean");
+        assertThat(importe.getCodePersonnel()).isEqualTo(rapport.getLignes().get(0).getCode()).startsWith("ENS");
+        assertThat(passwordEncoder.matches("secret1", importe.getPadPersonnel())).isTrue();
+        assertThat(personnelRepository.findByLoginPersonnel("import.b").orElseThrow().getCodePersonnel()).startsWith("RA");
+    }
+
+    @Test
+    @DisplayName("NDJSON - un login déjà en base est rejeté")
+    void importer_Ndjson() throws Exception {
+        String ndjson = """
+                {"nomPersonnel":"A","loginPersonnel":"import.a","padPersonnel":"x","sexePersonnel":"M","phonePersonnel":"1","rolePersonnel":"ENSEIGNANT"}
+                {"nomPersonnel":"pas du json"
+                """;
+        personnelImportService.importer(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)),
+                PersonnelImportInterface.FORMAT_NDJSON);
+
+        RapportImportDTO rapport = personnelImportService.importer(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), PersonnelImportInterface.FORMAT_NDJSON);
+
+        assertThat(rapport.getImportees()).isZero();
+        assertThat(rapport.getRejetees()).isEqualTo(2);
+        assertThat(rapport.getLignes().get(0).getMessage()).contains("import.a");
+    }
+}
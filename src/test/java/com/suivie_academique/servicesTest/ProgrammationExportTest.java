@@ -0,0 +1,107 @@
+package com.suivie_academique.servicesTest;
+
+import com.suivi_academique.SuiviAcademiqueApplication;
+import com.suivi_academique.entities.Cours;
+import com.suivi_academique.entities.Personnel;
+import com.suivi_academique.entities.Programmation;
+import com.suivi_academique.entities.Salle;
+import com.suivi_academique.services.interfaces.ProgrammationExportInterface;
+import com.suivi_academique.utils.RolePersonnel;
+import com.suivi_academique.utils.SalleStatus;
+import com.suivi_academique.utils.StatutProgrammation;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = SuiviAcademiqueApplication.class,
+        properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("Export des programmations en flux")
+class ProgrammationExportTest {
+
+    private static final long HEURE = 3_600_000L;
+
+    @Autowired
+    private ProgrammationExportInterface programmationExportService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        Salle salle = new Salle("SLEC1", "Salle lecture", 40, SalleStatus.LIBRE, null);
+        Cours cours = new Cours("LEC101", "Lecture", "desc", "3", "40", null);
+        Personnel prog = personnel("RA202699001", "prog");
+        Personnel val = personnel("RA202699002", "val");
+        entityManager.persist(salle);
+        entityManager.persist(cours);
+        entityManager.persist(prog);
+        entityManager.persist(val);
+        for (int i = 0; i < 30; i++) {
+            Programmation programmation = new Programmation();
+            programmation.setNbHeure(2);
+            programmation.setDateProgrammation(new Date(i * 2 * HEURE));
+            programmation.setFinProgrammation(new Date((i * 2 + 2) * HEURE));
+            programmation.setStatutProgrammation(StatutProgrammation.PROGRAMMER);
+            programmation.setSalle(salle);
+            programmation.setCours(cours);
+            programmation.setPersonnelProg(prog);
+            programmation.setPersonnelVal(i % 2 == 0 ? val : null);
+            entityManager.persist(programmation);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("exporter - CSV et NDJSON en une requête, bornés par la période")
+    void exporter_FluxUnique() throws Exception {
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        programmationExportService.exporter(ProgrammationExportInterface.FORMAT_CSV,
+                new Date(10 * HEURE), new Date(20 * HEURE), csv);
+
+        String[] lignes = csv.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lignes).hasSize(6);
+        assertThat(lignes[0]).startsWith("id,nbHeure");
+        assertThat(lignes[1]).contains("SLEC1", "LEC101", "RA202699001");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        programmationExportService.exporter(ProgrammationExportInterface.FORMAT_NDJSON, null, null, ndjson);
+
+        assertThat(ndjson.toString(StandardCharsets.UTF_8).split("\n")).hasSize(30)
+                .allMatch(ligne -> ligne.startsWith("{") && ligne.contains("\"codeSalle\":\"SLEC1\""));
+    }
+
+    private static Personnel personnel(String code, String login) {
+        Personnel personnel = new Personnel();
+        personnel.setCodePersonnel(code);
+        personnel.setNomPersonnel("Nom " + login);
+        personnel.setLoginPersonnel(login);
+        personnel.setPadPersonnel("hash");
+        personnel.setSexePersonnel("F");
+        personnel.setPhonePersonnel("600000000");
+        personnel.setRolePersonnel(RolePersonnel.RESPONSABLE_ACADEMIQUE);
+        return personnel;
+    }
+}
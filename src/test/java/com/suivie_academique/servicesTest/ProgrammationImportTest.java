@@ -0,0 +1,163 @@
+package com.suivie_academique.servicesTest;
+
+import com.suivi_academique.SuiviAcademiqueApplication;
+import com.suivi_academique.dto.LigneImportDTO;
+import com.suivi_academique.dto.RapportImportDTO;
+import com.suivi_academique.entities.Cours;
+import com.suivi_academique.entities.Personnel;
+import com.suivi_academique.entities.Programmation;
+import com.suivi_academique.entities.Salle;
+import com.suivi_academique.index.ReservationSalleIndex;
+import com.suivi_academique.repositories.CoursRepository;
+import com.suivi_academique.repositories.PersonnelRepository;
+import com.suivi_academique.repositories.ProgrammationRepository;
+import com.suivi_academique.repositories.SalleRepository;
+import com.suivi_academique.services.interfaces.ProgrammationImportInterface;
+import com.suivi_academique.services.interfaces.ProgrammationInterface;
+import com.suivi_academique.utils.RolePersonnel;
+import com.suivi_academique.utils.SalleStatus;
+import com.suivi_academique.utils.StatutProgrammation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+
+@SpringBootTest(classes = SuiviAcademiqueApplication.class)
+@ActiveProfiles("test")
+@DisplayName("Import en masse de programmations")
+class ProgrammationImportTest {
+
+    private static final long HEURE = 3_600_000L;
+    private static final long DEBUT = 2_100_000_000_000L;
+
+    @Autowired
+    private ProgrammationImportInterface programmationImportService;
+
+    @Autowired
+    private ProgrammationInterface programmationService;
+
+    @Autowired
+    private ProgrammationRepository programmationRepository;
+
+    @Autowired
+    private SalleRepository salleRepository;
+
+    @SpyBean
+    private CoursRepository coursRepository;
+
+    @Autowired
+    private PersonnelRepository personnelRepository;
+
+    @Autowired
+    private ReservationSalleIndex reservationSalleIndex;
+
+    @BeforeEach
+    void setUp() {
+        salleRepository.save(new Salle("SIMP1", "Salle import", 40, SalleStatus.LIBRE, null));
+        coursRepository.save(new Cours("IMP101", "Import", "desc", "3", "40", null));
+        Personnel personnel = new Personnel();
+        personnel.setCodePersonnel("RA202698001");
+        personnel.setNomPersonnel("Import");
+        personnel.setLoginPersonnel("imp.prog");
+        personnel.setPadPersonnel("hash");
+        personnel.setSexePersonnel("F");
+        personnel.setPhonePersonnel("600000000");
+        personnel.setRolePersonnel(RolePersonnel.RESPONSABLE_ACADEMIQUE);
+        personnelRepository.save(personnel);
+    }
+
+    @AfterEach
+    void nettoyer() {
+        List<Integer> ids = programmationRepository.findIdsBySalle("SIMP1");
+        programmationRepository.deleteAllById(ids);
+        programmationService.retirerSupprimees(ids);
+        salleRepository.deleteById("SIMP1");
+        coursRepository.deleteById("IMP101");
+        personnelRepository.deleteById("RA202698001");
+    }
+
+    @Test
+    @DisplayName("importer - rapport par ligne: réservation existante, conflit dans le fichier, ligne mal formée")
+    void importer_RapportParLigne() throws Exception {
+        // Écrite directement en base, hors index: le verrou base la fait relire avant le lot
+        Programmation existante = new Programmation();
+        existante.setNbHeure(2);
+        existante.setDateProgrammation(new Date(DEBUT));
+        existante.setFinProgrammation(new Date(DEBUT + 2 * HEURE));
+        existante.setStatutProgrammation(StatutProgrammation.PROGRAMMER);
+        existante.setSalle(salleRepository.getReferenceById("SIMP1"));
+        existante.setCours(coursRepository.getReferenceById("IMP101"));
+        existante.setPersonnelProg(personnelRepository.getReferenceById("RA202698001"));
+        int idExistante = programmationRepository.save(existante).getId();
+
+        String ndjson = String.join("\n",
+                ligne(DEBUT + HEURE, "IMP101"),
+                ligne(DEBUT + 4 * HEURE, "IMP101"),
+                ligne(DEBUT + 5 * HEURE, "IMP101"),
+                "{\"nbHeure\": pas du json",
+                ligne(DEBUT + 8 * HEURE, "IMP101"));
+
+        RapportImportDTO rapport = importer(ndjson);
+
+        assertThat(rapport.getLignesLues()).isEqualTo(5);
+        assertThat(rapport.getImportees()).isEqualTo(2);
+        assertThat(rapport.getRejetees()).isEqualTo(3);
+        assertThat(rapport.getLignes()).extracting(LigneImportDTO::getStatut).containsExactly(
+                RapportImportDTO.REJETEE, RapportImportDTO.IMPORTEE, RapportImportDTO.REJETEE,
+                RapportImportDTO.REJETEE, RapportImportDTO.IMPORTEE);
+        assertThat(rapport.getLignes().get(0).getMessage()).contains("programmation n°" + idExistante);
+        assertThat(rapport.getLignes().get(2).getMessage())
+                .contains("programmation n°" + rapport.getLignes().get(1).getId());
+        assertThat(rapport.getLignes().get(3).getLigne()).isEqualTo(4);
+
+        assertThat(programmationRepository.findIdsBySalle("SIMP1")).containsExactlyInAnyOrder(
+                idExistante, rapport.getLignes().get(1).getId(), rapport.getLignes().get(4).getId());
+        assertThat(reservationSalleIndex.creneau(rapport.getLignes().get(4).getId())).isNotNull();
+    }
+
+    @Test
+    @DisplayName("importer - échec du flush: tout le lot rejeté en \"Lot annulé\" et retiré de l'index")
+    void importer_LotAnnule() throws Exception {
+        // Cours connu du référentiel mais absent en base: la clé étrangère échoue au flush
+        List<String> codes = new ArrayList<>(coursRepository.findAllCodes());
+        codes.add("FANTOME");
+        doReturn(codes).when(coursRepository).findAllCodes();
+
+        String ndjson = String.join("\n",
+                ligne(DEBUT, "IMP101"),
+                ligne(DEBUT + 2 * HEURE, "IMP101"),
+                ligne(DEBUT + 4 * HEURE, "FANTOME"));
+
+        RapportImportDTO rapport = importer(ndjson);
+
+        assertThat(rapport.getImportees()).isZero();
+        assertThat(rapport.getRejetees()).isEqualTo(3);
+        assertThat(rapport.getLignes()).extracting(LigneImportDTO::getMessage)
+                .allMatch(message -> message.startsWith("Lot annulé"));
+        assertThat(programmationRepository.findIdsBySalle("SIMP1")).isEmpty();
+        assertThat(reservationSalleIndex.conflits("SIMP1", DEBUT, DEBUT + 6 * HEURE, null)).isEmpty();
+    }
+
+    private RapportImportDTO importer(String ndjson) throws Exception {
+        return programmationImportService.importer(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String ligne(long debut, String codeCours) {
+        return "{\"nbHeure\": 2, \"dateProgrammation\": " + debut + ", \"finProgrammation\": " + (debut + 2 * HEURE)
+                + ", \"salle\": {\"codeSalle\": \"SIMP1\"}, \"cours\": {\"codeCours\": \"" + codeCours + "\"}"
+                + ", \"personnelProg\": {\"codePersonnel\": \"RA202698001\"}}";
+    }
+}
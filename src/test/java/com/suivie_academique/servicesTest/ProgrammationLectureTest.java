@@ -0,0 +1,145 @@
+package com.suivie_academique.servicesTest;
+
+import com.suivi_academique.SuiviAcademiqueApplication;
+import com.suivi_academique.dto.PageProgrammationDTO;
+import com.suivi_academique.dto.ProgrammationDTO;
+import com.suivi_academique.entities.Cours;
+import com.suivi_academique.entities.Personnel;
+import com.suivi_academique.entities.Programmation;
+import com.suivi_academique.entities.Salle;
+import com.suivi_academique.services.interfaces.ProgrammationInterface;
+import com.suivi_academique.utils.RolePersonnel;
+import com.suivi_academique.utils.SalleStatus;
+import com.suivi_academique.utils.StatutProgrammation;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(classes = SuiviAcademiqueApplication.class,
+        properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("Lecture des programmations par projection")
+class ProgrammationLectureTest {
+
+    private static final long HEURE = 3_600_000L;
+
+    @Autowired
+    private ProgrammationInterface programmationService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    private int premierId;
+
+    @BeforeEach
+    void setUp() {
+        Salle salle = new Salle("SLEC1", "Salle lecture", 40, SalleStatus.LIBRE, null);
+        Cours cours = new Cours("LEC101", "Lecture", "desc", "3", "40", null);
+        Personnel prog = personnel("RA202699001", "prog");
+        Personnel val = personnel("RA202699002", "val");
+        entityManager.persist(salle);
+        entityManager.persist(cours);
+        entityManager.persist(prog);
+        entityManager.persist(val);
+        for (int i = 0; i < 30; i++) {
+            Programmation programmation = new Programmation();
+            programmation.setNbHeure(2);
+            programmation.setDateProgrammation(new Date(i * 2 * HEURE));
+            programmation.setFinProgrammation(new Date((i * 2 + 2) * HEURE));
+            programmation.setStatutProgrammation(StatutProgrammation.PROGRAMMER);
+            programmation.setSalle(salle);
+            programmation.setCours(cours);
+            programmation.setPersonnelProg(prog);
+            programmation.setPersonnelVal(i % 2 == 0 ? val : null);
+            entityManager.persist(programmation);
+            if (i == 0) {
+                premierId = programmation.getId();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("getPage - une requête par page, aucune entité chargée")
+    void getPage_RequeteUnique() {
+        PageProgrammationDTO page = programmationService.getPage(null, 20, Sort.Direction.ASC);
+
+        assertThat(page.getContenu()).hasSize(20);
+        assertThat(page.getCurseurSuivant()).isNotNull();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+
+        statistics.clear();
+        PageProgrammationDTO suivante = programmationService.getPage(page.getCurseurSuivant(), 20, Sort.Direction.ASC);
+
+        assertThat(suivante.getContenu()).hasSize(10);
+        assertThat(suivante.getCurseurSuivant()).isNull();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("getPage - ordre décroissant sans trou ni doublon, curseur refusé dans l'autre sens")
+    void getPage_Decroissante() {
+        PageProgrammationDTO page = programmationService.getPage(null, 20, Sort.Direction.DESC);
+        PageProgrammationDTO suivante = programmationService.getPage(page.getCurseurSuivant(), 20, Sort.Direction.DESC);
+
+        assertThat(page.getContenu().get(0).getId()).isEqualTo(premierId + 29);
+        assertThat(suivante.getContenu()).hasSize(10);
+        assertThat(suivante.getContenu().get(9).getId()).isEqualTo(premierId);
+        assertThat(suivante.getCurseurSuivant()).isNull();
+
+        assertThatThrownBy(() -> programmationService.getPage(page.getCurseurSuivant(), 20, Sort.Direction.ASC))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Curseur de pagination émis pour un autre ordre de tri.");
+        assertThatThrownBy(() -> programmationService.getPage("pas-un-curseur", 20, Sort.Direction.DESC))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Curseur de pagination invalide.");
+    }
+
+    @Test
+    @DisplayName("getById - une requête, relations et validateur renseignés, sans mot de passe")
+    void getById_RequeteUnique() {
+        ProgrammationDTO dto = programmationService.getById(premierId);
+
+        assertThat(dto.getSalle().getCodeSalle()).isEqualTo("SLEC1");
+        assertThat(dto.getCours().getCodeCours()).isEqualTo("LEC101");
+        assertThat(dto.getPersonnelProg().getCodePersonnel()).isEqualTo("RA202699001");
+        assertThat(dto.getPersonnelProg().getPadPersonnel()).isNull();
+        assertThat(dto.getPersonnelVal().getCodePersonnel()).isEqualTo("RA202699002");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    private static Personnel personnel(String code, String login) {
+        Personnel personnel = new Personnel();
+        personnel.setCodePersonnel(code);
+        personnel.setNomPersonnel("Nom " + login);
+        personnel.setLoginPersonnel(login);
+        personnel.setPadPersonnel("hash");
+        personnel.setSexePersonnel("F");
+        personnel.setPhonePersonnel("600000000");
+        personnel.setRolePersonnel(RolePersonnel.RESPONSABLE_ACADEMIQUE);
+        return personnel;
+    }
+}
@@ -0,0 +1,122 @@
+package com.suivie_academique.servicesTest;
+
+import com.suivi_academique.SuiviAcademiqueApplication;
+import com.suivi_academique.dto.ProgrammationDTO;
+import com.suivi_academique.dto.RapportValidationDTO;
+import com.suivi_academique.dto.ResultatValidationDTO;
+import com.suivi_academique.dto.ValidationRequestDTO;
+import com.suivi_academique.entities.Cours;
+import com.suivi_academique.entities.Personnel;
+import com.suivi_academique.entities.Programmation;
+import com.suivi_academique.entities.Salle;
+import com.suivi_academique.services.interfaces.ProgrammationInterface;
+import com.suivi_academique.utils.RolePersonnel;
+import com.suivi_academique.utils.SalleStatus;
+import com.suivi_academique.utils.StatutProgrammation;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = SuiviAcademiqueApplication.class,
+        properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("Validation en masse des programmations")
+class ProgrammationValidationTest {
+
+    private static final long HEURE = 3_600_000L;
+
+    @Autowired
+    private ProgrammationInterface programmationService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+
+    private int premierId;
+
+    @BeforeEach
+    void setUp() {
+        Salle salle = new Salle("SLEC1", "Salle lecture", 40, SalleStatus.LIBRE, null);
+        Cours cours = new Cours("LEC101", "Lecture", "desc", "3", "40", null);
+        Personnel prog = personnel("RA202699001", "prog");
+        Personnel val = personnel("RA202699002", "val");
+        entityManager.persist(salle);
+        entityManager.persist(cours);
+        entityManager.persist(prog);
+        entityManager.persist(val);
+        for (int i = 0; i < 30; i++) {
+            Programmation programmation = new Programmation();
+            programmation.setNbHeure(2);
+            programmation.setDateProgrammation(new Date(i * 2 * HEURE));
+            programmation.setFinProgrammation(new Date((i * 2 + 2) * HEURE));
+            programmation.setStatutProgrammation(StatutProgrammation.PROGRAMMER);
+            programmation.setSalle(salle);
+            programmation.setCours(cours);
+            programmation.setPersonnelProg(prog);
+            programmation.setPersonnelVal(i % 2 == 0 ? val : null);
+            entityManager.persist(programmation);
+            if (i == 0) {
+                premierId = programmation.getId();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("valider - deux instructions pour le lot, validateur renseigné, résultat par id")
+    void valider_EnMasse() {
+        ValidationRequestDTO demande = new ValidationRequestDTO();
+        demande.setStatut(StatutProgrammation.VALIDER);
+        demande.setIds(List.of(premierId, premierId + 1, premierId + 2, -1));
+
+        RapportValidationDTO rapport = programmationService.valider(demande, "RA202699001");
+
+        assertThat(rapport.getTraitees()).isEqualTo(3);
+        assertThat(rapport.getRefusees()).isEqualTo(1);
+        assertThat(rapport.getResultats()).extracting(ResultatValidationDTO::getResultat)
+                .containsExactly(RapportValidationDTO.REFUSEE, RapportValidationDTO.TRAITEE,
+                        RapportValidationDTO.TRAITEE, RapportValidationDTO.TRAITEE);
+        // Lecture verrouillée + UPDATE, puis relecture des vues publiées
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+
+        ProgrammationDTO validee = programmationService.getById(premierId + 1);
+        assertThat(validee.getStatutProgrammation()).isEqualTo(StatutProgrammation.VALIDER);
+        assertThat(validee.getPersonnelVal().getCodePersonnel()).isEqualTo("RA202699001");
+        assertThat(validee.getVersion()).isEqualTo(1);
+
+        RapportValidationDTO deuxieme = programmationService.valider(demande, "RA202699001");
+        assertThat(deuxieme.getTraitees()).isZero();
+        assertThat(deuxieme.getResultats()).filteredOn(r -> r.getId() == premierId)
+                .extracting(ResultatValidationDTO::getMessage).first().asString().contains("déjà traitée");
+    }
+
+    private static Personnel personnel(String code, String login) {
+        Personnel personnel = new Personnel();
+        personnel.setCodePersonnel(code);
+        personnel.setNomPersonnel("Nom " + login);
+        personnel.setLoginPersonnel(login);
+        personnel.setPadPersonnel("hash");
+        personnel.setSexePersonnel("F");
+        personnel.setPhonePersonnel("600000000");
+        personnel.setRolePersonnel(RolePersonnel.RESPONSABLE_ACADEMIQUE);
+        return personnel;
+    }
+}
@@ -0,0 +1,57 @@
+package com.suivie_academique.servicesTest;
+
+import com.suivi_academique.SuiviAcademiqueApplication;
+import com.suivi_academique.cache.ReferentielCache;
+import com.suivi_academique.dto.CoursDTO;
+import com.suivi_academique.entities.Cours;
+import com.suivi_academique.repositories.CoursRepository;
+import com.suivi_academique.services.interfaces.CoursInterface;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = SuiviAcademiqueApplication.class)
+@ActiveProfiles("test")
+@DisplayName("Cache des référentiels")
+class ReferentielCacheTest {
+
+    @Autowired
+    private ReferentielCache referentielCache;
+
+    @Autowired
+    private CoursInterface coursService;
+
+    @Autowired
+    private CoursRepository coursRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @AfterEach
+    void nettoyer() {
+        coursRepository.deleteById("CACHE101");
+        referentielCache.invaliderCours("CACHE101");
+    }
+
+    @Test
+    @DisplayName("Un code absent n'est pas mis en cache, une mise à jour invalide l'entrée")
+    void cours_MisEnCacheEtInvalide() {
+        assertThat(referentielCache.cours("CACHE101")).isEmpty();
+        assertThat(cacheManager.getCache(ReferentielCache.COURS).get("CACHE101")).isNull();
+
+        coursRepository.save(new Cours("CACHE101", "Cache", "desc", "3", "40", null));
+        assertThat(referentielCache.cours("CACHE101")).isPresent();
+        assertThat(cacheManager.getCache(ReferentielCache.COURS).get("CACHE101")).isNotNull();
+
+        coursService.update("CACHE101", new CoursDTO("CACHE101", "Cache modifié", "desc", "40", "3"));
+        assertThat(cacheManager.getCache(ReferentielCache.COURS).get("CACHE101")).isNull();
+        assertThat(referentielCache.cours("CACHE101")).get()
+                .extracting(CoursDTO::getLabelCours).isEqualTo("Cache modifié");
+    }
+}
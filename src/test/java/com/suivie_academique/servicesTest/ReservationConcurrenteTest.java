@@ -0,0 +1,150 @@
+package com.suivie_academique.servicesTest;
+
+import com.suivi_academique.SuiviAcademiqueApplication;
+import com.suivi_academique.dto.CoursDTO;
+import com.suivi_academique.dto.PersonnelDTO;
+import com.suivi_academique.dto.ProgrammationDTO;
+import com.suivi_academique.dto.SalleDTO;
+import com.suivi_academique.entities.Cours;
+import com.suivi_academique.entities.Personnel;
+import com.suivi_academique.entities.Salle;
+import com.suivi_academique.repositories.CoursRepository;
+import com.suivi_academique.repositories.PersonnelRepository;
+import com.suivi_academique.repositories.SalleRepository;
+import com.suivi_academique.services.interfaces.ProgrammationInterface;
+import com.suivi_academique.utils.RolePersonnel;
+import com.suivi_academique.utils.SalleStatus;
+import com.suivi_academique.utils.StatutProgrammation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(classes = SuiviAcademiqueApplication.class)
+@ActiveProfiles("test")
+@DisplayName("Réservations concurrentes d'une même salle")
+class ReservationConcurrenteTest {
+
+    private static final long HEURE = 3_600_000L;
+    private static final long DEBUT = 2_000_000_000_000L;
+
+    @Autowired
+    private ProgrammationInterface programmationService;
+
+    @Autowired
+    private SalleRepository salleRepository;
+
+    @Autowired
+    private CoursRepository coursRepository;
+
+    @Autowired
+    private PersonnelRepository personnelRepository;
+
+    private final List<Integer> crees = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        salleRepository.save(new Salle("SCONC", "Salle concurrente", 50, SalleStatus.LIBRE, null));
+        coursRepository.save(new Cours("CONC101", "Concurrence", "desc", "3", "40", null));
+        Personnel personnel = new Personnel();
+        personnel.setCodePersonnel("RA202698001");
+        personnel.setNomPersonnel("Nom conc");
+        personnel.setLoginPersonnel("conc");
+        personnel.setPadPersonnel("hash");
+        personnel.setSexePersonnel("F");
+        personnel.setPhonePersonnel("600000000");
+        personnel.setRolePersonnel(RolePersonnel.RESPONSABLE_ACADEMIQUE);
+        personnelRepository.save(personnel);
+    }
+
+    @AfterEach
+    void tearDown() {
+        crees.forEach(programmationService::delete);
+        salleRepository.deleteById("SCONC");
+        coursRepository.deleteById("CONC101");
+        personnelRepository.deleteById("RA202698001");
+    }
+
+    @Test
+    @DisplayName("save - une seule réservation retenue parmi des demandes simultanées du même créneau")
+    void save_UneSeuleReservationParCreneau() throws Exception {
+        int demandeurs = 16;
+        CountDownLatch depart = new CountDownLatch(1);
+        ConcurrentLinkedQueue<String> refus = new ConcurrentLinkedQueue<>();
+        ExecutorService executor = Executors.newFixedThreadPool(demandeurs);
+        List<Future<ProgrammationDTO>> reservations = new ArrayList<>();
+        for (int i = 0; i < demandeurs; i++) {
+            // Créneaux décalés d'une demi-heure: tous se chevauchent deux à deux avec le premier
+            long decalage = (i % 2) * HEURE / 2;
+            reservations.add(executor.submit(() -> {
+                depart.await();
+                try {
+                    return programmationService.save(programmation(DEBUT + decalage, DEBUT + decalage + 2 * HEURE));
+                } catch (RuntimeException e) {
+                    refus.add(e.getMessage());
+                    return null;
+                }
+            }));
+        }
+        depart.countDown();
+        for (Future<ProgrammationDTO> reservation : reservations) {
+            ProgrammationDTO dto = reservation.get();
+            if (dto != null) {
+                crees.add(dto.getId());
+            }
+        }
+        executor.shutdown();
+
+        assertThat(crees).hasSize(1);
+        assertThat(refus).hasSize(demandeurs - 1).allMatch(message -> message.contains("déjà réservée"));
+    }
+
+    @Test
+    @DisplayName("update - une version périmée ou absente est refusée")
+    void update_VersionPerimee() {
+        ProgrammationDTO creee = programmationService.save(programmation(DEBUT, DEBUT + 2 * HEURE));
+        crees.add(creee.getId());
+        assertThat(creee.getVersion()).isZero();
+
+        creee.setNbHeure(3);
+        creee.setFinProgrammation(new Date(DEBUT + 3 * HEURE));
+        ProgrammationDTO modifiee = programmationService.update(creee.getId(), creee);
+        assertThat(modifiee.getVersion()).isEqualTo(1);
+
+        // Deuxième écriture à partir de la version 0 déjà dépassée
+        assertThatThrownBy(() -> programmationService.update(creee.getId(), creee))
+                .hasMessageContaining("modifiée entre-temps");
+
+        creee.setVersion(null);
+        assertThatThrownBy(() -> programmationService.update(creee.getId(), creee))
+                .hasMessageContaining("version de la programmation est obligatoire");
+    }
+
+    private static ProgrammationDTO programmation(long debut, long fin) {
+        ProgrammationDTO dto = new ProgrammationDTO();
+        dto.setNbHeure(2);
+        dto.setDateProgrammation(new Date(debut));
+        dto.setFinProgrammation(new Date(fin));
+        dto.setStatutProgrammation(StatutProgrammation.PROGRAMMER);
+        dto.setSalle(new SalleDTO("SCONC", "Salle concurrente", 50, SalleStatus.LIBRE));
+        dto.setCours(new CoursDTO("CONC101", "Concurrence", "desc", "40", "3"));
+        dto.setPersonnelProg(new PersonnelDTO("RA202698001", "Nom conc", "conc", "hash", "F", "600000000",
+                RolePersonnel.RESPONSABLE_ACADEMIQUE));
+        return dto;
+    }
+}
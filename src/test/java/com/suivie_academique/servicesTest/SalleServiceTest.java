@@ -2,10 +2,17 @@ package com.suivie_academique.servicesTest;
 
 
 import com.suivi_academique.dto.SalleDTO;
+import com.suivi_academique.dto.SalleRechercheDTO;
 import com.suivi_academique.entities.Salle;
+import com.suivi_academique.index.DisponibiliteSalleIndex;
+import com.suivi_academique.index.SalleCatalogue;
+import com.suivi_academique.index.StatutSalleMoteur;
 import com.suivi_academique.mappers.SalleMapper;
+import com.suivi_academique.repositories.ProgrammationRepository;
 import com.suivi_academique.repositories.SalleRepository;
 import com.suivi_academique.services.implementations.SalleService;
+import com.suivi_academique.services.interfaces.OccupationSalleInterface;
+import com.suivi_academique.services.interfaces.ProgrammationInterface;
 import com.suivi_academique.utils.SalleStatus;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -35,6 +42,24 @@ class SalleServiceTest {
     @Mock
     private SalleMapper salleMapper;
 
+    @Mock
+    private SalleCatalogue salleCatalogue;
+
+    @Mock
+    private DisponibiliteSalleIndex disponibiliteSalleIndex;
+
+    @Mock
+    private OccupationSalleInterface occupationSalleService;
+
+    @Mock
+    private StatutSalleMoteur statutSalleMoteur;
+
+    @Mock
+    private ProgrammationRepository programmationRepository;
+
+    @Mock
+    private ProgrammationInterface programmationService;
+
     @InjectMocks
     private SalleService salleService;
 
@@ -56,6 +81,26 @@ class SalleServiceTest {
         salleEntity.setStatutSalle(SalleStatus.LIBRE);
     }
 
+    @Test
+    @DisplayName("rechercher - OCCUPE/LIBRE filtrés sur le statut courant du moteur, pas sur le statut saisi")
+    void rechercher_StatutCourant() {
+        // Saisies LIBRE toutes les deux, mais S001 est occupée à l'instant
+        given(disponibiliteSalleIndex.rechercher(0, null, null, null)).willAnswer(invocation -> List.of(
+                new SalleRechercheDTO("S001", "A", 30, SalleStatus.LIBRE, null),
+                new SalleRechercheDTO("S002", "B", 40, SalleStatus.LIBRE, null)));
+        given(statutSalleMoteur.etat("S001"))
+                .willReturn(new StatutSalleMoteur.EtatSalle("S001", SalleStatus.OCCUPE, 0L, 7, 10L));
+        given(statutSalleMoteur.etat("S002"))
+                .willReturn(new StatutSalleMoteur.EtatSalle("S002", SalleStatus.LIBRE, 0L, null, null));
+
+        assertThat(salleService.rechercher(0, SalleStatus.OCCUPE, null, null))
+                .extracting(SalleRechercheDTO::getCodeSalle).containsExactly("S001");
+        assertThat(salleService.rechercher(0, SalleStatus.LIBRE, null, null))
+                .extracting(SalleRechercheDTO::getCodeSalle).containsExactly("S002");
+        assertThat(salleService.rechercher(0, null, null, null))
+                .extracting(SalleRechercheDTO::getStatutSalle).containsExactly(SalleStatus.OCCUPE, SalleStatus.LIBRE);
+    }
+
     @Test
     @DisplayName("save - succès avec données valides")
     void save_ValidData_ReturnsSavedDTO() {
@@ -185,6 +230,7 @@ class SalleServiceTest {
 
         given(salleRepository.findById("S001")).willReturn(Optional.of(salleEntity));
         given(salleMapper.toDTO(salleEntity)).willReturn(updatedDTO);
+        given(programmationRepository.findIdsBySalle("S001")).willReturn(List.of(7, 9));
 
         // When
         SalleDTO result = salleService.update("S001", updatedDTO);
@@ -194,6 +240,8 @@ class SalleServiceTest {
         assertThat(result.getDescSalle()).isEqualTo("Salle mise à jour");
         assertThat(result.getStatutSalle()).isEqualTo(SalleStatus.OCCUPE);
         verify(salleRepository, times(1)).save(salleEntity);
+        // Les emplois du temps qui recopient la salle sont republiés
+        verify(programmationService).republier(List.of(7, 9));
     }
 
     @Test
@@ -214,6 +262,7 @@ class SalleServiceTest {
     void delete_ExistingSalle_DeletesSuccessfully() {
         // Given
         given(salleRepository.existsById("S001")).willReturn(true);
+        given(programmationRepository.findIdsBySalle("S001")).willReturn(List.of(7, 9));
 
         // When
         salleService.delete("S001");
@@ -221,6 +270,8 @@ class SalleServiceTest {
         // Then
         verify(salleRepository).existsById("S001");
         verify(salleRepository).deleteById("S001");
+        // Programmations supprimées en cascade retirées des index
+        verify(programmationService).retirerSupprimees(List.of(7, 9));
     }
 
     @Test
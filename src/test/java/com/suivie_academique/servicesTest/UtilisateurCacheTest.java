@@ -0,0 +1,67 @@
+package com.suivie_academique.servicesTest;
+
+import com.suivi_academique.SuiviAcademiqueApplication;
+import com.suivi_academique.dto.PersonnelDTO;
+import com.suivi_academique.entities.Personnel;
+import com.suivi_academique.repositories.PersonnelRepository;
+import com.suivi_academique.security.CustomUserDetails;
+import com.suivi_academique.security.UtilisateurCache;
+import com.suivi_academique.services.interfaces.Personnelnterface;
+import com.suivi_academique.utils.RolePersonnel;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(classes = SuiviAcademiqueApplication.class)
+@ActiveProfiles("test")
+@DisplayName("Cache des utilisateurs authentifiés")
+class UtilisateurCacheTest {
+
+    @Autowired
+    private UtilisateurCache utilisateurCache;
+
+    @Autowired
+    private Personnelnterface personnelService;
+
+    @Autowired
+    private PersonnelRepository personnelRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @AfterEach
+    void nettoyer() {
+        personnelRepository.deleteById("RA202697001");
+        utilisateurCache.invalider("cache.user");
+    }
+
+    @Test
+    @DisplayName("Chargé une fois sans mot de passe, invalidé par un changement de rôle")
+    void charger_MisEnCacheEtInvalide() {
+        Personnel personnel = new Personnel();
+        personnel.setCodePersonnel("RA202697001");
+        personnel.setNomPersonnel("Nom cache");
+        personnel.setLoginPersonnel("cache.user");
+        personnel.setPadPersonnel("hash");
+        personnel.setSexePersonnel("F");
+        personnel.setPhonePersonnel("600000000");
+        personnel.setRolePersonnel(RolePersonnel.ENSEIGNANT);
+        personnelRepository.save(personnel);
+
+        CustomUserDetails utilisateur = utilisateurCache.charger("cache.user");
+        assertThat(utilisateur.getPassword()).isNull();
+        assertThat(utilisateurCache.charger("cache.user")).isSameAs(utilisateur);
+
+        personnelService.update("RA202697001", new PersonnelDTO("RA202697001", "Nom cache", "cache.user", "hash",
+                "F", "600000000", RolePersonnel.RESPONSABLE_ACADEMIQUE));
+        assertThat(cacheManager.getCache(UtilisateurCache.UTILISATEURS).get("cache.user")).isNull();
+        assertThat(utilisateurCache.charger("cache.user").getAuthorities())
+                .extracting(Object::toString).containsExactly("ROLE_RESPONSABLE_ACADEMIQUE");
+    }
+}